@@ -0,0 +1,122 @@
+package benchmarks;
+
+import data.*;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.PartitionedMemberList;
+import impl.Schedule;
+
+import java.util.Random;
+
+/**
+ * Builds the member lists and schedules measured by the benchmarks. The data only depends on the size and the
+ * seed, so every run of a benchmark measures the same data.
+ *
+ * @author Sasanka Paththameistreege
+ */
+final class Dataset {
+    /**
+     * Seed of the generated data
+     **/
+    static final long SEED = 213;
+
+    /**
+     * First names of the generated members
+     **/
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Mary", "Jerry", "Roy", "Kate", "Paul", "Bill", "Duke", "April"};
+
+    /**
+     * Studio without classes in the generated schedules, so searching for a class there scans the whole schedule
+     **/
+    static final Location EMPTY_STUDIO = Location.values()[Location.values().length - 1];
+
+    /**
+     * Not instantiable.
+     */
+    private Dataset() {
+    }
+
+    /**
+     * Creates the profile of generated member number {@code i}. Last names are unique, so every profile is.
+     *
+     * @param i The member number.
+     * @return The profile.
+     */
+    static Profile profile(int i) {
+        return new Profile(FIRST_NAMES[i % FIRST_NAMES.length], "Member" + i,
+                new Date(1 + i % 12, 1 + i % 28, 1950 + i % 50));
+    }
+
+    /**
+     * Creates generated member number {@code i}, of a random type, home studio and expiration date.
+     *
+     * @param i      The member number.
+     * @param random The source of the random choices.
+     * @return The member.
+     */
+    static Member member(int i, Random random) {
+        Profile profile = profile(i);
+        Date expire = new Date(1 + random.nextInt(12), 1 + random.nextInt(28), 2023 + random.nextInt(4));
+        Location location = Location.values()[random.nextInt(Location.values().length)];
+        return switch (random.nextInt(3)) {
+            case 0 -> new Basic(profile, expire, location);
+            case 1 -> new Family(profile, expire, location);
+            default -> new Premium(profile, expire, location);
+        };
+    }
+
+    /**
+     * Creates a member list of generated members 0 to {@code size - 1}.
+     *
+     * @param size The number of members.
+     * @return The member list.
+     */
+    static MemberList members(int size) {
+        Random random = new Random(SEED);
+        MemberList memberList = new MemberList();
+        for (int i = 0; i < size; i++) {
+            memberList.add(member(i, random));
+        }
+        return memberList;
+    }
+
+    /**
+     * Creates a member list partitioned by home studio, of the same members as {@link #members(int)}.
+     *
+     * @param size The number of members.
+     * @return The partitioned member list.
+     */
+    static PartitionedMemberList partitionedMembers(int size) {
+        Random random = new Random(SEED);
+        PartitionedMemberList memberList = new PartitionedMemberList();
+        for (int i = 0; i < size; i++) {
+            memberList.add(member(i, random));
+        }
+        return memberList;
+    }
+
+    /**
+     * Creates a schedule of {@code size} classes cycling through every class, instructor and time, and every studio
+     * but {@link #EMPTY_STUDIO}. Beyond the distinct combinations, classes repeat, as a schedule covering several
+     * weeks would.
+     *
+     * @param size The number of classes.
+     * @return The schedule.
+     */
+    static Schedule schedule(int size) {
+        Schedule schedule = new Schedule();
+        Offer[] offers = Offer.values();
+        Instructor[] instructors = Instructor.values();
+        int studios = Location.values().length - 1;
+        Time[] times = Time.values();
+        for (int i = 0; i < size; i++) {
+            schedule.add(new FitnessClass(offers[i % offers.length], instructors[i / offers.length % instructors.length],
+                    Location.values()[i / (offers.length * instructors.length) % studios], times[i % times.length]));
+        }
+        return schedule;
+    }
+}
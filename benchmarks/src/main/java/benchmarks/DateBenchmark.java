@@ -0,0 +1,94 @@
+package benchmarks;
+
+import data.Date;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing, validating and comparing dates, cycling through a fixed set of generated dates.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateBenchmark {
+    /**
+     * Number of dates cycled through, a power of two
+     **/
+    private static final int DATES = 1024;
+
+    /**
+     * The dates, as entered in commands and data files
+     **/
+    private String[] texts;
+
+    /**
+     * The dates, parsed
+     **/
+    private Date[] dates;
+
+    /**
+     * Position of the next date
+     **/
+    private int next;
+
+    /**
+     * Generates the dates, some of them invalid, such as February 30.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(Dataset.SEED);
+        texts = new String[DATES];
+        dates = new Date[DATES];
+        for (int i = 0; i < DATES; i++) {
+            texts[i] = (1 + random.nextInt(12)) + "/" + (1 + random.nextInt(31)) + "/" + (1950 + random.nextInt(100));
+            dates[i] = new Date(texts[i]);
+        }
+    }
+
+    /**
+     * Parses a date.
+     *
+     * @return The date.
+     */
+    @Benchmark
+    public Date parse() {
+        return new Date(texts[next++ & (DATES - 1)]);
+    }
+
+    /**
+     * Checks whether a date is valid.
+     *
+     * @return Whether the date is valid.
+     */
+    @Benchmark
+    public boolean isValid() {
+        return dates[next++ & (DATES - 1)].isValid();
+    }
+
+    /**
+     * Compares two consecutive dates.
+     *
+     * @return The comparison.
+     */
+    @Benchmark
+    public int compareTo() {
+        int i = next++;
+        return dates[i & (DATES - 1)].compareTo(dates[(i + 1) & (DATES - 1)]);
+    }
+}
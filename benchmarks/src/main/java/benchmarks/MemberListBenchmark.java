@@ -0,0 +1,195 @@
+package benchmarks;
+
+import data.Member;
+import data.Profile;
+import impl.MemberList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the member list operations: adding, finding, retrieving and removing a member, searching members by
+ * name, and the fee report, on lists of 1 thousand to 1 million members.
+ *
+ * <p>The lookups use profiles of members picked at random from the list, cycling through a fixed set of
+ * {@link #PROBES} probes so that picking one costs next to nothing. {@link #addThenRemove()} adds a member not
+ * in the list and removes it again, so the list keeps its size for the whole measurement, as
+ * {@link #removeThenAdd()} does. The list grows by a fixed number of slots at a time, so building the largest
+ * lists in the setup takes a while.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberListBenchmark {
+    /**
+     * Number of probes cycled through, a power of two
+     **/
+    private static final int PROBES = 1024;
+
+    /**
+     * Number of suggestions the desk application asks the member search for
+     **/
+    private static final int SUGGESTIONS = 10;
+
+    /**
+     * Number of members in the list
+     **/
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    /**
+     * The member list measured
+     **/
+    private MemberList memberList;
+
+    /**
+     * Members of the list, picked at random
+     **/
+    private Member[] members;
+
+    /**
+     * Profiles of the members of the list, picked at random
+     **/
+    private Profile[] profiles;
+
+    /**
+     * Profile of a member not in the list
+     **/
+    private Profile missing;
+
+    /**
+     * Position of the next probe
+     **/
+    private int next;
+
+    /**
+     * Members not in the list, added and removed by {@link #addThenRemove()}
+     **/
+    private Member[] newMembers;
+
+    /**
+     * Builds the member list and picks the probes.
+     */
+    @Setup
+    public void setUp() {
+        memberList = Dataset.members(size);
+        Random random = new Random(Dataset.SEED);
+        members = new Member[PROBES];
+        profiles = new Profile[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            profiles[i] = Dataset.profile(random.nextInt(size));
+            members[i] = memberList.retrieveMember(profiles[i]);
+        }
+        missing = Dataset.profile(Integer.MAX_VALUE);
+        newMembers = new Member[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            newMembers[i] = Dataset.member(size + i, random);
+        }
+    }
+
+    /**
+     * Adds a member not in the list, at the end, and removes it again, so the list keeps its size. Removing
+     * finds the member by a scan of the list, so the pair costs a scan of the whole list.
+     *
+     * @return Whether the member was removed.
+     */
+    @Benchmark
+    public boolean addThenRemove() {
+        Member member = newMembers[next++ & (PROBES - 1)];
+        memberList.add(member);
+        return memberList.remove(member);
+    }
+
+    /**
+     * Checks whether a member of the list is in it.
+     *
+     * @return Whether the member was found.
+     */
+    @Benchmark
+    public boolean find() {
+        return memberList.contains(members[next++ & (PROBES - 1)]);
+    }
+
+    /**
+     * Retrieves a member of the list by profile.
+     *
+     * @return The member.
+     */
+    @Benchmark
+    public Member retrieveMember() {
+        return memberList.retrieveMember(profiles[next++ & (PROBES - 1)]);
+    }
+
+    /**
+     * Retrieves a member not in the list by profile.
+     *
+     * @return null.
+     */
+    @Benchmark
+    public Member retrieveMissingMember() {
+        return memberList.retrieveMember(missing);
+    }
+
+    /**
+     * Removes a member of the list and adds it back at the end, so the list keeps its size.
+     *
+     * @return Whether the member was added back.
+     */
+    @Benchmark
+    public boolean removeThenAdd() {
+        Member member = members[next++ & (PROBES - 1)];
+        memberList.remove(member);
+        return memberList.add(member);
+    }
+
+    /**
+     * Searches the members by name prefixes, as the member search of the desk application does after a keystroke.
+     * The prefixes match many members, so the search stops once it has the suggestions it needs.
+     *
+     * @return The matching members.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Member[] search() {
+        return memberList.search("j", "member1", SUGGESTIONS);
+    }
+
+    /**
+     * Searches the members by name prefixes that match no member, so the search scans the whole list. This is the
+     * slowest search a keystroke can start.
+     *
+     * @return An empty array.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Member[] searchMissing() {
+        return memberList.search("j", "nobody", SUGGESTIONS);
+    }
+
+    /**
+     * Builds the report of the fees next due of every member.
+     *
+     * @return The report.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String printFees() {
+        return memberList.printFees();
+    }
+}
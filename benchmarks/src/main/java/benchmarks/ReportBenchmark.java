@@ -0,0 +1,104 @@
+package benchmarks;
+
+import impl.MemberList;
+import impl.PartitionedMemberList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the member reports that sort the member list. The reports sort the list in place, so it is rebuilt
+ * in generation order before every call, and every call sorts the same unsorted list.
+ *
+ * <p>The reports sort with a bubble sort, which takes quadratic time, so by default they are only measured on
+ * lists of up to 10 thousand members. Larger lists can be measured with {@code -p size=100000,1000000}, at
+ * minutes per call.</p>
+ *
+ * <p>The same reports are measured on a {@link PartitionedMemberList} of the same members, which sorts the
+ * studios' members in parallel and merges them.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+    /**
+     * Number of members in the list
+     **/
+    @Param({"1000", "10000"})
+    private int size;
+
+    /**
+     * The member list measured
+     **/
+    private MemberList memberList;
+
+    /**
+     * The same members partitioned by home studio
+     **/
+    private PartitionedMemberList partitioned;
+
+    /**
+     * Rebuilds the member lists in generation order.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        memberList = Dataset.members(size);
+        partitioned = Dataset.partitionedMembers(size);
+    }
+
+    /**
+     * Sorts the members by profile and builds the report.
+     *
+     * @return The report.
+     */
+    @Benchmark
+    public String printByMember() {
+        return memberList.printByMember();
+    }
+
+    /**
+     * Sorts the members by county and zip code and builds the report.
+     *
+     * @return The report.
+     */
+    @Benchmark
+    public String printByCounty() {
+        return memberList.printByCounty();
+    }
+
+    /**
+     * Sorts each studio's members by profile in parallel, then merges them into the report.
+     *
+     * @return The report.
+     */
+    @Benchmark
+    public String partitionedPrintByMember() {
+        return partitioned.printByMember();
+    }
+
+    /**
+     * Renders each studio's members in parallel, then lists the studios by county and zip code.
+     *
+     * @return The report.
+     */
+    @Benchmark
+    public String partitionedPrintByCounty() {
+        return partitioned.printByCounty();
+    }
+}
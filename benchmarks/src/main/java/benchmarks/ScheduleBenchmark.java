@@ -0,0 +1,107 @@
+package benchmarks;
+
+import data.Date;
+import data.Member;
+import data.Premium;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the schedule searches on schedules of 1 thousand to 1 million classes: finding a class by offer,
+ * instructor and studio, and checking a member for a time conflict.
+ *
+ * <p>A search for a class that is held stops at its first occurrence, among the first distinct classes of the
+ * schedule, and a search at {@link Dataset#EMPTY_STUDIO} scans the whole schedule. The member checked for time
+ * conflicts is registered for one class at every time.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmark {
+    /**
+     * Number of classes in the schedule
+     **/
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    /**
+     * The schedule measured
+     **/
+    private Schedule schedule;
+
+    /**
+     * A member registered for one class at every time
+     **/
+    private Member member;
+
+    /**
+     * Builds the schedule and registers the member.
+     */
+    @Setup
+    public void setUp() {
+        schedule = Dataset.schedule(size);
+        MemberList memberList = new MemberList();
+        member = new Premium(Dataset.profile(0), new Date(12, 31, 2099), Location.BRIDGEWATER);
+        memberList.add(member);
+        StudioManager manager = new StudioManager(memberList, schedule);
+        for (int i = 0; i < Time.values().length; i++) {
+            FitnessClass fitnessClass = schedule.getClassAt(i);
+            manager.registerMember(fitnessClass.getClassInfo(), fitnessClass.getInstructor(), fitnessClass.getStudio(),
+                    member.getProfile());
+        }
+    }
+
+    /**
+     * Finds the last distinct class of the schedule.
+     *
+     * @return The class.
+     */
+    @Benchmark
+    public FitnessClass findClassByCriteria() {
+        return schedule.findClassByCriteria(Offer.CARDIO, Instructor.EMMA, Location.PISCATAWAY);
+    }
+
+    /**
+     * Searches for a class at the studio without classes.
+     *
+     * @return null.
+     */
+    @Benchmark
+    public FitnessClass findMissingClass() {
+        return schedule.findClassByCriteria(Offer.CARDIO, Instructor.EMMA, Dataset.EMPTY_STUDIO);
+    }
+
+    /**
+     * Checks the member for a conflict with a class in the evening.
+     *
+     * @return true.
+     */
+    @Benchmark
+    public boolean checkForMemberTimeConflict() {
+        return schedule.checkForMemberTimeConflict(member, Time.EVENING);
+    }
+}
@@ -0,0 +1,140 @@
+package benchmarks;
+
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import impl.WorkloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the batch command engine: {@link StudioManager#process} applying a registration command stream of
+ * {@link #COMMANDS} commands, generated by {@link WorkloadGenerator}, to the member list and schedule generated
+ * with the same seed. The score is the number of commands processed per second.
+ *
+ * <p>Every invocation reloads the member list and schedule, so each one applies the stream to the same data; the
+ * loading is not measured. The messages are written to a writer that discards them.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudioManagerBenchmark {
+    /**
+     * Number of commands in the stream
+     **/
+    private static final int COMMANDS = 200_000;
+
+    /**
+     * Number of members in the member list
+     **/
+    @Param({"1000", "10000"})
+    private int members;
+
+    /**
+     * Number of classes in the schedule
+     **/
+    @Param({"100"})
+    private int classes;
+
+    /**
+     * Generated member list file
+     **/
+    private File memberFile;
+
+    /**
+     * Generated schedule file
+     **/
+    private File scheduleFile;
+
+    /**
+     * The generated command stream
+     **/
+    private String commands;
+
+    /**
+     * The engine the stream is applied to, over freshly loaded data
+     **/
+    private StudioManager manager;
+
+    /**
+     * Generates the member list, schedule and command stream.
+     *
+     * @throws IOException if the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED);
+        memberFile = File.createTempFile("members", ".txt");
+        scheduleFile = File.createTempFile("schedule", ".txt");
+        try (Writer out = new FileWriter(memberFile)) {
+            generator.writeMembers(out, members);
+        }
+        try (Writer out = new FileWriter(scheduleFile)) {
+            generator.writeSchedule(out, classes);
+        }
+        StringWriter out = new StringWriter();
+        generator.writeRegistrations(out, COMMANDS, members, classes);
+        commands = out.toString();
+    }
+
+    /**
+     * Loads the member list and schedule before each run of the stream.
+     *
+     * @throws IOException if a file cannot be read.
+     */
+    @Setup(Level.Invocation)
+    public void load() throws IOException {
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        memberList.load(memberFile);
+        schedule.load(scheduleFile);
+        manager = new StudioManager(memberList, schedule);
+    }
+
+    /**
+     * Deletes the generated files.
+     */
+    @TearDown(Level.Trial)
+    public void delete() {
+        memberFile.delete();
+        scheduleFile.delete();
+    }
+
+    /**
+     * Processes the command stream.
+     *
+     * @return The number of commands applied.
+     * @throws IOException never, as the stream is read from memory.
+     */
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public long process() throws IOException {
+        return manager.process(new BufferedReader(new StringReader(commands)), Writer.nullWriter());
+    }
+}
@@ -97,13 +97,22 @@ public class Basic extends Member {
 
 
     /**
-     * Provides a string representation of the Basic member including the number of classes attended.
+     * Renders the string representation of the Basic member including the number of classes attended.
      *
      * @return The string representation of the Basic member.
      */
     @Override
-    public String toString() {
-        return super.toString() + ", (Basic) number of classes attended: " + numClasses;
+    protected String render() {
+        return super.render() + ", (Basic) number of classes attended: " + numClasses;
+    }
+
+    /**
+     * Retrieves the number of classes attended by the member.
+     *
+     * @return the number of classes attended.
+     */
+    public int getNumClasses() {
+        return numClasses;
     }
 
     /**
@@ -111,6 +120,7 @@ public class Basic extends Member {
      */
     public void attendClass() {
         numClasses++;
+        invalidateRendering();
     }
 
 }
\ No newline at end of file
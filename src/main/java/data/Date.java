@@ -1,5 +1,7 @@
 package data;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.Calendar;
 
 /**
@@ -123,6 +125,16 @@ public class Date implements Comparable<Date> {
      */
     private static final int thisDay = calendar.get(Calendar.DAY_OF_MONTH);
 
+    /**
+     * The clock today's date is read from.
+     */
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Today's date, with the time it ends, replaced when the clock passes the end of the day.
+     */
+    private static volatile Today today = Today.at(clock);
+
     /**
      * Constructs a data.Date object representing a specific date.
      *
@@ -148,6 +160,62 @@ public class Date implements Comparable<Date> {
         this.year = Integer.parseInt(dateParts[YEAR_INDEX]);
     }
 
+    /**
+     * Gets the month of the date.
+     *
+     * @return the month, from 1 to 12 for a valid date.
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Gets the day of the month of the date.
+     *
+     * @return the day of the month.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Gets the year of the date.
+     *
+     * @return the year.
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Gets today's date. The same instance is returned on every call until the clock passes midnight, so
+     * comparing against today allocates nothing, and a new date is returned from then on, so a long-running
+     * process sees memberships expire. Callers caching anything that depends on today can compare the
+     * instance they cached against with {@code ==} to tell that the day changed.
+     *
+     * @return today's date.
+     */
+    public static Date today() {
+        Today current = today;
+        Clock source = clock;
+        if (source.millis() >= current.ends) {
+            current = Today.at(source);
+            today = current;
+        }
+        return current.date;
+    }
+
+    /**
+     * Sets the clock today's date is read from, so simulations and tests can move today forward. The date
+     * returned by {@link #today()} changes at once.
+     *
+     * @param source The clock, such as {@link Clock#systemDefaultZone()}.
+     */
+    public static void useClock(Clock source) {
+        clock = source;
+        today = Today.at(source);
+    }
+
     /**
      * Generates the current date.
      *
@@ -176,6 +244,16 @@ public class Date implements Comparable<Date> {
         return month == date.month && day == date.day && year == date.year;
     }
 
+    /**
+     * Generates a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code of this date.
+     */
+    @Override
+    public int hashCode() {
+        return (year * 13 + month) * 32 + day;
+    }
+
     /**
      * check the given date.
      * check if the date is a valid calendar date.
@@ -357,4 +435,42 @@ public class Date implements Comparable<Date> {
     public String toString() {
         return this.month + "/" + this.day + "/" + this.year;
     }
-}
\ No newline at end of file
+
+    /**
+     * A date taken as today, and the time it ends.
+     */
+    private static final class Today {
+        /**
+         * The date.
+         */
+        private final Date date;
+
+        /**
+         * The start of the next day, in milliseconds since the epoch.
+         */
+        private final long ends;
+
+        /**
+         * Constructs a day.
+         *
+         * @param date the date.
+         * @param ends the start of the next day, in milliseconds since the epoch.
+         */
+        private Today(Date date, long ends) {
+            this.date = date;
+            this.ends = ends;
+        }
+
+        /**
+         * Reads today's date from a clock.
+         *
+         * @param clock the clock.
+         * @return the day the clock is in.
+         */
+        private static Today at(Clock clock) {
+            LocalDate date = LocalDate.now(clock);
+            long ends = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+            return new Today(new Date(date.getMonthValue(), date.getDayOfMonth(), date.getYear()), ends);
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class Family extends Member {
      */
     public void takeAttendanceOfGuest() {
         this.guest = false;
+        invalidateRendering();
     }
 
     /**
@@ -58,6 +59,7 @@ public class Family extends Member {
      */
     public void removeAttendanceOfGuest() {
         this.guest = true;
+        invalidateRendering();
     }
 
     /**
@@ -70,31 +72,15 @@ public class Family extends Member {
     }
 
     /**
-     * Provides a string representation of the Family member including the guest pass status.
+     * Renders the string representation of the Family member including the guest pass status.
      *
      * @return A string summary of the Family member's details.
      */
     @Override
-    public String toString() {
-        String expirationMessage = isMembershipExpired() ?
-                "Membership expired " + getExpire().toString() :
-                "Membership expires " + getExpire().toString();
-        String guestPassStatus;
-        if (isMembershipExpired()) {
-            guestPassStatus = "guest-pass remaining: not eligible";
-        } else {
-            guestPassStatus = "guest-pass remaining: " + (this.guest ? "1" : "0");
-        }
-
-        return String.format("%s:%s:%s, %s, Home Studio: %s, %s, %s, (Family) %s",
-                this.getProfile().getFname(),
-                this.getProfile().getLname(),
-                this.getProfile().getDob().toString(),
-                expirationMessage,
-                this.getHomeStudio().getCity().toUpperCase(),
-                this.getHomeStudio().getZipCode(),
-                this.getHomeStudio().getCounty().toUpperCase(),
-                guestPassStatus);
+    protected String render() {
+        boolean expired = isMembershipExpired();
+        return renderProfile((expired ? "Membership expired " : "Membership expires ") + getExpire()) +
+                ", (Family) guest-pass remaining: " + (expired ? "not eligible" : this.guest ? "1" : "0");
     }
 
 
@@ -1,6 +1,8 @@
 package data;
 
 import enums.Location;
+import enums.Time;
+import impl.ClassList;
 import impl.FitnessClass;
 
 /**
@@ -26,19 +28,42 @@ public class Member implements Comparable<Member> {
     private Location homeStudio;
 
     /**
-     * The maximum number of fitness classes a member is allowed to register for within a certain period.
+     * Value of the member ID before the member is added to a member list.
      */
-    private static final int MAX_CLASSES = 10;
+    public static final int UNASSIGNED_ID = -1;
 
     /**
-     * An array to store references to the fitness classes for which this member has registered.
+     * The numeric ID of this member, assigned by the member list the member is added to.
      */
-    private FitnessClass[] registeredClasses = new FitnessClass[MAX_CLASSES];
+    private int id = UNASSIGNED_ID;
 
     /**
-     * The current number of classes for which the member has registered. This count should not exceed MAX_CLASSES.
+     * The fitness classes this member has registered for. The list grows as needed, so there is no cap on registrations.
      */
-    private int registeredClassCount = 0;
+    private final ClassList registeredClasses = new ClassList();
+
+    /**
+     * The number of registered classes in each time slot, indexed by {@link Time#ordinal()}, for constant time conflict checks.
+     */
+    private final int[] classesAtTime = new int[Time.values().length];
+
+    /**
+     * The fitness classes this member has brought at least one guest to.
+     */
+    private final ClassList guestClasses = new ClassList();
+
+    /**
+     * The fitness classes whose waitlist this member is on.
+     */
+    private final ClassList waitlistedClasses = new ClassList();
+
+    /**
+     * The last rendering of this member by {@link #toString()}, or null if the member has changed since.
+     * Reports print every member, so a member is only rendered again after a change, or when the day changes,
+     * since whether the membership has expired depends on it. Reports on several threads may render a member at
+     * once, so the text and its day are replaced together.
+     */
+    private Rendering rendering;
 
     /**
      * Constructs a member with specified profile, expiration date, and home studio.
@@ -63,6 +88,24 @@ public class Member implements Comparable<Member> {
         return profile;
     }
 
+    /**
+     * Retrieves the numeric ID of this member.
+     *
+     * @return The member ID, or {@link #UNASSIGNED_ID} if the member has not been added to a member list.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the numeric ID of this member. Called by the member list when the member is added.
+     *
+     * @param id The member ID.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Retrieves the expiration date of the member's membership.
      *
@@ -106,23 +149,59 @@ public class Member implements Comparable<Member> {
     }
 
     /**
-     * Provides a string representation of this member, including profile and membership details.
+     * Generates a hash code consistent with {@link #equals(Object)}, based on the profile.
+     *
+     * @return the hash code of this member.
+     */
+    @Override
+    public int hashCode() {
+        return profile.hashCode();
+    }
+
+    /**
+     * Provides a string representation of this member, including profile and membership details. The
+     * representation is rendered once and reused until the member changes or the date taken as today does.
      *
      * @return String representation of the member.
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        String expirationStatus = isMembershipExpired() ? "Membership expired" : "Membership expires " + this.getExpire().toString();
-        sb.append(String.format("%s:%s:%s, %s, Home Studio: %s, %s, %s",
-                this.getProfile().getFname(),
-                this.getProfile().getLname(),
-                this.getProfile().getDob(),
-                expirationStatus,
-                this.getHomeStudio().getCity().toUpperCase(),
-                this.getHomeStudio().getZipCode(),
-                this.getHomeStudio().getCounty().toUpperCase()));
-        return sb.toString();
+        Date today = Date.today();
+        Rendering last = rendering;
+        if (last == null || last.day != today) {
+            last = new Rendering(render(), today);
+            rendering = last;
+        }
+        return last.text;
+    }
+
+    /**
+     * Renders the string representation of this member returned by {@link #toString()}. Subclasses that add
+     * details override this method, and call {@link #invalidateRendering()} whenever a detail changes.
+     *
+     * @return String representation of the member.
+     */
+    protected String render() {
+        return renderProfile(isMembershipExpired() ? "Membership expired" : "Membership expires " + expire);
+    }
+
+    /**
+     * Renders the part of the string representation shared by every membership type: the profile, the
+     * expiration status, and the home studio.
+     *
+     * @param expirationStatus The expiration status of the membership.
+     * @return The shared part of the string representation.
+     */
+    protected final String renderProfile(String expirationStatus) {
+        return profile.getFname() + ":" + profile.getLname() + ":" + profile.getDob() + ", " + expirationStatus +
+                ", Home Studio: " + homeStudio;
+    }
+
+    /**
+     * Discards the rendering of this member, so the next call of {@link #toString()} renders it again.
+     */
+    protected void invalidateRendering() {
+        rendering = null;
     }
 
     /**
@@ -131,8 +210,7 @@ public class Member implements Comparable<Member> {
      * @return true if expired, false otherwise.
      */
     public boolean isMembershipExpired() {
-        Date today = new Date(Date.todayDate());
-        return this.expire.compareTo(today) < 0;
+        return this.expire.compareTo(Date.today()) < 0;
     }
 
     /**
@@ -170,50 +248,163 @@ public class Member implements Comparable<Member> {
     }
 
     /**
-     * Registers a class for the member.
+     * Registers a class for the member. Called by {@link FitnessClass} when the member is added to its roster.
      *
      * @param fitnessClass Class to register.
      */
-    public void registerClass(FitnessClass fitnessClass) {
-        if (registeredClassCount < registeredClasses.length) {
-            registeredClasses[registeredClassCount++] = fitnessClass;
+    public synchronized void registerClass(FitnessClass fitnessClass) {
+        if (registeredClasses.add(fitnessClass)) {
+            classesAtTime[fitnessClass.getTime().ordinal()]++;
         }
     }
 
     /**
-     * Unregisters a class for the member.
+     * Unregisters a class for the member. Called by {@link FitnessClass} when the member is removed from its roster.
      *
      * @param fitnessClass Class to deregister.
      */
-    public void unregisterClass(FitnessClass fitnessClass) {
-        for (int i = 0; i < registeredClassCount; i++) {
-            if (registeredClasses[i].equals(fitnessClass)) {
-                for (int j = i; j < registeredClassCount - 1; j++) {
-                    registeredClasses[j] = registeredClasses[j + 1];
-                }
-                registeredClasses[registeredClassCount - 1] = null;
-                registeredClassCount--;
-                break;
-            }
+    public synchronized void unregisterClass(FitnessClass fitnessClass) {
+        if (registeredClasses.remove(fitnessClass)) {
+            classesAtTime[fitnessClass.getTime().ordinal()]--;
+        }
+    }
+
+    /**
+     * Records that the member has brought a guest to a class.
+     *
+     * @param fitnessClass Class the guest attends.
+     */
+    public synchronized void registerGuestClass(FitnessClass fitnessClass) {
+        guestClasses.add(fitnessClass);
+    }
+
+    /**
+     * Records that the member no longer has any guest in a class.
+     *
+     * @param fitnessClass Class the guests have left.
+     */
+    public synchronized void unregisterGuestClass(FitnessClass fitnessClass) {
+        guestClasses.remove(fitnessClass);
+    }
+
+    /**
+     * Records that the member has joined the waitlist of a class.
+     *
+     * @param fitnessClass Class whose waitlist the member joined.
+     */
+    public synchronized void registerWaitlistedClass(FitnessClass fitnessClass) {
+        waitlistedClasses.add(fitnessClass);
+    }
+
+    /**
+     * Records that the member has left the waitlist of a class.
+     *
+     * @param fitnessClass Class whose waitlist the member left.
+     */
+    public synchronized void unregisterWaitlistedClass(FitnessClass fitnessClass) {
+        waitlistedClasses.remove(fitnessClass);
+    }
+
+    /**
+     * Checks if the member is registered for a class in the given time slot.
+     *
+     * @param time The time slot to check.
+     * @return true if the member already has a class at that time, false otherwise.
+     */
+    public synchronized boolean hasClassAt(Time time) {
+        return classesAtTime[time.ordinal()] > 0;
+    }
+
+    /**
+     * Removes the member from every class roster, guest list, and waitlist they are in, using the member's own
+     * class index. This takes time proportional to the number of the member's registrations rather than the
+     * size of the schedule. Seats freed this way are given to the waitlists of the classes.
+     */
+    public void cancelRegistrations() {
+        FitnessClass[] registered;
+        FitnessClass[] guests;
+        FitnessClass[] waitlisted;
+        synchronized (this) {
+            registered = registeredClasses.toArray();
+            guests = guestClasses.toArray();
+            waitlisted = waitlistedClasses.toArray();
+        }
+        for (FitnessClass fitnessClass : waitlisted) {
+            fitnessClass.leaveWaitlist(this);
+        }
+        for (FitnessClass fitnessClass : registered) {
+            fitnessClass.removeMember(this);
+        }
+        for (FitnessClass fitnessClass : guests) {
+            fitnessClass.removeAllGuests(this);
         }
     }
 
+    /**
+     * Counts the guests this member currently has in classes, by reading the guest ledgers of the classes
+     * in the member's own index. This is the number of guest passes in use, and takes time proportional to
+     * the number of classes the member has brought guests to.
+     *
+     * @return The number of guests of this member across all classes.
+     */
+    public int countGuestsInClasses() {
+        int total = 0;
+        for (FitnessClass fitnessClass : getGuestClasses()) {
+            total += fitnessClass.getGuestCount(this);
+        }
+        return total;
+    }
 
     /**
      * Retrieves the count of classes the member has registered for.
      *
      * @return The total number of registered classes for the member.
      */
-    public int getRegisteredClassCount() {
-        return registeredClassCount;
+    public synchronized int getRegisteredClassCount() {
+        return registeredClasses.getSize();
     }
 
     /**
-     * Retrieves the array of FitnessClass objects the member has registered for.
+     * Retrieves the FitnessClass objects the member has registered for.
      *
-     * @return An array of registered FitnessClass objects.
+     * @return An array of registered FitnessClass objects, sized to the number of registrations.
      */
-    public FitnessClass[] getRegisteredClasses() {
-        return registeredClasses;
+    public synchronized FitnessClass[] getRegisteredClasses() {
+        return registeredClasses.toArray();
+    }
+
+    /**
+     * Retrieves the FitnessClass objects the member has brought guests to.
+     *
+     * @return An array of FitnessClass objects with guests of the member.
+     */
+    public synchronized FitnessClass[] getGuestClasses() {
+        return guestClasses.toArray();
+    }
+
+    /**
+     * The string representation of a member and the day it was rendered on.
+     */
+    private static final class Rendering {
+        /**
+         * The string representation.
+         */
+        private final String text;
+
+        /**
+         * The date taken as today when the member was rendered.
+         */
+        private final Date day;
+
+        /**
+         * Constructs a rendering.
+         *
+         * @param text The string representation.
+         * @param day  The date taken as today.
+         */
+        private Rendering(String text, Date day) {
+            this.text = text;
+            this.day = day;
+        }
     }
-}
\ No newline at end of file
+}
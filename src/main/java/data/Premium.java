@@ -63,6 +63,7 @@ public class Premium extends Member {
      */
     public void takeAttendanceOfGuest() {
         guestPass -= 1;
+        invalidateRendering();
     }
 
     /**
@@ -70,6 +71,7 @@ public class Premium extends Member {
      */
     public void removeGuest() {
         guestPass += 1;
+        invalidateRendering();
     }
 
     /**
@@ -96,28 +98,15 @@ public class Premium extends Member {
     }
 
     /**
-     * Provides a string representation of the Premium member including the number of guest passes available.
+     * Renders the string representation of the Premium member including the number of guest passes available.
      *
      * @return The string representation of the Premium member.
      */
     @Override
-    public String toString() {
-        String expirationMessage = isMembershipExpired() ?
-                "Membership expired " + getExpire().toString() :
-                "Membership expires " + getExpire().toString();
-        String guestPassStatus = isMembershipExpired() ?
-                "guest-pass remaining: not eligible" :
-                "guest-pass remaining: " + guestPass;
-
-        return String.format("%s:%s:%s, %s, Home Studio: %s, %s, %s, (Premium) %s",
-                this.getProfile().getFname(),
-                this.getProfile().getLname(),
-                this.getProfile().getDob().toString(),
-                expirationMessage,
-                this.getHomeStudio().getCity().toUpperCase(),
-                this.getHomeStudio().getZipCode(),
-                this.getHomeStudio().getCounty().toUpperCase(),
-                guestPassStatus);
+    protected String render() {
+        boolean expired = isMembershipExpired();
+        return renderProfile((expired ? "Membership expired " : "Membership expires ") + getExpire()) +
+                ", (Premium) guest-pass remaining: " + (expired ? "not eligible" : String.valueOf(guestPass));
     }
 
     /**
@@ -130,6 +119,7 @@ public class Premium extends Member {
      */
     public void setGuestPass(int guestPass) {
         this.guestPass = guestPass;
+        invalidateRendering();
     }
 
     /**
@@ -23,6 +23,12 @@ public class Profile implements Comparable<Profile>{
      */
     private final Date dob;
 
+    /**
+     * The hash code of the profile, computed on first use. Profiles are looked up on every command, and the fields
+     * never change, so the hash is worked out once rather than on every lookup.
+     */
+    private int hash;
+
     /**
      * Constructs a Profile with specified first name, last name, and date of birth.
      *
@@ -110,6 +116,36 @@ public class Profile implements Comparable<Profile>{
         return false;
     }
 
+    /**
+     * Generates a hash code consistent with {@link #equals(Object)}. Names are folded character by character the
+     * way {@link String#compareToIgnoreCase(String)} compares them, so no lower-case copies of the names are made.
+     *
+     * @return the hash code of this profile.
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * (31 * foldedHash(fname) + foldedHash(lname)) + dob.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Hashes a name with its case folded, as {@link String#compareToIgnoreCase(String)} folds it.
+     *
+     * @param name the name.
+     * @return the hash of the folded name.
+     */
+    private static int foldedHash(String name) {
+        int h = 1;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return h;
+    }
+
     /**
      * Returns a string representation of the profile.
      *
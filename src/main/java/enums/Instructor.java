@@ -44,4 +44,13 @@ public enum Instructor {
     Instructor(String name) {
         this.name = name;
     }
+
+    /**
+     * Returns the name of the instructor.
+     *
+     * @return The instructor name.
+     */
+    public String getName() {
+        return name;
+    }
 }
@@ -48,6 +48,21 @@ public enum Location {
      */
     private final String county;
 
+    /**
+     * City name of the location in upper case, as printed in reports
+     */
+    private final String cityUpperCase;
+
+    /**
+     * County name of the location in upper case, as printed in reports
+     */
+    private final String countyUpperCase;
+
+    /**
+     * The location as printed in reports: "CITY, ZIPCODE, COUNTY"
+     */
+    private final String label;
+
     /**
      * Constructor for enum constants.
      *
@@ -59,6 +74,9 @@ public enum Location {
         this.city = city;
         this.zipCode = zipCode;
         this.county = county;
+        this.cityUpperCase = city.toUpperCase();
+        this.countyUpperCase = county.toUpperCase();
+        this.label = cityUpperCase + ", " + zipCode + ", " + countyUpperCase;
     }
 
     /**
@@ -88,6 +106,24 @@ public enum Location {
         return county;
     }
 
+    /**
+     * Returns the city name of the location in upper case. The name is converted once, when the enum is loaded.
+     *
+     * @return The city name in upper case.
+     */
+    public String getCityUpperCase() {
+        return cityUpperCase;
+    }
+
+    /**
+     * Returns the county name of the location in upper case. The name is converted once, when the enum is loaded.
+     *
+     * @return The county name in upper case.
+     */
+    public String getCountyUpperCase() {
+        return countyUpperCase;
+    }
+
     /**
      * Provides a string representation of the location in the format: "CITY, ZIPCODE, COUNTY".
      *
@@ -95,6 +131,6 @@ public enum Location {
      */
     @Override
     public String toString() {
-        return city.toUpperCase() + ", " + zipCode + ", " + county.toUpperCase();
+        return label;
     }
 }
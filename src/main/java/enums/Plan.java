@@ -0,0 +1,33 @@
+package enums;
+
+/**
+ * Enum representing the membership plans a member may hold, named as by {@code Member.getMembershipType()}.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public enum Plan {
+
+    /** Basic membership, for the member's home studio only. */
+    BASIC,
+
+    /** Family membership, with one guest pass. */
+    FAMILY,
+
+    /** Premium membership, with three guest passes. */
+    PREMIUM;
+
+    /**
+     * Finds the plan named by a membership type.
+     *
+     * @param membershipType The membership type, as returned by {@code Member.getMembershipType()}.
+     * @return The plan, or null if the type is not one of the plans, as for a plain member.
+     */
+    public static Plan of(String membershipType) {
+        for (Plan plan : values()) {
+            if (plan.name().equals(membershipType)) {
+                return plan;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,252 @@
+package impl;
+
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+
+/**
+ * Counts of the classes of a schedule and their attendance, broken down by class offered, instructor, studio and
+ * time, and rolled up along any of them. The cube listens to the schedule, so every class added and every member
+ * or guest registered or removed is counted as it happens.
+ *
+ * <p>Each dimension has one more position than it has values, standing for all of its values. Every change is
+ * added to the cell of its class and to every cell rolling it up, sixteen cells in all, so a count for any
+ * combination of dimensions, such as all evening classes at Piscataway, is read from a single cell.</p>
+ *
+ * <p>The cube is changed by the thread changing a class roster, and is guarded by the same lock as the schedule.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class AttendanceCube implements ScheduleListener {
+
+    /**
+     * The counts kept for every cell of the cube.
+     */
+    public enum Measure {
+        /** The number of classes. */
+        CLASSES,
+        /** The number of members registered. */
+        MEMBERS,
+        /** The number of guests registered. */
+        GUESTS,
+        /** The seats of the classes with a capacity. */
+        SEATS,
+        /** The members and guests registered for classes with a capacity. */
+        SEATED,
+        /** The number of classes at capacity. */
+        FULL
+    }
+
+    /**
+     * The number of positions of each dimension, one per value and one for all values
+     **/
+    private static final int OFFERS = Offer.values().length + 1,
+            INSTRUCTORS = Instructor.values().length + 1,
+            STUDIOS = Location.values().length + 1,
+            TIMES = Time.values().length + 1;
+
+    /**
+     * The counts of each measure, indexed by {@link Measure#ordinal()}, then by cell
+     **/
+    private final int[][] counts = new int[Measure.values().length][OFFERS * INSTRUCTORS * STUDIOS * TIMES];
+
+    /**
+     * The attendance of each class counted, indexed by schedule position, to tell when a class fills up or
+     * gets a free seat
+     **/
+    private int[] attendance = new int[4];
+
+    /**
+     * Creates a cube counting the classes already in a schedule, and the classes and attendance changes to come.
+     *
+     * @param schedule The schedule to count.
+     * @return The cube, listening to the schedule.
+     */
+    public static AttendanceCube attach(Schedule schedule) {
+        AttendanceCube cube = new AttendanceCube();
+        for (int i = 0; i < schedule.getNumClasses(); i++) {
+            FitnessClass fitnessClass = schedule.getClassAt(i);
+            cube.scheduleChanged(new ScheduleEvent(ScheduleEvent.Type.CLASS_ADDED, fitnessClass, i, ScheduleEvent.NO_MEMBER,
+                    fitnessClass.getMembers().getSize() + fitnessClass.getGuests().getSize()));
+        }
+        schedule.addListener(cube);
+        return cube;
+    }
+
+    /**
+     * Counts a change to the schedule.
+     *
+     * @param event The change.
+     */
+    @Override
+    public void scheduleChanged(ScheduleEvent event) {
+        FitnessClass fitnessClass = event.getFitnessClass();
+        int cell = cell(fitnessClass.getClassInfo(), fitnessClass.getInstructor(), fitnessClass.getStudio(), fitnessClass.getTime());
+        boolean limited = fitnessClass.getCapacity() != FitnessClass.UNLIMITED_CAPACITY;
+        if (event.getType() == ScheduleEvent.Type.CLASS_ADDED) {
+            add(Measure.CLASSES, cell, 1);
+            add(Measure.MEMBERS, cell, fitnessClass.getMembers().getSize());
+            add(Measure.GUESTS, cell, fitnessClass.getGuests().getSize());
+            if (limited) {
+                add(Measure.SEATS, cell, fitnessClass.getCapacity());
+            }
+            setAttendance(event.getIndex(), fitnessClass, cell, event.getAttendance());
+            return;
+        }
+        int change = switch (event.getType()) {
+            case MEMBER_REGISTERED, GUEST_ADDED -> 1;
+            default -> -1;
+        };
+        boolean member = event.getType() == ScheduleEvent.Type.MEMBER_REGISTERED || event.getType() == ScheduleEvent.Type.MEMBER_UNREGISTERED;
+        add(member ? Measure.MEMBERS : Measure.GUESTS, cell, change);
+        setAttendance(event.getIndex(), fitnessClass, cell, attendance[event.getIndex()] + change);
+    }
+
+    /**
+     * Records the new attendance of a class, counting the seats taken and whether the class is full.
+     *
+     * @param index        The position of the class in the schedule.
+     * @param fitnessClass The class.
+     * @param cell         The cell of the class.
+     * @param now          The attendance of the class after the change.
+     */
+    private void setAttendance(int index, FitnessClass fitnessClass, int cell, int now) {
+        if (index >= attendance.length) {
+            int[] temp = new int[Math.max(attendance.length * 2, index + 1)];
+            System.arraycopy(attendance, 0, temp, 0, attendance.length);
+            attendance = temp;
+        }
+        int before = attendance[index];
+        attendance[index] = now;
+        int capacity = fitnessClass.getCapacity();
+        if (capacity == FitnessClass.UNLIMITED_CAPACITY) {
+            return;
+        }
+        add(Measure.SEATED, cell, now - before);
+        boolean wasFull = before >= capacity;
+        boolean isFull = now >= capacity;
+        if (wasFull != isFull) {
+            add(Measure.FULL, cell, isFull ? 1 : -1);
+        }
+    }
+
+    /**
+     * Adds to a measure in the cell of a class and in every cell rolling it up.
+     *
+     * @param measure The measure.
+     * @param cell    The cell of the class.
+     * @param delta   The amount to add.
+     */
+    private void add(Measure measure, int cell, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int[] cells = counts[measure.ordinal()];
+        int time = cell % TIMES;
+        int studio = cell / TIMES % STUDIOS;
+        int instructor = cell / (TIMES * STUDIOS) % INSTRUCTORS;
+        int offer = cell / (TIMES * STUDIOS * INSTRUCTORS);
+        for (int all = 0; all < 16; all++) {
+            cells[index((all & 1) != 0 ? OFFERS - 1 : offer, (all & 2) != 0 ? INSTRUCTORS - 1 : instructor,
+                    (all & 4) != 0 ? STUDIOS - 1 : studio, (all & 8) != 0 ? TIMES - 1 : time)] += delta;
+        }
+    }
+
+    /**
+     * Reads a measure for a combination of class offered, instructor, studio and time. A dimension given as null
+     * is rolled up: the count is over all of its values.
+     *
+     * @param measure    The measure.
+     * @param offer      The class offered, or null for all.
+     * @param instructor The instructor, or null for all.
+     * @param studio     The studio, or null for all.
+     * @param time       The time, or null for all.
+     * @return The count.
+     */
+    public int get(Measure measure, Offer offer, Instructor instructor, Location studio, Time time) {
+        return counts[measure.ordinal()][cell(offer, instructor, studio, time)];
+    }
+
+    /**
+     * Computes the share of the seats taken in the classes with a capacity, for a combination of class offered,
+     * instructor, studio and time. A dimension given as null is rolled up.
+     *
+     * @param offer      The class offered, or null for all.
+     * @param instructor The instructor, or null for all.
+     * @param studio     The studio, or null for all.
+     * @param time       The time, or null for all.
+     * @return The seats taken over the seats, from 0 to 1, or NaN if none of the classes has a capacity.
+     */
+    public double getUtilization(Offer offer, Instructor instructor, Location studio, Time time) {
+        int cell = cell(offer, instructor, studio, time);
+        int seats = counts[Measure.SEATS.ordinal()][cell];
+        return seats == 0 ? Double.NaN : (double) counts[Measure.SEATED.ordinal()][cell] / seats;
+    }
+
+    /**
+     * Generates the attendance of every combination of class offered, instructor, studio and time that has classes,
+     * with the share of seats taken, and whether every class is full or no one attends.
+     *
+     * @return The report.
+     */
+    public String printUtilization() {
+        StringBuilder sb = new StringBuilder("\n-class utilization-\n");
+        for (Offer offer : Offer.values()) {
+            for (Instructor instructor : Instructor.values()) {
+                for (Location studio : Location.values()) {
+                    for (Time time : Time.values()) {
+                        int cell = cell(offer, instructor, studio, time);
+                        int classes = counts[Measure.CLASSES.ordinal()][cell];
+                        if (classes == 0) {
+                            continue;
+                        }
+                        int attending = counts[Measure.MEMBERS.ordinal()][cell] + counts[Measure.GUESTS.ordinal()][cell];
+                        sb.append(offer.getClassName().toUpperCase()).append(" - ").append(instructor.name()).append(", ")
+                                .append(time.name()).append(", ").append(studio.getCityUpperCase()).append(": ")
+                                .append(attending).append(" attending");
+                        int seats = counts[Measure.SEATS.ordinal()][cell];
+                        if (seats > 0) {
+                            sb.append(", ").append(counts[Measure.SEATED.ordinal()][cell]).append(" of ").append(seats)
+                                    .append(" seats");
+                        }
+                        if (counts[Measure.FULL.ordinal()][cell] == classes) {
+                            sb.append(" [full]");
+                        } else if (attending == 0) {
+                            sb.append(" [no attendees]");
+                        }
+                        sb.append("\n");
+                    }
+                }
+            }
+        }
+        return sb.append("-end of list-\n").toString();
+    }
+
+    /**
+     * Finds the cell of a combination of class offered, instructor, studio and time.
+     *
+     * @param offer      The class offered, or null for all.
+     * @param instructor The instructor, or null for all.
+     * @param studio     The studio, or null for all.
+     * @param time       The time, or null for all.
+     * @return The position of the cell.
+     */
+    private static int cell(Offer offer, Instructor instructor, Location studio, Time time) {
+        return index(offer == null ? OFFERS - 1 : offer.ordinal(), instructor == null ? INSTRUCTORS - 1 : instructor.ordinal(),
+                studio == null ? STUDIOS - 1 : studio.ordinal(), time == null ? TIMES - 1 : time.ordinal());
+    }
+
+    /**
+     * Finds the cell at positions along each dimension.
+     *
+     * @param offer      The position along the class offered.
+     * @param instructor The position along the instructor.
+     * @param studio     The position along the studio.
+     * @param time       The position along the time.
+     * @return The position of the cell.
+     */
+    private static int index(int offer, int instructor, int studio, int time) {
+        return ((offer * INSTRUCTORS + instructor) * STUDIOS + studio) * TIMES + time;
+    }
+}
@@ -0,0 +1,605 @@
+package impl;
+
+import data.Member;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An append-only history of class attendance, kept in a binary file of fixed-size records written through
+ * memory-mapped segments. Each record holds the member key, the class, the time to the second, and whether the
+ * record is for a guest and whether it takes back an earlier registration. Registered as a listener of a
+ * {@link Schedule}, the log records every member and guest registered for a class or removed from it.
+ *
+ * <p>The log is kept across runs, while member IDs are assigned afresh in load order by every run, so records
+ * are keyed by {@link #keyOf(Profile)}, a 64-bit hash of the member's profile that is the same in every run. Two
+ * members could share a key only by a hash collision, which among a million members has a chance of under one
+ * in thirty million.</p>
+ *
+ * <p>Records are {@value #RECORD_SIZE} bytes, so a page of {@value #PAGE_SIZE} bytes holds
+ * {@value #RECORDS_PER_PAGE} of them, and follow a one-page header holding the number of records. Two sparse
+ * indexes are kept in memory and rebuilt from the file when it is opened: the first record of each day, and the
+ * pages holding records of each member. A member's history over a range of days reads only the pages that both
+ * hold records of the member and fall in the range.</p>
+ *
+ * <p>Records are kept in time order. A record may not be older than the one before it, and records taken from
+ * the clock are never made older than the last record.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class AttendanceLog implements ScheduleListener, AutoCloseable {
+    /**
+     * The size of a record in bytes: member key, time, class key, and flags
+     **/
+    public static final int RECORD_SIZE = 16;
+
+    /**
+     * The size of a page in bytes
+     **/
+    public static final int PAGE_SIZE = 4096;
+
+    /**
+     * The number of records in a page
+     **/
+    public static final int RECORDS_PER_PAGE = PAGE_SIZE / RECORD_SIZE;
+
+    /**
+     * The number of pages mapped at a time as the log grows
+     **/
+    private static final int PAGES_PER_SEGMENT = 256;
+
+    /**
+     * Marks a file as an attendance log
+     **/
+    private static final int MAGIC = 0x41545444;
+
+    /**
+     * The version of the file format
+     **/
+    private static final int VERSION = 2;
+
+    /**
+     * The position of the record count in the header
+     **/
+    private static final int COUNT_OFFSET = 8;
+
+    /**
+     * The flag of a record for a guest
+     **/
+    private static final byte GUEST = 1;
+
+    /**
+     * The flag of a record taking back an earlier registration
+     **/
+    private static final byte REMOVED = 2;
+
+    /**
+     * The offset basis and prime of the 64-bit FNV-1a hash of {@link #keyOf(Profile)}
+     **/
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L, FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The file of the log
+     **/
+    private final FileChannel channel;
+
+    /**
+     * The header page of the file
+     **/
+    private final MappedByteBuffer header;
+
+    /**
+     * The mapped segments of record pages, in file order
+     **/
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * The time zone days are counted in
+     **/
+    private final ZoneId zone;
+
+    /**
+     * The number of records in the log
+     **/
+    private int size;
+
+    /**
+     * The time of the last record, in milliseconds since the epoch
+     **/
+    private long lastTimestamp;
+
+    /**
+     * The first record of each day with records, keyed by day since the epoch
+     **/
+    private final TreeMap<Long, Integer> firstOfDay = new TreeMap<>();
+
+    /**
+     * The pages holding records of each member, keyed by member key
+     **/
+    private final HashMap<Long, Pages> memberPages = new HashMap<>();
+
+    /**
+     * Resolves the member IDs of schedule events to members, or null if the log does not listen to a schedule
+     **/
+    private final MemberList directory;
+
+    /**
+     * Opens an attendance log, creating the file if it does not exist, with days counted in the system time zone.
+     *
+     * @param file      The file of the log.
+     * @param directory The member list resolving the member IDs of the schedule events the log listens to.
+     * @return The log, ready to append to.
+     * @throws IOException if the file cannot be opened or is not an attendance log of this version.
+     */
+    public static AttendanceLog open(Path file, MemberList directory) throws IOException {
+        return new AttendanceLog(file, ZoneId.systemDefault(), directory);
+    }
+
+    /**
+     * Opens an attendance log, creating the file if it does not exist, and indexes the records already in it.
+     *
+     * @param file      The file of the log.
+     * @param zone      The time zone days are counted in.
+     * @param directory The member list resolving the member IDs of the schedule events the log listens to, or
+     *                  null if records are only appended directly.
+     * @throws IOException if the file cannot be opened or is not an attendance log of this version.
+     */
+    public AttendanceLog(Path file, ZoneId zone, MemberList directory) throws IOException {
+        this.zone = zone;
+        this.directory = directory;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean created = channel.size() == 0;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, PAGE_SIZE);
+        if (created) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(COUNT_OFFSET, 0);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not an attendance log of version " + VERSION);
+        }
+        int count = (int) header.getLong(COUNT_OFFSET);
+        for (int record = 0; record < count; record++) {
+            MappedByteBuffer segment = segmentOf(record);
+            int at = offsetOf(record);
+            index(record, segment.getLong(at), Integer.toUnsignedLong(segment.getInt(at + 8)) * 1000);
+        }
+        size = count;
+    }
+
+    /**
+     * Records a member or guest registered for a class or removed from it, at the current time. Changes of
+     * members the directory does not hold are not recorded.
+     *
+     * @param event The change to a class roster.
+     */
+    @Override
+    public void scheduleChanged(ScheduleEvent event) {
+        if (event.getType() == ScheduleEvent.Type.CLASS_ADDED || directory == null) {
+            return;
+        }
+        Member member = directory.getById(event.getMemberId());
+        if (member == null) {
+            return;
+        }
+        boolean guest = event.getType() == ScheduleEvent.Type.GUEST_ADDED || event.getType() == ScheduleEvent.Type.GUEST_REMOVED;
+        boolean removed = event.getType() == ScheduleEvent.Type.MEMBER_UNREGISTERED || event.getType() == ScheduleEvent.Type.GUEST_REMOVED;
+        synchronized (this) {
+            append(member.getProfile(), event.getFitnessClass(), guest, removed, Math.max(System.currentTimeMillis(), lastTimestamp));
+        }
+    }
+
+    /**
+     * Appends a record to the log. The time is kept to the second.
+     *
+     * @param profile      The profile of the member, or of the member bringing the guest.
+     * @param fitnessClass The class.
+     * @param guest        true if the record is for a guest.
+     * @param removed      true if the record takes back an earlier registration.
+     * @param timestamp    The time, in milliseconds since the epoch.
+     * @throws IllegalArgumentException if the time is before the time of the last record.
+     */
+    public synchronized void append(Profile profile, FitnessClass fitnessClass, boolean guest, boolean removed, long timestamp) {
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Attendance records must be appended in time order");
+        }
+        long memberKey = keyOf(profile);
+        int record = size;
+        MappedByteBuffer segment = segmentOf(record);
+        int at = offsetOf(record);
+        segment.putLong(at, memberKey);
+        segment.putInt(at + 8, (int) (timestamp / 1000));
+        segment.putShort(at + 12, (short) classKey(fitnessClass.getClassInfo(), fitnessClass.getInstructor(),
+                fitnessClass.getStudio(), fitnessClass.getTime()));
+        segment.put(at + 14, (byte) ((guest ? GUEST : 0) | (removed ? REMOVED : 0)));
+        index(record, memberKey, timestamp);
+        size = record + 1;
+        header.putLong(COUNT_OFFSET, size);
+    }
+
+    /**
+     * Gets the number of records in the log.
+     *
+     * @return The number of records.
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Reads the records of a member, and of their guests, over a range of days. Only the pages holding records of
+     * the member within the range are read.
+     *
+     * @param profile The profile of the member.
+     * @param from    The first day, inclusive.
+     * @param to      The last day, inclusive.
+     * @return The records, in time order.
+     */
+    public synchronized List<Entry> history(Profile profile, LocalDate from, LocalDate to) {
+        List<Entry> entries = new ArrayList<>();
+        long memberKey = keyOf(profile);
+        Pages listed = memberPages.get(memberKey);
+        if (listed == null) {
+            return entries;
+        }
+        int first = firstRecordOn(from.toEpochDay());
+        int end = firstRecordOn(to.toEpochDay() + 1);
+        int[] pages = listed.pages;
+        int count = listed.count;
+        int start = Arrays.binarySearch(pages, 0, count, first / RECORDS_PER_PAGE);
+        for (int i = start < 0 ? -(start + 1) : start; i < count && pages[i] * RECORDS_PER_PAGE < end; i++) {
+            int last = Math.min(end, (pages[i] + 1) * RECORDS_PER_PAGE);
+            for (int record = Math.max(first, pages[i] * RECORDS_PER_PAGE); record < last; record++) {
+                if (segmentOf(record).getLong(offsetOf(record)) == memberKey) {
+                    entries.add(read(record));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads every record over a range of days. Only the pages holding records of those days are read.
+     *
+     * @param from The first day, inclusive.
+     * @param to   The last day, inclusive.
+     * @return The records, in time order.
+     */
+    public synchronized List<Entry> between(LocalDate from, LocalDate to) {
+        List<Entry> entries = new ArrayList<>();
+        int end = firstRecordOn(to.toEpochDay() + 1);
+        for (int record = firstRecordOn(from.toEpochDay()); record < end; record++) {
+            entries.add(read(record));
+        }
+        return entries;
+    }
+
+    /**
+     * Counts the classes a member attended over a range of days: the registrations of the member, less the ones
+     * taken back. Guests are not counted.
+     *
+     * @param profile The profile of the member.
+     * @param from    The first day, inclusive.
+     * @param to      The last day, inclusive.
+     * @return The number of classes attended.
+     */
+    public int countVisits(Profile profile, LocalDate from, LocalDate to) {
+        int visits = 0;
+        for (Entry entry : history(profile, from, to)) {
+            if (!entry.isGuest()) {
+                visits += entry.isRemoved() ? -1 : 1;
+            }
+        }
+        return visits;
+    }
+
+    /**
+     * Writes the records appended so far to the storage device.
+     */
+    public synchronized void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Writes the records to the storage device and closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Adds a record to the day and member indexes.
+     *
+     * @param record    The number of the record.
+     * @param memberKey The key of the member.
+     * @param timestamp The time of the record.
+     */
+    private void index(int record, long memberKey, long timestamp) {
+        long day = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate().toEpochDay();
+        if (record == 0 || firstOfDay.lastKey() != day) {
+            firstOfDay.put(day, record);
+        }
+        lastTimestamp = timestamp;
+        memberPages.computeIfAbsent(memberKey, key -> new Pages()).add(record / RECORDS_PER_PAGE);
+    }
+
+    /**
+     * Computes the key a member's records are kept under: a 64-bit FNV-1a hash of the first and last names,
+     * folded the way {@link Profile#equals(Object)} ignores case, and the date of birth. The key depends on the
+     * profile only, so it is the same in every run, whatever order members are loaded in.
+     *
+     * @param profile The profile of the member.
+     * @return The member key.
+     */
+    public static long keyOf(Profile profile) {
+        long hash = FNV_OFFSET;
+        hash = fold(hash, profile.getFname());
+        hash = fold(hash, profile.getLname());
+        hash = (hash ^ profile.getDob().getYear()) * FNV_PRIME;
+        hash = (hash ^ profile.getDob().getMonth()) * FNV_PRIME;
+        return (hash ^ profile.getDob().getDay()) * FNV_PRIME;
+    }
+
+    /**
+     * Adds the characters of a name, folded to one case, and a terminator to an FNV-1a hash.
+     *
+     * @param hash The hash so far.
+     * @param name The name.
+     * @return The hash including the name.
+     */
+    private static long fold(long hash, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ Character.toLowerCase(Character.toUpperCase(name.charAt(i)))) * FNV_PRIME;
+        }
+        return (hash ^ 0xffff) * FNV_PRIME;
+    }
+
+    /**
+     * Finds the first record on or after a day.
+     *
+     * @param day The day since the epoch.
+     * @return The number of the first record of that day or later, or the number of records if there is none.
+     */
+    private int firstRecordOn(long day) {
+        Map.Entry<Long, Integer> entry = firstOfDay.ceilingEntry(day);
+        return entry == null ? size : entry.getValue();
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param record The number of the record.
+     * @return The record.
+     */
+    private Entry read(int record) {
+        MappedByteBuffer segment = segmentOf(record);
+        int at = offsetOf(record);
+        int key = segment.getShort(at + 12);
+        byte flags = segment.get(at + 14);
+        int times = Time.values().length;
+        int studios = Location.values().length;
+        int instructors = Instructor.values().length;
+        return new Entry(segment.getLong(at), Integer.toUnsignedLong(segment.getInt(at + 8)) * 1000, Offer.values()[key / times / studios / instructors],
+                Instructor.values()[key / times / studios % instructors], Location.values()[key / times % studios],
+                Time.values()[key % times], (flags & GUEST) != 0, (flags & REMOVED) != 0);
+    }
+
+    /**
+     * Packs a class offered, instructor, studio, and time into a class key.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor.
+     * @param studio     The studio.
+     * @param time       The time.
+     * @return The class key.
+     */
+    private static int classKey(Offer offer, Instructor instructor, Location studio, Time time) {
+        return ((offer.ordinal() * Instructor.values().length + instructor.ordinal()) * Location.values().length
+                + studio.ordinal()) * Time.values().length + time.ordinal();
+    }
+
+    /**
+     * Gets the mapped segment holding a record, mapping new segments at the end of the file as needed.
+     *
+     * @param record The number of the record.
+     * @return The segment.
+     */
+    private MappedByteBuffer segmentOf(int record) {
+        int segment = record / (RECORDS_PER_PAGE * PAGES_PER_SEGMENT);
+        try {
+            while (segments.size() <= segment) {
+                long position = PAGE_SIZE + (long) segments.size() * PAGES_PER_SEGMENT * PAGE_SIZE;
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, (long) PAGES_PER_SEGMENT * PAGE_SIZE));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map the attendance log", e);
+        }
+        return segments.get(segment);
+    }
+
+    /**
+     * Finds the position of a record within its segment.
+     *
+     * @param record The number of the record.
+     * @return The byte offset of the record in its segment.
+     */
+    private static int offsetOf(int record) {
+        return record % (RECORDS_PER_PAGE * PAGES_PER_SEGMENT) * RECORD_SIZE;
+    }
+
+    /**
+     * The pages holding records of one member, in page order.
+     */
+    private static class Pages {
+        /** The pages, of which the first {@link #count} are used. **/
+        private int[] pages = new int[2];
+
+        /** The number of pages listed. **/
+        private int count;
+
+        /**
+         * Lists a page, unless it is the last page listed.
+         *
+         * @param page The page of a new record of the member.
+         */
+        private void add(int page) {
+            if (count > 0 && pages[count - 1] == page) {
+                return;
+            }
+            if (count == pages.length) {
+                pages = Arrays.copyOf(pages, count * 2);
+            }
+            pages[count++] = page;
+        }
+    }
+
+    /**
+     * A record of the attendance log.
+     */
+    public static class Entry {
+        /** The key of the member, or of the member bringing the guest. **/
+        private final long memberKey;
+
+        /** The time, in milliseconds since the epoch, to the second. **/
+        private final long timestamp;
+
+        /** The class offered. **/
+        private final Offer offer;
+
+        /** The instructor of the class. **/
+        private final Instructor instructor;
+
+        /** The studio of the class. **/
+        private final Location studio;
+
+        /** The time of the class. **/
+        private final Time time;
+
+        /** Whether the record is for a guest. **/
+        private final boolean guest;
+
+        /** Whether the record takes back an earlier registration. **/
+        private final boolean removed;
+
+        /**
+         * Constructs a record.
+         *
+         * @param memberKey  The key of the member, or of the member bringing the guest.
+         * @param timestamp  The time, in milliseconds since the epoch.
+         * @param offer      The class offered.
+         * @param instructor The instructor of the class.
+         * @param studio     The studio of the class.
+         * @param time       The time of the class.
+         * @param guest      Whether the record is for a guest.
+         * @param removed    Whether the record takes back an earlier registration.
+         */
+        private Entry(long memberKey, long timestamp, Offer offer, Instructor instructor, Location studio, Time time,
+                      boolean guest, boolean removed) {
+            this.memberKey = memberKey;
+            this.timestamp = timestamp;
+            this.offer = offer;
+            this.instructor = instructor;
+            this.studio = studio;
+            this.time = time;
+            this.guest = guest;
+            this.removed = removed;
+        }
+
+        /**
+         * Retrieves the key of the member, or of the member bringing the guest, as computed by
+         * {@link #keyOf(Profile)}.
+         *
+         * @return The member key.
+         */
+        public long getMemberKey() {
+            return memberKey;
+        }
+
+        /**
+         * Retrieves the time of the record.
+         *
+         * @return The time, in milliseconds since the epoch, to the second.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Retrieves the class offered.
+         *
+         * @return The class offered.
+         */
+        public Offer getOffer() {
+            return offer;
+        }
+
+        /**
+         * Retrieves the instructor of the class.
+         *
+         * @return The instructor.
+         */
+        public Instructor getInstructor() {
+            return instructor;
+        }
+
+        /**
+         * Retrieves the studio of the class.
+         *
+         * @return The studio.
+         */
+        public Location getStudio() {
+            return studio;
+        }
+
+        /**
+         * Retrieves the time of the class.
+         *
+         * @return The time of the class.
+         */
+        public Time getTime() {
+            return time;
+        }
+
+        /**
+         * Checks if the record is for a guest.
+         *
+         * @return true for a guest, false for the member.
+         */
+        public boolean isGuest() {
+            return guest;
+        }
+
+        /**
+         * Checks if the record takes back an earlier registration.
+         *
+         * @return true for a removal, false for a registration.
+         */
+        public boolean isRemoved() {
+            return removed;
+        }
+    }
+}
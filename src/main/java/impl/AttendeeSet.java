@@ -0,0 +1,133 @@
+package impl;
+
+/**
+ * A compact set of member IDs, used as the roster of a fitness class. IDs are kept in a sorted int array,
+ * so each attendee costs four bytes and a membership test is a binary search over the roster.
+ * IDs are the numeric member IDs assigned by {@link MemberList}, which also resolves them back to members.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class AttendeeSet {
+    /**
+     * Initial capacity of the ID array
+     **/
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Sorted array of member IDs
+     **/
+    private int[] ids;
+
+    /**
+     * The number of IDs currently in the set
+     **/
+    private int size;
+
+    /**
+     * Constructs an empty AttendeeSet with initial capacity.
+     */
+    public AttendeeSet() {
+        ids = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of attendees in the set.
+     *
+     * @return the number of IDs in the set.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the ID stored at a position of the set, in ascending ID order.
+     *
+     * @param index the position of the ID, from 0 to {@link #getSize()} - 1.
+     * @return the member ID at the position.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return ids[index];
+    }
+
+    /**
+     * Checks if the ID is in the set.
+     *
+     * @param id the member ID to look for.
+     * @return true if the ID is present, false otherwise.
+     */
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Adds an ID to the set, keeping the IDs sorted. The array capacity is doubled if necessary.
+     *
+     * @param id the member ID to add.
+     * @return true if the ID was added, false if it was already present.
+     */
+    public boolean add(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -(index + 1);
+        if (size == ids.length) {
+            grow();
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes an ID from the set.
+     *
+     * @param id the member ID to remove.
+     * @return true if the ID was removed, false if it was not present.
+     */
+    public boolean remove(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Searches the sorted array for an ID.
+     *
+     * @param id the member ID to look for.
+     * @return the index of the ID if found; otherwise (-(insertion point) - 1).
+     */
+    private int indexOf(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else if (ids[mid] > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Doubles the capacity of the ID array.
+     */
+    private void grow() {
+        int[] temp = new int[ids.length * 2];
+        System.arraycopy(ids, 0, temp, 0, size);
+        ids = temp;
+    }
+}
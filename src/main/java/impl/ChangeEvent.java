@@ -0,0 +1,112 @@
+package impl;
+
+/**
+ * A change to a {@link MemberList} or a {@link Schedule}, delivered in batches to the subscribers of their
+ * {@link ChangePublisher}. Events are immutable. Each publisher numbers its events consecutively, so a subscriber
+ * that finds a gap in the sequence numbers knows that events were dropped because it fell behind.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class ChangeEvent {
+    /**
+     * The kinds of changes.
+     */
+    public enum Type {
+        /** A member was added to the member list. */
+        MEMBER_ADDED,
+        /** A member was removed from the member list. */
+        MEMBER_REMOVED,
+        /** A member used one of their guest passes. */
+        GUEST_PASS_USED,
+        /** A guest pass was given back to a member whose guest left a class. */
+        GUEST_PASS_RETURNED,
+        /** A class was added to the schedule. */
+        CLASS_ADDED,
+        /** A member was registered for a class, directly or by promotion from the waitlist. */
+        MEMBER_REGISTERED,
+        /** A member was removed from a class. */
+        MEMBER_UNREGISTERED,
+        /** A guest of a member was added to a class. */
+        GUEST_ADDED,
+        /** A guest of a member was removed from a class. */
+        GUEST_REMOVED
+    }
+
+    /**
+     * Member ID or class index of an event that does not concern a member or a class
+     **/
+    public static final int NONE = -1;
+
+    /** The position of the event in the stream of its publisher. */
+    private final long sequence;
+
+    /** The kind of change. */
+    private final Type type;
+
+    /** The ID of the member concerned, or NONE. */
+    private final int memberId;
+
+    /** The position in the schedule of the class concerned, or NONE. */
+    private final int classIndex;
+
+    /**
+     * Constructs a change event.
+     *
+     * @param sequence   the position of the event in the stream of its publisher.
+     * @param type       the kind of change.
+     * @param memberId   the ID of the member concerned, or {@link #NONE}.
+     * @param classIndex the position in the schedule of the class concerned, or {@link #NONE}.
+     */
+    public ChangeEvent(long sequence, Type type, int memberId, int classIndex) {
+        this.sequence = sequence;
+        this.type = type;
+        this.memberId = memberId;
+        this.classIndex = classIndex;
+    }
+
+    /**
+     * Retrieves the position of the event in the stream of its publisher, counting from 0.
+     *
+     * @return the sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retrieves the kind of change.
+     *
+     * @return the event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the ID of the member concerned; for a guest, the member who brought the guest.
+     *
+     * @return the member ID, or {@link #NONE} for a class added.
+     */
+    public int getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Retrieves the position in the schedule of the class concerned.
+     *
+     * @return the class index, or {@link #NONE} for a change to the member list only.
+     */
+    public int getClassIndex() {
+        return classIndex;
+    }
+
+    /**
+     * Describes the event, for logs.
+     *
+     * @return the sequence number, type, member ID and class index.
+     */
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " member=" + memberId + " class=" + classIndex;
+    }
+}
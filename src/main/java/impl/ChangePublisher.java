@@ -0,0 +1,223 @@
+package impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the changes to a {@link MemberList} or a {@link Schedule} as a {@link Flow} stream of event batches.
+ * Writers append events to the current batch, which is handed to the subscribers when it is full, every
+ * {@link #FLUSH_INTERVAL_MILLIS} milliseconds, or on {@link #flush()}.
+ *
+ * <p>Every subscriber has its own bounded buffer of batches. Handing a batch over never blocks the writer: if
+ * a subscriber's buffer is full, the batch is dropped for that subscriber only and counted in
+ * {@link #getDroppedCount()}, and the subscriber sees a gap in the event sequence numbers. A slow subscriber
+ * therefore loses events instead of stalling registrations. When there are no subscribers, publishing an event
+ * costs one check.</p>
+ *
+ * <p>The periodic flush runs only while there are subscribers: it stops itself once the last subscriber has
+ * cancelled, so a member list or schedule that is never closed is not kept reachable by the flushing thread.
+ * The next subscriber starts it again.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class ChangePublisher implements Flow.Publisher<List<ChangeEvent>>, AutoCloseable {
+    /**
+     * Number of events in a full batch
+     **/
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Number of batches buffered for each subscriber
+     **/
+    public static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+    /**
+     * Interval at which a partly filled batch is handed to the subscribers
+     **/
+    public static final long FLUSH_INTERVAL_MILLIS = 10;
+
+    /**
+     * Delivers batches to subscribers, one virtual thread per subscriber with batches pending
+     **/
+    private static final Executor DELIVERY = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Flushes the batches of every publisher with subscribers at a fixed interval. A cancelled flush is removed
+     * from the queue at once, so it does not keep its publisher reachable.
+     **/
+    private static final ScheduledThreadPoolExecutor FLUSHER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "change-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        FLUSHER.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Holds the subscribers and their buffers
+     **/
+    private final SubmissionPublisher<List<ChangeEvent>> publisher;
+
+    /**
+     * Number of events in a full batch
+     **/
+    private final int batchSize;
+
+    /**
+     * The events not yet handed to the subscribers, guarded by this publisher
+     **/
+    private List<ChangeEvent> batch;
+
+    /**
+     * The sequence number of the next event, guarded by this publisher
+     **/
+    private long nextSequence;
+
+    /**
+     * Number of events dropped for subscribers whose buffer was full
+     **/
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The periodic flush, started with the first subscriber and stopped when the last one cancels, or null
+     * while it is not running; guarded by this publisher
+     **/
+    private ScheduledFuture<?> periodicFlush;
+
+    /**
+     * Constructs a publisher with the default batch size and buffer capacity.
+     */
+    public ChangePublisher() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Constructs a publisher.
+     *
+     * @param batchSize      Number of events in a full batch.
+     * @param bufferCapacity Number of batches buffered for each subscriber, rounded up to a power of two.
+     */
+    public ChangePublisher(int batchSize, int bufferCapacity) {
+        this.publisher = new SubmissionPublisher<>(DELIVERY, bufferCapacity);
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Adds a subscriber, which receives the batches published from now on, and starts the periodic flush if it
+     * is not running.
+     *
+     * @param subscriber The subscriber.
+     */
+    @Override
+    public synchronized void subscribe(Flow.Subscriber<? super List<ChangeEvent>> subscriber) {
+        if (periodicFlush == null && !publisher.isClosed()) {
+            periodicFlush = FLUSHER.scheduleWithFixedDelay(this::flushPeriodically, FLUSH_INTERVAL_MILLIS,
+                    FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Checks whether any subscriber receives the events.
+     *
+     * @return true if there is at least one subscriber.
+     */
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * Appends an event to the current batch, handing the batch to the subscribers if it is full.
+     * Does nothing if there are no subscribers.
+     *
+     * @param type       The kind of change.
+     * @param memberId   The ID of the member concerned, or {@link ChangeEvent#NONE}.
+     * @param classIndex The position in the schedule of the class concerned, or {@link ChangeEvent#NONE}.
+     */
+    public void publish(ChangeEvent.Type type, int memberId, int classIndex) {
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        synchronized (this) {
+            batch.add(new ChangeEvent(nextSequence++, type, memberId, classIndex));
+            if (batch.size() >= batchSize) {
+                handOver();
+            }
+        }
+    }
+
+    /**
+     * Hands the events of the current batch to the subscribers now.
+     */
+    public synchronized void flush() {
+        if (!batch.isEmpty()) {
+            handOver();
+        }
+    }
+
+    /**
+     * Hands the events of the current batch to the subscribers, or stops the periodic flush if every subscriber
+     * has cancelled. Events appended after the last subscriber cancelled are discarded.
+     */
+    private synchronized void flushPeriodically() {
+        if (publisher.hasSubscribers()) {
+            flush();
+            return;
+        }
+        batch.clear();
+        if (periodicFlush != null) {
+            periodicFlush.cancel(false);
+            periodicFlush = null;
+        }
+    }
+
+    /**
+     * Hands the current batch to every subscriber with room in its buffer and starts a new batch. Batches are
+     * handed over while holding the lock of the publisher, so every subscriber receives them in order.
+     */
+    private void handOver() {
+        List<ChangeEvent> full = List.copyOf(batch);
+        batch.clear();
+        if (!publisher.isClosed()) {
+            publisher.offer(full, (subscriber, items) -> {
+                dropped.addAndGet(items.size());
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Retrieves the number of events dropped for subscribers that fell behind, summed over the subscribers.
+     *
+     * @return The number of events dropped.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Hands over the last batch and completes the stream of every subscriber.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            flush();
+            if (periodicFlush != null) {
+                periodicFlush.cancel(false);
+                periodicFlush = null;
+            }
+        }
+        publisher.close();
+    }
+}
@@ -0,0 +1,25 @@
+package impl;
+
+/**
+ * The outcome of checking a member in to a class with {@link StudioManager#checkIn(int, int)}.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public enum CheckInResult {
+    /** The member was registered for the class. */
+    CHECKED_IN,
+    /** The class is full, so the member joined its waitlist. */
+    WAITLISTED,
+    /** The member was already registered for the class. */
+    ALREADY_REGISTERED,
+    /** The member is in another class held at the same time. */
+    TIME_CONFLICT,
+    /** The membership has expired. */
+    MEMBERSHIP_EXPIRED,
+    /** The member is a Basic member and the class is not at their home studio. */
+    WRONG_STUDIO,
+    /** No member has the ID. */
+    MEMBER_NOT_FOUND,
+    /** No class is at the position in the schedule. */
+    CLASS_NOT_FOUND
+}
@@ -0,0 +1,138 @@
+package impl;
+
+/**
+ * A growable list of fitness classes, used by a member to index the classes they are registered for,
+ * bring guests to, or wait for. Classes are kept in insertion order and the capacity doubles when full,
+ * so there is no limit on the number of classes in the list.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class ClassList {
+    /**
+     * Initial capacity of the class array
+     **/
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Value indicating a class was not found
+     **/
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * Array to store fitness class references
+     **/
+    private FitnessClass[] classes;
+
+    /**
+     * The number of classes currently in the list
+     **/
+    private int size;
+
+    /**
+     * Constructs an empty ClassList with initial capacity.
+     */
+    public ClassList() {
+        classes = new FitnessClass[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of classes in the list.
+     *
+     * @return the number of classes in the list.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the class stored at a position of the list.
+     *
+     * @param index the position of the class, from 0 to {@link #getSize()} - 1.
+     * @return the fitness class at the position.
+     */
+    public FitnessClass get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return classes[index];
+    }
+
+    /**
+     * Checks if the class is in the list. Classes are compared by reference.
+     *
+     * @param fitnessClass the class to look for.
+     * @return true if the class is present, false otherwise.
+     */
+    public boolean contains(FitnessClass fitnessClass) {
+        return find(fitnessClass) != NOT_FOUND;
+    }
+
+    /**
+     * Adds a class to the end of the list if not already present.
+     *
+     * @param fitnessClass the class to add.
+     * @return true if the class was added, false if it was already present.
+     */
+    public boolean add(FitnessClass fitnessClass) {
+        if (find(fitnessClass) != NOT_FOUND) {
+            return false;
+        }
+        if (size == classes.length) {
+            grow();
+        }
+        classes[size++] = fitnessClass;
+        return true;
+    }
+
+    /**
+     * Removes a class from the list, keeping the order of the remaining classes.
+     *
+     * @param fitnessClass the class to remove.
+     * @return true if the class was removed, false if it was not present.
+     */
+    public boolean remove(FitnessClass fitnessClass) {
+        int index = find(fitnessClass);
+        if (index == NOT_FOUND) {
+            return false;
+        }
+        System.arraycopy(classes, index + 1, classes, index, size - index - 1);
+        classes[--size] = null;
+        return true;
+    }
+
+    /**
+     * Copies the classes in the list into a new array sized to the list.
+     *
+     * @return an array of the classes in the list.
+     */
+    public FitnessClass[] toArray() {
+        FitnessClass[] copy = new FitnessClass[size];
+        System.arraycopy(classes, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Searches for a class in the list.
+     *
+     * @param fitnessClass the class to look for.
+     * @return the index of the class if found, -1 otherwise.
+     */
+    private int find(FitnessClass fitnessClass) {
+        for (int i = 0; i < size; i++) {
+            if (classes[i] == fitnessClass) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Doubles the capacity of the class array.
+     */
+    private void grow() {
+        FitnessClass[] temp = new FitnessClass[classes.length * 2];
+        System.arraycopy(classes, 0, temp, 0, size);
+        classes = temp;
+    }
+}
@@ -0,0 +1,388 @@
+package impl;
+
+import data.Date;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+
+/**
+ * A parsed line of a batch command file, as processed by {@link StudioManager}.
+ * Parsing also performs every check that does not depend on the member database or schedule, such as
+ * token counts, date characters, date validity for new members, and enum names. A line that fails those
+ * checks is parsed into a command carrying the error message to print instead of being applied.
+ *
+ * <p>Supported commands, one per line:</p>
+ * <ul>
+ *     <li>{@code AB|AF|AP fname lname dob studio} - add a Basic, Family, or Premium member.</li>
+ *     <li>{@code C fname lname dob} - cancel a membership.</li>
+ *     <li>{@code R|U class instructor studio fname lname dob} - register or unregister a member for a class.</li>
+ *     <li>{@code RG|UG class instructor studio fname lname dob} - register or unregister a guest of a member.</li>
+ *     <li>{@code Q} - stop processing.</li>
+ * </ul>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class Command {
+    /**
+     * The kinds of batch commands.
+     */
+    public enum Type {
+        /** Add a member. */
+        ADD_MEMBER,
+        /** Cancel a membership. */
+        CANCEL,
+        /** Register a member for a class. */
+        REGISTER,
+        /** Unregister a member from a class. */
+        UNREGISTER,
+        /** Register a guest of a member for a class. */
+        REGISTER_GUEST,
+        /** Unregister a guest of a member from a class. */
+        UNREGISTER_GUEST,
+        /** Stop processing. */
+        QUIT,
+        /** A line that could not be parsed; only carries an error message. */
+        INVALID
+    }
+
+    /**
+     * Number of guest passes given to a new Family member added by a batch command
+     **/
+    private static final int FAMILY_GUEST_PASSES = 1;
+
+    /**
+     * Number of guest passes given to a new Premium member added by a batch command
+     **/
+    private static final int PREMIUM_GUEST_PASSES = 3;
+
+    /**
+     * Number of tokens of an add member command
+     **/
+    private static final int ADD_TOKENS = 5;
+
+    /**
+     * Number of tokens of a cancel command
+     **/
+    private static final int CANCEL_TOKENS = 4;
+
+    /**
+     * Number of tokens of a class command
+     **/
+    private static final int CLASS_TOKENS = 7;
+
+    /** The kind of command. */
+    private final Type type;
+
+    /** The membership type of a new member: Basic, Family, or Premium. */
+    private String memberType;
+
+    /** The profile of the member the command applies to. */
+    private Profile profile;
+
+    /** The home studio of a new member, or the studio of the class. */
+    private Location location;
+
+    /** The class offered, for class commands. */
+    private Offer offer;
+
+    /** The instructor of the class, for class commands. */
+    private Instructor instructor;
+
+    /** The number of guest passes of a new member. */
+    private int guestPasses;
+
+    /** The message to print for a line that failed parsing. */
+    private String error;
+
+    /**
+     * Constructs a command of the given type. Fields are filled in by {@link #parse(String)}.
+     *
+     * @param type the kind of command.
+     */
+    private Command(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates a command for a line that failed parsing.
+     *
+     * @param error the message to print for the line.
+     * @return an invalid command carrying the message.
+     */
+    private static Command invalid(String error) {
+        Command command = new Command(Type.INVALID);
+        command.error = error;
+        return command;
+    }
+
+    /**
+     * Parses one line of a batch command file.
+     *
+     * @param line the line to parse.
+     * @return the parsed command, or null if the line is blank.
+     */
+    public static Command parse(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts[0].isEmpty()) {
+            return null;
+        }
+        return switch (parts[0]) {
+            case "AB" -> parseAdd(parts, "Basic", 0);
+            case "AF" -> parseAdd(parts, "Family", FAMILY_GUEST_PASSES);
+            case "AP" -> parseAdd(parts, "Premium", PREMIUM_GUEST_PASSES);
+            case "C" -> parseCancel(parts);
+            case "R" -> parseClassCommand(parts, Type.REGISTER);
+            case "U" -> parseClassCommand(parts, Type.UNREGISTER);
+            case "RG" -> parseClassCommand(parts, Type.REGISTER_GUEST);
+            case "UG" -> parseClassCommand(parts, Type.UNREGISTER_GUEST);
+            case "Q" -> new Command(Type.QUIT);
+            default -> invalid(parts[0] + " is an invalid command!");
+        };
+    }
+
+    /**
+     * Creates a register or unregister command for a member or guest from separate fields, such as the fields
+     * of a kiosk request, with the same validation and messages as a command line.
+     *
+     * @param type       REGISTER, UNREGISTER, REGISTER_GUEST or UNREGISTER_GUEST.
+     * @param className  the class name.
+     * @param instructor the instructor name.
+     * @param studio     the studio name.
+     * @param firstName  the first name of the member.
+     * @param lastName   the last name of the member.
+     * @param dob        the date of birth of the member, in the format mm/dd/yyyy.
+     * @return the parsed command, invalid if a field is missing or not recognized.
+     */
+    public static Command classCommand(Type type, String className, String instructor, String studio,
+                                       String firstName, String lastName, String dob) {
+        String[] parts = {type.name(), className, instructor, studio, firstName, lastName, dob};
+        for (String part : parts) {
+            if (part == null || part.isBlank()) {
+                return invalid("Missing data tokens.");
+            }
+        }
+        return parseClassCommand(parts, type);
+    }
+
+    /**
+     * Parses an add member command and validates the date of birth and home studio.
+     *
+     * @param parts       the tokens of the line.
+     * @param memberType  the membership type to add.
+     * @param guestPasses the number of guest passes of the new member.
+     * @return the parsed command.
+     */
+    private static Command parseAdd(String[] parts, String memberType, int guestPasses) {
+        if (parts.length < ADD_TOKENS) {
+            return invalid("Missing data tokens.");
+        }
+        Date dob = parseDate(parts[3]);
+        if (dob == null) {
+            return invalid("The date contains characters.");
+        }
+        String dobError = StudioManager.validateDob(dob, parts[3]);
+        if (dobError != null) {
+            return invalid(dobError);
+        }
+        Location location = parseLocation(parts[4]);
+        if (location == null) {
+            return invalid(parts[4] + ": invalid studio location!");
+        }
+        Command command = new Command(Type.ADD_MEMBER);
+        command.memberType = memberType;
+        command.profile = new Profile(parts[1], parts[2], dob);
+        command.location = location;
+        command.guestPasses = guestPasses;
+        return command;
+    }
+
+    /**
+     * Parses a cancel command.
+     *
+     * @param parts the tokens of the line.
+     * @return the parsed command.
+     */
+    private static Command parseCancel(String[] parts) {
+        if (parts.length < CANCEL_TOKENS) {
+            return invalid("Missing data tokens.");
+        }
+        Date dob = parseDate(parts[3]);
+        if (dob == null) {
+            return invalid("The date contains characters.");
+        }
+        Command command = new Command(Type.CANCEL);
+        command.profile = new Profile(parts[1], parts[2], dob);
+        return command;
+    }
+
+    /**
+     * Parses a register or unregister command for a member or guest, validating the class, instructor, and studio names.
+     *
+     * @param parts the tokens of the line.
+     * @param type  the kind of class command.
+     * @return the parsed command.
+     */
+    private static Command parseClassCommand(String[] parts, Type type) {
+        if (parts.length < CLASS_TOKENS) {
+            return invalid("Missing data tokens.");
+        }
+        Offer offer = parseOffer(parts[1]);
+        if (offer == null) {
+            return invalid(parts[1] + " - class name does not exist.");
+        }
+        Instructor instructor = parseInstructor(parts[2]);
+        if (instructor == null) {
+            return invalid(parts[2] + " - instructor does not exist.");
+        }
+        Location location = parseLocation(parts[3]);
+        if (location == null) {
+            return invalid(parts[3] + " - invalid studio location.");
+        }
+        Date dob = parseDate(parts[6]);
+        if (dob == null) {
+            return invalid("The date contains characters.");
+        }
+        Command command = new Command(type);
+        command.offer = offer;
+        command.instructor = instructor;
+        command.location = location;
+        command.profile = new Profile(parts[4], parts[5], dob);
+        return command;
+    }
+
+    /**
+     * Parses a date in the format mm/dd/yyyy.
+     *
+     * @param token the date token.
+     * @return the date, or null if the token is not three numbers separated by slashes.
+     */
+    private static Date parseDate(String token) {
+        try {
+            String[] dateParts = token.split("/");
+            if (dateParts.length != 3) {
+                return null;
+            }
+            return new Date(Integer.parseInt(dateParts[0]), Integer.parseInt(dateParts[1]), Integer.parseInt(dateParts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Looks up a studio location by name, ignoring case.
+     *
+     * @param name the studio name.
+     * @return the location, or null if no studio has the name.
+     */
+    private static Location parseLocation(String name) {
+        for (Location location : Location.values()) {
+            if (location.name().equalsIgnoreCase(name)) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a class offer by name, ignoring case.
+     *
+     * @param name the class name.
+     * @return the offer, or null if no class has the name.
+     */
+    private static Offer parseOffer(String name) {
+        for (Offer offer : Offer.values()) {
+            if (offer.getClassName().equalsIgnoreCase(name)) {
+                return offer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up an instructor by name, ignoring case.
+     *
+     * @param name the instructor name.
+     * @return the instructor, or null if no instructor has the name.
+     */
+    private static Instructor parseInstructor(String name) {
+        for (Instructor instructor : Instructor.values()) {
+            if (instructor.getName().equalsIgnoreCase(name)) {
+                return instructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the kind of command.
+     *
+     * @return the command type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the membership type of a new member.
+     *
+     * @return Basic, Family, or Premium.
+     */
+    public String getMemberType() {
+        return memberType;
+    }
+
+    /**
+     * Retrieves the profile of the member the command applies to.
+     *
+     * @return the member profile.
+     */
+    public Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Retrieves the home studio of a new member, or the studio of the class.
+     *
+     * @return the location.
+     */
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Retrieves the class offered, for class commands.
+     *
+     * @return the offer.
+     */
+    public Offer getOffer() {
+        return offer;
+    }
+
+    /**
+     * Retrieves the instructor of the class, for class commands.
+     *
+     * @return the instructor.
+     */
+    public Instructor getInstructor() {
+        return instructor;
+    }
+
+    /**
+     * Retrieves the number of guest passes of a new member.
+     *
+     * @return the number of guest passes.
+     */
+    public int getGuestPasses() {
+        return guestPasses;
+    }
+
+    /**
+     * Retrieves the message to print for a line that failed parsing.
+     *
+     * @return the error message, or null for a valid command.
+     */
+    public String getError() {
+        return error;
+    }
+}
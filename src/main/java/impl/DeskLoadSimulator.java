@@ -0,0 +1,467 @@
+package impl;
+
+import data.Family;
+import data.Member;
+import data.Premium;
+import data.Profile;
+import enums.Location;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless load test of the shared member list and schedule. It loads generated members and classes into a
+ * {@link StudioManager}, then runs concurrent desk sessions, each on its own thread, which repeatedly pick an
+ * {@link Action} by its weight in the mix and apply it to a random member and class, without think time. It
+ * reports the throughput, the latency percentiles and the errors of every action, errors being exceptions thrown
+ * by the engine; refusals such as an expired membership are normal outcomes.
+ *
+ * <p>A cancelled member rejoins at once with the same plan and home studio, so the number of members stays the
+ * same; only the cancellation is timed. Guest check-ins and check-outs, and registrations and unregistrations,
+ * balance each other at equal weights. Reports sort a copy of the member list with a quadratic sort outside the
+ * lock of the engine, so they compete with the other sessions for processors but hold none of them up.</p>
+ *
+ * <p>Usage: {@code DeskLoadSimulator [--sessions=N] [--members=N] [--classes=N] [--seconds=N] [--warmup=N]
+ * [--seed=N] [--mix=lookup,register,unregister,guestIn,guestOut,cancel,report]}.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class DeskLoadSimulator {
+    /**
+     * The actions of a desk session.
+     */
+    public enum Action {
+        /** Look a member up by profile under the read lock. */
+        LOOKUP,
+        /** Register a member for a class. */
+        REGISTER,
+        /** Unregister a member from a class. */
+        UNREGISTER,
+        /** Register a guest of a member for a class. */
+        GUEST_CHECK_IN,
+        /** Unregister a guest of a member from a class. */
+        GUEST_CHECK_OUT,
+        /** Cancel a membership, after which the member rejoins. */
+        CANCEL,
+        /** Print one of the member reports. */
+        REPORT
+    }
+
+    /**
+     * Weights of the actions in the default mix, in the order of {@link Action#values()}
+     **/
+    public static final int[] DEFAULT_MIX = {50, 15, 15, 8, 8, 3, 1};
+
+    /**
+     * Number of concurrent sessions when none is given
+     **/
+    private static final int DEFAULT_SESSIONS = 8;
+
+    /**
+     * Number of members and classes when none is given
+     **/
+    private static final int DEFAULT_MEMBERS = 2000, DEFAULT_CLASSES = 200;
+
+    /**
+     * Seconds of warmup and of measurement when none is given
+     **/
+    private static final int DEFAULT_WARMUP_SECONDS = 2, DEFAULT_SECONDS = 10;
+
+    /**
+     * Guest passes of a Premium member; a Family member has one
+     **/
+    private static final int PREMIUM_GUEST_PASSES = 3;
+
+    /** The engine under test. */
+    private final StudioManager studioManager;
+
+    /** The profiles of the members, by member number. */
+    private final Profile[] profiles;
+
+    /** The plans of the members, as named by {@link StudioManager#addMember}, by member number. */
+    private final String[] plans;
+
+    /** The home studios of the members, by member number. */
+    private final Location[] homes;
+
+    /** The classes of the schedule, by position. */
+    private final FitnessClass[] classes;
+
+    /** The seed of the sessions. */
+    private final long seed;
+
+    /** The weights of the actions. */
+    private WorkloadGenerator.Weights mix = new WorkloadGenerator.Weights(DEFAULT_MIX);
+
+    /**
+     * The latencies and errors of every action, measured by one session or merged from all of them.
+     */
+    public static class Result {
+        /** The latencies in nanoseconds of every action, the first {@code counts[a]} of {@code latencies[a]}. */
+        private final long[][] latencies = new long[Action.values().length][];
+
+        /** The number of calls of every action. */
+        private final int[] counts = new int[Action.values().length];
+
+        /** The number of calls of every action that threw an exception. */
+        private final long[] errors = new long[Action.values().length];
+
+        /** The length of the measurement in seconds. */
+        private double seconds;
+
+        /**
+         * Constructs an empty result.
+         */
+        Result() {
+            for (int a = 0; a < latencies.length; a++) {
+                latencies[a] = new long[1024];
+            }
+        }
+
+        /**
+         * Records a call.
+         *
+         * @param action The action.
+         * @param nanos  The latency in nanoseconds.
+         * @param failed Whether the call threw an exception.
+         */
+        void record(Action action, long nanos, boolean failed) {
+            int a = action.ordinal();
+            if (counts[a] == latencies[a].length) {
+                latencies[a] = Arrays.copyOf(latencies[a], latencies[a].length * 2);
+            }
+            latencies[a][counts[a]++] = nanos;
+            if (failed) {
+                errors[a]++;
+            }
+        }
+
+        /**
+         * Merges the results of the sessions and sorts the latencies.
+         *
+         * @param sessions The results of the sessions.
+         * @param seconds  The length of the measurement in seconds.
+         * @return The merged result.
+         */
+        static Result merge(List<Result> sessions, double seconds) {
+            Result merged = new Result();
+            merged.seconds = seconds;
+            for (int a = 0; a < merged.latencies.length; a++) {
+                int total = 0;
+                for (Result session : sessions) {
+                    total += session.counts[a];
+                }
+                long[] all = new long[total];
+                int n = 0;
+                for (Result session : sessions) {
+                    System.arraycopy(session.latencies[a], 0, all, n, session.counts[a]);
+                    n += session.counts[a];
+                    merged.errors[a] += session.errors[a];
+                }
+                Arrays.sort(all);
+                merged.latencies[a] = all;
+                merged.counts[a] = total;
+            }
+            return merged;
+        }
+
+        /**
+         * Retrieves the number of calls of an action.
+         *
+         * @param action The action.
+         * @return The number of calls measured.
+         */
+        public int getCount(Action action) {
+            return counts[action.ordinal()];
+        }
+
+        /**
+         * Retrieves the number of calls of an action that threw an exception.
+         *
+         * @param action The action.
+         * @return The number of errors.
+         */
+        public long getErrors(Action action) {
+            return errors[action.ordinal()];
+        }
+
+        /**
+         * Retrieves the number of calls of an action per second.
+         *
+         * @param action The action.
+         * @return The throughput.
+         */
+        public double getThroughput(Action action) {
+            return counts[action.ordinal()] / seconds;
+        }
+
+        /**
+         * Retrieves a percentile of the latencies of an action, from the merged and sorted latencies.
+         *
+         * @param action   The action.
+         * @param fraction The fraction of the calls at or below the percentile.
+         * @return The latency in microseconds, or 0 if the action was not called.
+         */
+        public double getPercentileMicros(Action action, double fraction) {
+            int a = action.ordinal();
+            if (counts[a] == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * counts[a]) - 1;
+            return latencies[a][Math.max(0, rank)] / 1000.0;
+        }
+
+        /**
+         * Prints a table of the throughput, latency percentiles and errors of every action, and the totals.
+         *
+         * @param out The destination.
+         */
+        public void print(PrintStream out) {
+            out.printf("%-16s %10s %10s %10s %10s %10s %8s%n", "action", "calls", "calls/s", "p50 us", "p99 us",
+                    "p999 us", "errors");
+            long calls = 0;
+            long failed = 0;
+            for (Action action : Action.values()) {
+                out.printf("%-16s %10d %10.0f %10.1f %10.1f %10.1f %8d%n", action.name().toLowerCase(),
+                        getCount(action), getThroughput(action), getPercentileMicros(action, 0.50),
+                        getPercentileMicros(action, 0.99), getPercentileMicros(action, 0.999), getErrors(action));
+                calls += getCount(action);
+                failed += getErrors(action);
+            }
+            out.printf("%-16s %10d %10.0f %43d%n", "total", calls, calls / seconds, failed);
+        }
+    }
+
+    /**
+     * Constructs a simulator over generated members and classes, loaded through the member list and schedule
+     * file parsers. Premium members get {@value #PREMIUM_GUEST_PASSES} guest passes so guests can be checked in.
+     *
+     * @param members The number of members.
+     * @param classes The number of classes.
+     * @param seed    The seed of the data and of the sessions.
+     */
+    public DeskLoadSimulator(int members, int classes, long seed) {
+        WorkloadGenerator generator = new WorkloadGenerator(seed);
+        MemberList memberList = new MemberList();
+        profiles = new Profile[members];
+        plans = new String[members];
+        homes = new Location[members];
+        for (int i = 0; i < members; i++) {
+            Member member = MemberList.parseMember(generator.memberLine(i));
+            if (member instanceof Premium premium) {
+                premium.setGuestPass(PREMIUM_GUEST_PASSES);
+            }
+            memberList.add(member);
+            profiles[i] = member.getProfile();
+            plans[i] = member instanceof Premium ? "Premium" : member instanceof Family ? "Family" : "Basic";
+            homes[i] = member.getHomeStudio();
+        }
+        Schedule schedule = new Schedule();
+        this.classes = new FitnessClass[classes];
+        for (int j = 0; j < classes; j++) {
+            this.classes[j] = Schedule.parseClass(generator.scheduleLine(j));
+            schedule.add(this.classes[j]);
+        }
+        this.studioManager = new StudioManager(memberList, schedule);
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the weights of the actions.
+     *
+     * @param weights One weight per action, in the order of {@link Action#values()}.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setMix(int... weights) {
+        if (weights.length != Action.values().length) {
+            throw new IllegalArgumentException("Expected " + Action.values().length + " weights");
+        }
+        mix = new WorkloadGenerator.Weights(weights);
+    }
+
+    /**
+     * Retrieves the engine under test.
+     *
+     * @return The studio manager.
+     */
+    public StudioManager getStudioManager() {
+        return studioManager;
+    }
+
+    /**
+     * Applies an action to a member and a class.
+     *
+     * @param action      The action.
+     * @param member      The member number.
+     * @param classNumber The position of the class.
+     * @param random      The source of the session's random choices.
+     * @return The outcome, so it is not optimized away.
+     */
+    private Object apply(Action action, int member, int classNumber, SplittableRandom random) {
+        Profile profile = profiles[member];
+        FitnessClass fitnessClass = classes[classNumber];
+        MemberList memberList = studioManager.getMemberList();
+        return switch (action) {
+            case LOOKUP -> studioManager.read(() -> memberList.retrieveMember(profile));
+            case REGISTER -> studioManager.registerMember(fitnessClass.getClassInfo(), fitnessClass.getInstructor(),
+                    fitnessClass.getStudio(), profile);
+            case UNREGISTER -> studioManager.unregisterMember(fitnessClass.getClassInfo(), fitnessClass.getInstructor(),
+                    fitnessClass.getStudio(), profile);
+            case GUEST_CHECK_IN -> studioManager.registerGuest(fitnessClass.getClassInfo(), fitnessClass.getInstructor(),
+                    fitnessClass.getStudio(), profile);
+            case GUEST_CHECK_OUT -> studioManager.unregisterGuest(fitnessClass.getClassInfo(),
+                    fitnessClass.getInstructor(), fitnessClass.getStudio(), profile);
+            case CANCEL -> studioManager.cancelMembership(profile);
+            case REPORT -> switch (random.nextInt(3)) {
+                case 0 -> studioManager.printByMember();
+                case 1 -> studioManager.printByCounty();
+                default -> studioManager.read(memberList::printFees);
+            };
+        };
+    }
+
+    /**
+     * Makes a cancelled member rejoin with the same plan and home studio.
+     *
+     * @param member The member number.
+     */
+    private void rejoin(int member) {
+        int guestPasses = switch (plans[member]) {
+            case "Premium" -> PREMIUM_GUEST_PASSES;
+            case "Family" -> 1;
+            default -> 0;
+        };
+        studioManager.addMember(plans[member], profiles[member], homes[member], guestPasses);
+    }
+
+    /**
+     * Runs the sessions: every session warms up, then all measure at once for the given time.
+     *
+     * @param sessions      The number of concurrent sessions.
+     * @param warmupMillis  The time each session runs before measuring.
+     * @param measureMillis The time the sessions measure.
+     * @return The merged result of the sessions.
+     * @throws InterruptedException if interrupted while waiting for the sessions.
+     */
+    public Result run(int sessions, long warmupMillis, long measureMillis) throws InterruptedException {
+        List<Result> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch warmedUp = new CountDownLatch(sessions);
+        CountDownLatch measuring = new CountDownLatch(1);
+        AtomicLong end = new AtomicLong();
+        for (int s = 0; s < sessions; s++) {
+            Result result = new Result();
+            SplittableRandom random = new SplittableRandom(seed + s);
+            results.add(result);
+            threads.add(new Thread(() -> session(random, result, warmupMillis, warmedUp, measuring, end), "desk-" + s));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        warmedUp.await();
+        long start = System.nanoTime();
+        end.set(start + measureMillis * 1_000_000);
+        measuring.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return Result.merge(results, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Runs one desk session: unrecorded actions for the warmup, then, once every session has warmed up,
+     * recorded actions until the end of the measurement.
+     *
+     * @param random       The source of the session's random choices.
+     * @param result       The result of the session.
+     * @param warmupMillis The warmup time.
+     * @param warmedUp     Counted down by every session at the end of its warmup.
+     * @param measuring    Released when the measurement starts.
+     * @param end          The end of the measurement, in {@link System#nanoTime()} time.
+     */
+    private void session(SplittableRandom random, Result result, long warmupMillis, CountDownLatch warmedUp,
+                         CountDownLatch measuring, AtomicLong end) {
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000;
+        while (System.nanoTime() < warmupEnd) {
+            step(random, null);
+        }
+        warmedUp.countDown();
+        try {
+            measuring.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+        long measureEnd = end.get();
+        while (System.nanoTime() < measureEnd) {
+            step(random, result);
+        }
+    }
+
+    /**
+     * Picks and applies one action, recording its latency if a result is given.
+     *
+     * @param random The source of the session's random choices.
+     * @param result The result to record into, or null during the warmup.
+     */
+    private void step(SplittableRandom random, Result result) {
+        Action action = Action.values()[mix.pick(random)];
+        int member = random.nextInt(profiles.length);
+        int classNumber = random.nextInt(classes.length);
+        boolean failed = false;
+        long start = System.nanoTime();
+        try {
+            apply(action, member, classNumber, random);
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        long nanos = System.nanoTime() - start;
+        if (action == Action.CANCEL) {
+            rejoin(member);
+        }
+        if (result != null) {
+            result.record(action, nanos, failed);
+        }
+    }
+
+    /**
+     * Runs the simulation and prints the results.
+     *
+     * @param args The options, as described above.
+     * @throws InterruptedException if interrupted while waiting for the sessions.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = DEFAULT_SESSIONS;
+        int members = DEFAULT_MEMBERS;
+        int classes = DEFAULT_CLASSES;
+        int seconds = DEFAULT_SECONDS;
+        int warmup = DEFAULT_WARMUP_SECONDS;
+        long seed = WorkloadGenerator.DEFAULT_SEED;
+        int[] weights = DEFAULT_MIX;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Invalid option " + arg);
+            }
+            switch (option[0]) {
+                case "--sessions" -> sessions = Integer.parseInt(option[1]);
+                case "--members" -> members = Integer.parseInt(option[1]);
+                case "--classes" -> classes = Integer.parseInt(option[1]);
+                case "--seconds" -> seconds = Integer.parseInt(option[1]);
+                case "--warmup" -> warmup = Integer.parseInt(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                case "--mix" -> weights = WorkloadGenerator.parseWeights(option[1]);
+                default -> throw new IllegalArgumentException("Invalid option " + arg);
+            }
+        }
+        DeskLoadSimulator simulator = new DeskLoadSimulator(members, classes, seed);
+        simulator.setMix(weights);
+        System.out.printf("%d sessions, %d members, %d classes, mix %s, %d s after %d s warmup%n", sessions, members,
+                classes, Arrays.toString(weights), seconds, warmup);
+        simulator.run(sessions, warmup * 1000L, seconds * 1000L).print(System.out);
+    }
+}
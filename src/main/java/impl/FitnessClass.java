@@ -1,5 +1,6 @@
 package impl;
 
+import data.Basic;
 import data.Member;
 import enums.Instructor;
 import enums.Location;
@@ -9,10 +10,20 @@ import enums.Time;
 /**
  * Represents a fitness class in the gym management system.
  * Each fitness class is associated with a specific class type, instructor, location, time, and lists of members and guests.
+ * A class may be limited in capacity, in which case members who cannot get a seat join a first-come, first-served
+ * waitlist and are promoted automatically when a member or guest leaves the class.
+ * All operations that change the roster are synchronized, so registrations and cancellations may arrive from several threads.
+ * Once the class is added to a {@link Schedule}, every roster change is reported to the listeners of the schedule.
  *
  * @author Sasanka Paththameistreege
  */
 public class FitnessClass {
+    /** Capacity of a class that has no limit on the number of attendees. */
+    public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+
+    /** Value returned by {@link #getWaitlistPosition(Member)} when the member is not on the waitlist. */
+    public static final int NOT_WAITLISTED = Waitlist.NOT_WAITLISTED;
+
     /** The type of fitness class being offered, such as Pilates, Spinning, or Cardio. */
     private Offer classInfo;
 
@@ -25,12 +36,23 @@ public class FitnessClass {
     /** The time slot when the fitness class takes place, including morning, afternoon, or evening sessions. */
     private Time time;
 
-    /** A list of members who have registered to attend the fitness class, tracking attendance and participation. */
-    private MemberList members;
+    /** The IDs of members who have registered to attend the fitness class, tracking attendance and participation. */
+    private final AttendeeSet members;
+
+    /** The number of guests each host member has brought to the class, often utilizing guest passes for access. */
+    private final GuestLedger guests;
 
-    /** A list of guests attending the class alongside members, often utilizing guest passes for access. */
-    private MemberList guests;
+    /** The maximum number of members and guests that can attend the class together. */
+    private final int capacity;
 
+    /** Members waiting for a seat once the class has reached its capacity, in order of arrival. */
+    private final Waitlist waitlist;
+
+    /** The schedule the class belongs to, notified of roster changes; null until the class is added to one. */
+    private Schedule schedule;
+
+    /** The position of the class in its schedule. */
+    private int scheduleIndex;
 
     /**
      * Constructs a FitnessClass with specified class information, instructor, location, and time.
@@ -41,16 +63,33 @@ public class FitnessClass {
      * @param time       Time slot of the class.
      */
     public FitnessClass(Offer classInfo, Instructor instructor, Location studio, Time time) {
+        this(classInfo, instructor, studio, time, UNLIMITED_CAPACITY);
+    }
+
+    /**
+     * Constructs a FitnessClass with specified class information, instructor, location, time, and capacity.
+     *
+     * @param classInfo  Specific type of class being offered.
+     * @param instructor Instructor leading the class.
+     * @param studio     Location where the class is held.
+     * @param time       Time slot of the class.
+     * @param capacity   Maximum number of members and guests attending the class together.
+     */
+    public FitnessClass(Offer classInfo, Instructor instructor, Location studio, Time time, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid class capacity");
+        }
         this.classInfo = classInfo;
         this.instructor = instructor;
         this.studio = studio;
         this.time = time;
-        this.members = new MemberList();
-        this.guests = new MemberList();
+        this.capacity = capacity;
+        this.members = new AttendeeSet();
+        this.guests = new GuestLedger();
+        this.waitlist = new Waitlist();
     }
 
 
-
     /**
      * Retrieves the type of fitness class offered.
      *
@@ -88,41 +127,105 @@ public class FitnessClass {
     }
 
     /**
-     * Retrieves the list of members registered for the fitness class.
+     * Retrieves the maximum number of members and guests that can attend the class together.
      *
-     * @return A MemberList containing the members attending the class.
+     * @return The capacity of the class, or {@link #UNLIMITED_CAPACITY}.
      */
-    public MemberList getMembers() {
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks if every seat in the class is taken by a member or a guest.
+     *
+     * @return true if the class has reached its capacity; false otherwise.
+     */
+    public synchronized boolean isFull() {
+        return members.getSize() + guests.getSize() >= capacity;
+    }
+
+    /**
+     * Retrieves the IDs of the members registered for the fitness class.
+     * The IDs are resolved to members through the {@link MemberList} the members were added to.
+     *
+     * @return An AttendeeSet containing the IDs of the members attending the class.
+     */
+    public AttendeeSet getMembers() {
         return members;
     }
 
     /**
-     * Retrieves the list of guests attending the fitness class.
+     * Retrieves the guest ledger of the fitness class, holding the number of guests per host member ID.
      *
-     * @return A MemberList containing the guests attending the class.
+     * @return A GuestLedger of the guests attending the class.
      */
-    public MemberList getGuests() {
+    public GuestLedger getGuests() {
         return guests;
     }
 
 
     /**
-     * Adds a guest to the fitness class.
+     * Adds a guest of the member to the fitness class, if there is a free seat.
      *
-     * @param member The guest member to add.
+     * @param member The member bringing the guest.
+     * @return true if the guest was added; false if the class is full.
      */
-    public void addGuest(Member member) {
-        guests.addGuest(member);
+    public synchronized boolean addGuest(Member member) {
+        if (member.getId() == Member.UNASSIGNED_ID) {
+            throw new IllegalArgumentException("Member is not in the member database");
+        }
+        if (isFull()) {
+            return false;
+        }
+        if (guests.add(member.getId()) == 1) {
+            member.registerGuestClass(this);
+        }
+        notifySchedule(ScheduleEvent.Type.GUEST_ADDED, member.getId());
+        return true;
     }
 
     /**
-     * Removes a guest from the fitness class.
+     * Retrieves the number of guests the member has brought to the fitness class.
+     *
+     * @param member The member bringing the guests.
+     * @return The number of guests of the member in this class.
+     */
+    public synchronized int getGuestCount(Member member) {
+        return guests.count(member.getId());
+    }
+
+    /**
+     * Removes a guest from the fitness class. The freed seat is given to the head of the waitlist.
      *
      * @param member The guest member to remove.
      * @return true if the guest was successfully removed; false otherwise.
      */
-    public boolean removeGuest(Member member) {
-        return guests.remove(member);
+    public synchronized boolean removeGuest(Member member) {
+        if (!guests.remove(member.getId())) {
+            return false;
+        }
+        if (guests.count(member.getId()) == 0) {
+            member.unregisterGuestClass(this);
+        }
+        notifySchedule(ScheduleEvent.Type.GUEST_REMOVED, member.getId());
+        promoteFromWaitlist();
+        return true;
+    }
+
+    /**
+     * Removes every guest the member has brought to the fitness class. The freed seats are given to the waitlist.
+     *
+     * @param member The member whose guests are removed.
+     * @return The number of guests removed.
+     */
+    public synchronized int removeAllGuests(Member member) {
+        int removed = guests.removeAll(member.getId());
+        member.unregisterGuestClass(this);
+        for (int i = 0; i < removed; i++) {
+            notifySchedule(ScheduleEvent.Type.GUEST_REMOVED, member.getId());
+        }
+        promoteFromWaitlist();
+        return removed;
     }
 
     /**
@@ -131,31 +234,141 @@ public class FitnessClass {
      * @param member The member to check.
      * @return true if the member is already registered; false otherwise.
      */
-    public boolean isMemberRegistered(Member member) {
-        return members.contains(member);
+    public synchronized boolean isMemberRegistered(Member member) {
+        return members.contains(member.getId());
     }
 
     /**
-     * Attempts to add a member to this fitness class.
+     * Attempts to add a member to this fitness class. The member must have been added to a {@link MemberList},
+     * which assigns the numeric ID stored in the roster. The class is also recorded in the member's own class index.
      *
      * @param member The member to add.
-     * return true if the member was successfully added; false if the member is already registered.
+     * @return true if the member was successfully added; false if the member is already registered or the class is full.
      */
-    public void addMember(Member member) {
-        if (isMemberRegistered(member)) {
-            return;
+    public synchronized boolean addMember(Member member) {
+        if (member.getId() == Member.UNASSIGNED_ID) {
+            throw new IllegalArgumentException("Member is not in the member database");
+        }
+        if (isMemberRegistered(member) || isFull()) {
+            return false;
         }
-        members.add(member);
+        members.add(member.getId());
+        member.registerClass(this);
+        notifySchedule(ScheduleEvent.Type.MEMBER_REGISTERED, member.getId());
+        return true;
     }
 
     /**
-     * Removes a member from the fitness class.
+     * Removes a member from the fitness class. The freed seat is given to the head of the waitlist.
      *
      * @param member The member to remove.
      * @return true if the member was successfully removed; false otherwise.
      */
-    public boolean removeMember(Member member) {
-        return members.remove(member);
+    public synchronized boolean removeMember(Member member) {
+        if (!members.remove(member.getId())) {
+            return false;
+        }
+        member.unregisterClass(this);
+        notifySchedule(ScheduleEvent.Type.MEMBER_UNREGISTERED, member.getId());
+        promoteFromWaitlist();
+        return true;
+    }
+
+    /**
+     * Puts a member on the waitlist of this class. A member who is already waiting keeps their place.
+     *
+     * @param member The member to put on the waitlist.
+     * @return The 1-based position of the member on the waitlist.
+     */
+    public synchronized int joinWaitlist(Member member) {
+        member.registerWaitlistedClass(this);
+        return waitlist.offer(member);
+    }
+
+    /**
+     * Takes a member off the waitlist of this class.
+     *
+     * @param member The member to take off the waitlist.
+     * @return true if the member was waiting and has been removed; false otherwise.
+     */
+    public synchronized boolean leaveWaitlist(Member member) {
+        if (!waitlist.remove(member)) {
+            return false;
+        }
+        member.unregisterWaitlistedClass(this);
+        return true;
+    }
+
+    /**
+     * Retrieves the position of a member on the waitlist in constant time.
+     *
+     * @param member The member to look for.
+     * @return The 1-based position of the member, or {@link #NOT_WAITLISTED} if the member is not waiting.
+     */
+    public synchronized int getWaitlistPosition(Member member) {
+        return waitlist.positionOf(member);
+    }
+
+    /**
+     * Retrieves the number of members waiting for a seat in this class.
+     *
+     * @return The size of the waitlist.
+     */
+    public synchronized int getWaitlistSize() {
+        return waitlist.getSize();
+    }
+
+    /**
+     * Gives free seats to the members at the head of the waitlist, in the order they joined.
+     * A promoted member is registered for the class and counted as attending it, as if they had registered directly.
+     * A member who has since registered for another class in the same time slot is dropped from the waitlist instead,
+     * so a promotion never books a member into two classes at once.
+     */
+    private void promoteFromWaitlist() {
+        while (!waitlist.isEmpty() && !isFull()) {
+            Member next = waitlist.poll();
+            next.unregisterWaitlistedClass(this);
+            if (next.hasClassAt(getTime()) || !members.add(next.getId())) {
+                continue;
+            }
+            if (next instanceof Basic) {
+                ((Basic) next).attendClass();
+            }
+            next.registerClass(this);
+            notifySchedule(ScheduleEvent.Type.MEMBER_REGISTERED, next.getId());
+        }
+    }
+
+    /**
+     * Records the schedule the class was added to, and its position there.
+     *
+     * @param schedule The schedule the class belongs to.
+     * @param index    The position of the class in the schedule.
+     */
+    void setSchedule(Schedule schedule, int index) {
+        this.schedule = schedule;
+        this.scheduleIndex = index;
+    }
+
+    /**
+     * Retrieves the position of the class in the schedule it was added to.
+     *
+     * @return The index of the class, or {@link ChangeEvent#NONE} if the class is not in a schedule.
+     */
+    public int getScheduleIndex() {
+        return schedule == null ? ChangeEvent.NONE : scheduleIndex;
+    }
+
+    /**
+     * Reports a roster change to the listeners of the schedule the class belongs to, if any.
+     *
+     * @param type     The kind of change.
+     * @param memberId The ID of the member or guest host concerned.
+     */
+    private void notifySchedule(ScheduleEvent.Type type, int memberId) {
+        if (schedule != null) {
+            schedule.fire(new ScheduleEvent(type, this, scheduleIndex, memberId, members.getSize() + guests.getSize()));
+        }
     }
 
 }
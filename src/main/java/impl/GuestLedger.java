@@ -0,0 +1,220 @@
+package impl;
+
+import java.util.Arrays;
+
+/**
+ * The guest ledger of a fitness class. Instead of storing a copy of the host member for every guest,
+ * the ledger keeps the number of guests each host has brought, keyed by the host's numeric member ID.
+ * Hosts are stored in an open-addressing hash table with linear probing, so checking a guest in,
+ * removing one, and reading a host's guest count all take constant time.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class GuestLedger {
+    /**
+     * Initial capacity of the hash table, always a power of two
+     **/
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Marker for a free slot in the host table
+     **/
+    private static final int EMPTY = -1;
+
+    /**
+     * Host member IDs, or EMPTY for a free slot
+     **/
+    private int[] hosts;
+
+    /**
+     * The number of guests of the host in the same slot
+     **/
+    private int[] counts;
+
+    /**
+     * The number of hosts with at least one guest
+     **/
+    private int hostCount;
+
+    /**
+     * The total number of guests in the ledger
+     **/
+    private int size;
+
+    /**
+     * Constructs an empty GuestLedger with initial capacity.
+     */
+    public GuestLedger() {
+        hosts = new int[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+        Arrays.fill(hosts, EMPTY);
+        hostCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the total number of guests in the ledger.
+     *
+     * @return the number of guests of all hosts together.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of guests a host has brought.
+     *
+     * @param hostId the member ID of the host.
+     * @return the number of guests of the host, 0 if none.
+     */
+    public int count(int hostId) {
+        int slot = slotOf(hostId);
+        return hosts[slot] == hostId ? counts[slot] : 0;
+    }
+
+    /**
+     * Checks a guest of the host in.
+     *
+     * @param hostId the member ID of the host.
+     * @return the number of guests of the host after the check-in.
+     */
+    public int add(int hostId) {
+        if (hostId < 0) {
+            throw new IllegalArgumentException("Invalid host ID");
+        }
+        int slot = slotOf(hostId);
+        if (hosts[slot] != hostId) {
+            if ((hostCount + 1) * 4 > hosts.length * 3) {
+                grow();
+                slot = slotOf(hostId);
+            }
+            hosts[slot] = hostId;
+            hostCount++;
+        }
+        size++;
+        return ++counts[slot];
+    }
+
+    /**
+     * Removes one guest of the host.
+     *
+     * @param hostId the member ID of the host.
+     * @return true if the host had a guest that was removed, false otherwise.
+     */
+    public boolean remove(int hostId) {
+        int slot = slotOf(hostId);
+        if (hosts[slot] != hostId) {
+            return false;
+        }
+        size--;
+        if (--counts[slot] == 0) {
+            deleteSlot(slot);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every guest of the host.
+     *
+     * @param hostId the member ID of the host.
+     * @return the number of guests removed.
+     */
+    public int removeAll(int hostId) {
+        int slot = slotOf(hostId);
+        if (hosts[slot] != hostId) {
+            return 0;
+        }
+        int removed = counts[slot];
+        size -= removed;
+        deleteSlot(slot);
+        return removed;
+    }
+
+    /**
+     * Retrieves the member IDs of all hosts with at least one guest, in ascending order.
+     *
+     * @return a sorted array of host member IDs.
+     */
+    public int[] getHosts() {
+        int[] result = new int[hostCount];
+        int n = 0;
+        for (int host : hosts) {
+            if (host != EMPTY) {
+                result[n++] = host;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Finds the slot holding the host, or the free slot where it would be inserted.
+     *
+     * @param hostId the member ID of the host.
+     * @return the index of the slot.
+     */
+    private int slotOf(int hostId) {
+        int mask = hosts.length - 1;
+        int slot = home(hostId, mask);
+        while (hosts[slot] != EMPTY && hosts[slot] != hostId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Computes the preferred slot of a host ID.
+     *
+     * @param hostId the member ID of the host.
+     * @param mask   the table length minus one.
+     * @return the index of the preferred slot.
+     */
+    private static int home(int hostId, int mask) {
+        int h = hostId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Frees a slot, shifting back later entries of the same probe run so lookups never stop early.
+     *
+     * @param slot the index of the slot to free.
+     */
+    private void deleteSlot(int slot) {
+        int mask = hosts.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (hosts[next] == EMPTY) {
+                break;
+            }
+            int home = home(hosts[next], mask);
+            boolean inRun = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+            if (!inRun) {
+                hosts[slot] = hosts[next];
+                counts[slot] = counts[next];
+                slot = next;
+            }
+        }
+        hosts[slot] = EMPTY;
+        counts[slot] = 0;
+        hostCount--;
+    }
+
+    /**
+     * Doubles the capacity of the hash table and reinserts every host.
+     */
+    private void grow() {
+        int[] oldHosts = hosts;
+        int[] oldCounts = counts;
+        hosts = new int[oldHosts.length * 2];
+        counts = new int[oldHosts.length * 2];
+        Arrays.fill(hosts, EMPTY);
+        for (int i = 0; i < oldHosts.length; i++) {
+            if (oldHosts[i] != EMPTY) {
+                int slot = slotOf(oldHosts[i]);
+                hosts[slot] = oldHosts[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
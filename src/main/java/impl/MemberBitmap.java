@@ -0,0 +1,161 @@
+package impl;
+
+/**
+ * A set of member IDs kept as a bitmap: bit {@code id % 64} of word {@code id / 64} is set if the ID is in the
+ * set. Sets of IDs are combined a word at a time, so combining the sets of two attributes over a million
+ * members takes a few thousand word operations, and counting a set takes one bit count per word.
+ *
+ * <p>The words end at the last word holding a set bit when the bitmap was last combined or grown, and missing
+ * words are read as zero.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class MemberBitmap {
+    /**
+     * Constants defining initial capacity, in words
+     **/
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The words of the bitmap, 64 IDs to a word
+     **/
+    private long[] words;
+
+    /**
+     * Constructor for creating an empty bitmap.
+     */
+    public MemberBitmap() {
+        words = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructor for creating a bitmap of the given words.
+     *
+     * @param words The words, which the bitmap takes over.
+     */
+    private MemberBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Adds an ID to the set.
+     *
+     * @param id The ID, not negative.
+     */
+    public void set(int id) {
+        int word = id >>> 6;
+        if (word >= words.length) {
+            long[] temp = new long[Math.max(words.length * 2, word + 1)];
+            System.arraycopy(words, 0, temp, 0, words.length);
+            words = temp;
+        }
+        words[word] |= 1L << id;
+    }
+
+    /**
+     * Removes an ID from the set.
+     *
+     * @param id The ID, not negative.
+     */
+    public void clear(int id) {
+        int word = id >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << id);
+        }
+    }
+
+    /**
+     * Checks if an ID is in the set.
+     *
+     * @param id The ID.
+     * @return true if the ID is in the set, false otherwise.
+     */
+    public boolean get(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & 1L << id) != 0;
+    }
+
+    /**
+     * Counts the IDs in the set.
+     *
+     * @return The number of IDs.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the lowest ID in the set from a given ID on, for reading the set in ID order.
+     *
+     * @param from The ID to start from.
+     * @return The lowest ID in the set not below {@code from}, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & -1L << from;
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Creates the set of IDs in both this set and another.
+     *
+     * @param other The other set.
+     * @return The intersection, as a new bitmap.
+     */
+    public MemberBitmap and(MemberBitmap other) {
+        int length = Math.min(words.length, other.words.length);
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new MemberBitmap(trim(result));
+    }
+
+    /**
+     * Creates the set of IDs in either this set or another.
+     *
+     * @param other The other set.
+     * @return The union, as a new bitmap.
+     */
+    public MemberBitmap or(MemberBitmap other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new MemberBitmap(trim(result));
+    }
+
+    /**
+     * Drops the zero words after the last set bit.
+     *
+     * @param words The words.
+     * @return The words up to the last one with a set bit.
+     */
+    private static long[] trim(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        if (length == words.length) {
+            return words;
+        }
+        long[] temp = new long[length];
+        System.arraycopy(words, 0, temp, 0, length);
+        return temp;
+    }
+}
@@ -2,9 +2,19 @@ package impl;
 
 import data.*;
 import enums.Location;
+import enums.Plan;
+import metrics.LoadEvent;
+import metrics.Metrics;
+import metrics.Operation;
+import metrics.ReportEvent;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Scanner;
 
 /**
@@ -27,6 +37,16 @@ public class MemberList {
      **/
     private static final int NOT_FOUND = -1;
 
+    /**
+     * Latencies of the list operations and reports
+     **/
+    private static final Operation ADD = Metrics.operation("MemberList", "add"),
+            REMOVE = Metrics.operation("MemberList", "remove"),
+            RETRIEVE = Metrics.operation("MemberList", "retrieveMember"),
+            PRINT_BY_MEMBER = Metrics.operation("MemberList", "printByMember"),
+            PRINT_BY_COUNTY = Metrics.operation("MemberList", "printByCounty"),
+            PRINT_FEES = Metrics.operation("MemberList", "printFees");
+
     /**
      * Array to store member objects
      **/
@@ -37,6 +57,53 @@ public class MemberList {
      **/
     private int size;
 
+    /**
+     * Members indexed by their numeric ID, used to resolve class rosters back to members
+     **/
+    private Member[] directory;
+
+    /**
+     * The ID to be assigned to the next member added to the list
+     **/
+    private int nextId;
+
+    /**
+     * Members keyed by profile, for constant time lookups by first name, last name, and date of birth
+     **/
+    private final HashMap<Profile, Member> byProfile;
+
+    /**
+     * IDs of the members of each home studio, indexed by {@link Location#ordinal()}, for queries on studio
+     **/
+    private final MemberBitmap[] byStudio;
+
+    /**
+     * IDs of the members of each county, keyed by the county name in upper case, for queries on county
+     **/
+    private final HashMap<String, MemberBitmap> byCounty;
+
+    /**
+     * IDs of the members on each plan, indexed by {@link Plan#ordinal()}, for queries on plan
+     **/
+    private final MemberBitmap[] byPlan;
+
+    /**
+     * IDs of the members whose membership is current, at index 0, and expired, at index 1, as of
+     * {@link #expiredOn}. Expiration dates do not change, so the bitmaps are only rebuilt when the day changes.
+     **/
+    private volatile MemberBitmap[] byExpired;
+
+    /**
+     * The date taken as today when {@link #byExpired} was built. It is written after the bitmaps, so a reader
+     * that finds it current also finds the bitmaps built for it.
+     **/
+    private volatile Date expiredOn;
+
+    /**
+     * Publishes the members added and removed, and the guest passes used and returned
+     **/
+    private final ChangePublisher changes = new ChangePublisher();
+
     /**
      * Gets the current size of the member list.
      *
@@ -46,12 +113,37 @@ public class MemberList {
         return size;
     }
 
+    /**
+     * Retrieves the stream of changes to the member list: members added and removed, and the guest passes
+     * used and returned by the command engine.
+     *
+     * @return The change publisher of the list.
+     */
+    public ChangePublisher getChanges() {
+        return changes;
+    }
+
     /**
      * Constructor for creating an empty MemberList with initial capacity.
      */
     public MemberList() {
         members = new Member[INITIAL_CAPACITY];
+        directory = new Member[INITIAL_CAPACITY];
+        byProfile = new HashMap<>();
+        byStudio = new MemberBitmap[Location.values().length];
+        byCounty = new HashMap<>();
+        for (Location studio : Location.values()) {
+            byStudio[studio.ordinal()] = new MemberBitmap();
+            byCounty.putIfAbsent(studio.getCountyUpperCase(), new MemberBitmap());
+        }
+        byPlan = new MemberBitmap[Plan.values().length];
+        for (int i = 0; i < byPlan.length; i++) {
+            byPlan[i] = new MemberBitmap();
+        }
+        byExpired = new MemberBitmap[]{new MemberBitmap(), new MemberBitmap()};
+        expiredOn = Date.today();
         size = 0;
+        nextId = 0;
     }
 
     /**
@@ -87,22 +179,13 @@ public class MemberList {
     }
 
     /**
-     * Checks if the specified member is already present in the list.
+     * Checks if the specified member is already present in the list, using the profile index.
      *
      * @param member The member to check for existence.
      * @return true if the member is present, false otherwise.
      */
     public boolean contains(Member member) {
-        for (int i = 0; i < size; i++) {
-            Profile existingProfile = members[i].getProfile();
-            Profile newProfile = member.getProfile();
-            if (existingProfile.getFname().equalsIgnoreCase(newProfile.getFname()) &&
-                    existingProfile.getLname().equalsIgnoreCase(newProfile.getLname()) &&
-                    existingProfile.getDob().equals(newProfile.getDob())) {
-                return true;
-            }
-        }
-        return false;
+        return byProfile.containsKey(member.getProfile());
     }
 
 
@@ -114,15 +197,180 @@ public class MemberList {
      * @return true if the member was added successfully, false if the member already exists.
      */
     public boolean add(Member member) {
-        if (find(member) != NOT_FOUND) {
-            return false;
+        long start = ADD.start();
+        try {
+            if (byProfile.containsKey(member.getProfile())) {
+                return false;
+            }
+            if (size == members.length) {
+                grow();
+            }
+            members[size] = member;
+            size++;
+            byProfile.put(member.getProfile(), member);
+            register(member);
+            index(member, true);
+            changes.publish(ChangeEvent.Type.MEMBER_ADDED, member.getId(), ChangeEvent.NONE);
+            return true;
+        } finally {
+            ADD.record(start);
+        }
+    }
+
+    /**
+     * Records a newly added member in the ID directory, assigning the next numeric ID
+     * if the member does not have one yet.
+     *
+     * @param member The member that was added.
+     */
+    private void register(Member member) {
+        if (member.getId() == Member.UNASSIGNED_ID) {
+            member.setId(nextId++);
+        } else if (member.getId() >= nextId) {
+            nextId = member.getId() + 1;
+        }
+        if (member.getId() >= directory.length) {
+            Member[] temp = new Member[Math.max(directory.length * 2, member.getId() + 1)];
+            System.arraycopy(directory, 0, temp, 0, directory.length);
+            directory = temp;
+        }
+        directory[member.getId()] = member;
+    }
+
+    /**
+     * Sets or clears the bits of a member in the studio, county, plan, and expiration indexes. A member whose
+     * type is not one of the plans is in no plan index.
+     *
+     * @param member The member, with their ID assigned.
+     * @param added  true if the member was added, false if removed.
+     */
+    private void index(Member member, boolean added) {
+        MemberBitmap[] expiration = expiredIndex();
+        Plan plan = Plan.of(member.getMembershipType());
+        MemberBitmap[] bitmaps = {byStudio[member.getHomeStudio().ordinal()],
+                byCounty.get(member.getHomeStudio().getCountyUpperCase()),
+                plan == null ? null : byPlan[plan.ordinal()],
+                expiration[member.isMembershipExpired() ? 1 : 0]};
+        for (MemberBitmap bitmap : bitmaps) {
+            if (bitmap == null) {
+                continue;
+            }
+            if (added) {
+                bitmap.set(member.getId());
+            } else {
+                bitmap.clear(member.getId());
+            }
+        }
+    }
+
+    /**
+     * Retrieves a member by numeric ID.
+     *
+     * @param id The ID of the member.
+     * @return The member with the ID, or null if no member in the list has it.
+     */
+    public Member getById(int id) {
+        if (id < 0 || id >= directory.length) {
+            return null;
+        }
+        return directory[id];
+    }
+
+    /**
+     * Gets the bound on the IDs of the members in the list: every member has an ID below it.
+     *
+     * @return One more than the highest ID assigned.
+     */
+    int getIdLimit() {
+        return nextId;
+    }
+
+    /**
+     * Retrieves the IDs of the members of a home studio.
+     *
+     * @param studio The home studio.
+     * @return The index of the studio's members.
+     */
+    MemberBitmap getStudioIndex(Location studio) {
+        return byStudio[studio.ordinal()];
+    }
+
+    /**
+     * Retrieves the IDs of the members whose home studio is in a county.
+     *
+     * @param county The county, named in any case.
+     * @return The index of the county's members, or an empty bitmap if no studio is in the county.
+     */
+    MemberBitmap getCountyIndex(String county) {
+        MemberBitmap bitmap = byCounty.get(county.toUpperCase());
+        return bitmap == null ? new MemberBitmap() : bitmap;
+    }
+
+    /**
+     * Retrieves the IDs of the members on a plan.
+     *
+     * @param plan The membership plan.
+     * @return The index of the plan's members.
+     */
+    MemberBitmap getPlanIndex(Plan plan) {
+        return byPlan[plan.ordinal()];
+    }
+
+    /**
+     * Retrieves the IDs of the members whose membership has, or has not, expired.
+     *
+     * @param expired true for expired memberships, false for current ones.
+     * @return The index of the members.
+     */
+    MemberBitmap getExpiredIndex(boolean expired) {
+        return expiredIndex()[expired ? 1 : 0];
+    }
+
+    /**
+     * Retrieves the bitmaps of current and expired memberships, rebuilding them from the members on the first
+     * use after the day changes. Queries run under the read lock may rebuild them at the same time; each builds
+     * its own bitmaps, which are equal, so whichever is kept is right.
+     *
+     * @return The bitmap of current memberships, at index 0, and of expired ones, at index 1.
+     */
+    private MemberBitmap[] expiredIndex() {
+        Date today = Date.today();
+        if (expiredOn == today) {
+            return byExpired;
         }
-        if (size == members.length) {
-            grow();
+        MemberBitmap[] bitmaps = {new MemberBitmap(), new MemberBitmap()};
+        for (int i = 0; i < size; i++) {
+            if (members[i] != null && members[i].getId() != Member.UNASSIGNED_ID) {
+                bitmaps[members[i].isMembershipExpired() ? 1 : 0].set(members[i].getId());
+            }
+        }
+        byExpired = bitmaps;
+        expiredOn = today;
+        return bitmaps;
+    }
+
+    /**
+     * Starts a query on the members of the list. The query reads the list as it is when its results are read,
+     * so it must be read under the same lock as the list.
+     *
+     * @return A query matching every member, to be narrowed down.
+     */
+    public MemberQuery query() {
+        return new MemberQuery(this);
+    }
+
+    /**
+     * Retrieves the IDs of all members in the list, in list order. Unlike positions in the list,
+     * IDs do not change when the list is sorted for a report or another member is removed.
+     *
+     * @return An array of the member IDs.
+     */
+    public int[] getIds() {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = members[i].getId();
         }
-        members[size] = member;
-        size++;
-        return true;
+        return ids;
     }
 
     /**
@@ -132,16 +380,44 @@ public class MemberList {
      * @return true if the member was successfully removed, false if the member was not found.
      */
     public boolean remove(Member member) {
-        int index = find(member);
-        if (index == NOT_FOUND) {
-            return false;
+        long start = REMOVE.start();
+        try {
+            int index = find(member);
+            if (index == NOT_FOUND) {
+                return false;
+            }
+            byProfile.remove(members[index].getProfile());
+            int id = members[index].getId();
+            if (id >= 0 && id < directory.length && directory[id] == members[index]) {
+                directory[id] = null;
+            }
+            index(members[index], false);
+            for (int i = index; i < size - 1; i++) {
+                members[i] = members[i + 1];
+            }
+            members[size - 1] = null;
+            size--;
+            changes.publish(ChangeEvent.Type.MEMBER_REMOVED, id, ChangeEvent.NONE);
+            return true;
+        } finally {
+            REMOVE.record(start);
         }
-        for (int i = index; i < size - 1; i++) {
-            members[i] = members[i + 1];
+    }
+
+    /**
+     * Cancels the membership of the specified member. The member is removed from the list and from every
+     * class roster, guest list, and waitlist they are in, found through the member's own class index.
+     *
+     * @param member The member whose membership is cancelled.
+     * @return true if the member was found and removed, false if the member was not found.
+     */
+    public boolean cancelMembership(Member member) {
+        Member existing = retrieveMember(member.getProfile());
+        if (existing == null) {
+            return false;
         }
-        members[size - 1] = null;
-        size--;
-        return true;
+        existing.cancelRegistrations();
+        return remove(existing);
     }
 
     /**
@@ -152,25 +428,56 @@ public class MemberList {
      * @throws FileNotFoundException if the specified file does not exist.
      */
     public void load(File file) throws FileNotFoundException {
+        LoadEvent event = LoadEvent.start("MemberList.load", file.getPath());
         Scanner scanner = new Scanner(file);
         while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            String[] parts = line.split("\\s+");
-            String type = parts[0];
-            String firstName = parts[1];
-            String lastName = parts[2];
-            Date dob = new Date(parts[3]);
-            Date expiration = new Date(parts[4]);
-            Location location = Location.valueOf(parts[5].toUpperCase());
-            Member member = switch (type) {
-                case "B" -> new Basic(new Profile(firstName, lastName, dob), expiration, location);
-                case "F" -> new Family(new Profile(firstName, lastName, dob), expiration, location);
-                case "P" -> new Premium(new Profile(firstName, lastName, dob), expiration, location);
-                default -> throw new IllegalArgumentException("Invalid member type");
-            };
-            this.add(member);
+            this.add(parseMember(scanner.nextLine()));
+            event.rows++;
         }
         scanner.close();
+        event.bytes = file.length();
+        event.commit();
+    }
+
+    /**
+     * Writes every member in the list in the member list file format read by {@link #load(File)}, one per line.
+     * Only the fields of that format are written, so guest passes and class registrations are not kept.
+     *
+     * @param out The destination of the member list.
+     * @throws IOException if writing fails.
+     */
+    public void save(Writer out) throws IOException {
+        for (int i = 0; i < size; i++) {
+            Member member = members[i];
+            Profile profile = member.getProfile();
+            String type = member instanceof Premium ? "P" : member instanceof Family ? "F" : "B";
+            out.write(type + " " + profile.getFname() + " " + profile.getLname() + " " + profile.getDob() + " " +
+                    member.getExpire() + " " + member.getHomeStudio().name() + "\n");
+        }
+    }
+
+    /**
+     * Parses one line of a member list file: the membership type (B, F, or P), first name, last name,
+     * date of birth, expiration date, and home studio.
+     *
+     * @param line The line to parse.
+     * @return The member described by the line.
+     * @throws IllegalArgumentException if the membership type or home studio is invalid.
+     */
+    public static Member parseMember(String line) {
+        String[] parts = line.split("\\s+");
+        String type = parts[0];
+        String firstName = parts[1];
+        String lastName = parts[2];
+        Date dob = new Date(parts[3]);
+        Date expiration = new Date(parts[4]);
+        Location location = Location.valueOf(parts[5].toUpperCase());
+        return switch (type) {
+            case "B" -> new Basic(new Profile(firstName, lastName, dob), expiration, location);
+            case "F" -> new Family(new Profile(firstName, lastName, dob), expiration, location);
+            case "P" -> new Premium(new Profile(firstName, lastName, dob), expiration, location);
+            default -> throw new IllegalArgumentException("Invalid member type");
+        };
     }
 
     /**
@@ -192,6 +499,49 @@ public class MemberList {
         return sb.toString();
     }
 
+    /**
+     * Generates and returns a string representation of the members of a class roster, in the same
+     * format as {@link #getMemberListString()}. IDs that do not belong to a member in this list are skipped.
+     *
+     * @param attendees The IDs of the members to list.
+     * @return A string containing a formatted list of the members, each on a new line,
+     * enclosed between header and footer lines.
+     */
+    public String getMemberListString(AttendeeSet attendees) {
+        StringBuilder sb = new StringBuilder("\n-list of members loaded-\n");
+        for (int i = 0; i < attendees.getSize(); i++) {
+            Member member = getById(attendees.get(i));
+            if (member != null) {
+                sb.append(member).append("\n");
+            }
+        }
+        sb.append("-end of list-\n\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates and returns a string representation of the guests in a class guest ledger, in the same
+     * format as {@link #getMemberListString()}. Each guest is listed as the member who brought them,
+     * so a host with two guests appears twice. Hosts are listed in order of member ID.
+     *
+     * @param guests The guest ledger of a class.
+     * @return A string containing a formatted list of the guests' hosts, each on a new line,
+     * enclosed between header and footer lines.
+     */
+    public String getMemberListString(GuestLedger guests) {
+        StringBuilder sb = new StringBuilder("\n-list of members loaded-\n");
+        for (int hostId : guests.getHosts()) {
+            Member host = getById(hostId);
+            if (host == null) {
+                continue;
+            }
+            for (int i = guests.count(hostId); i > 0; i--) {
+                sb.append(host).append("\n");
+            }
+        }
+        sb.append("-end of list-\n\n");
+        return sb.toString();
+    }
 
     /**
      * Generates and returns a string representation of the member list sorted by member profiles,
@@ -206,44 +556,35 @@ public class MemberList {
      * If the collection is empty, a message indicating this is returned instead.
      */
     public String printByMember() {
-        StringBuilder sb = new StringBuilder();
-        if (size == 0) {
-            sb.append("Collection is empty!");
-            return sb.toString();
+        long start = PRINT_BY_MEMBER.start();
+        ReportEvent event = ReportEvent.start("MemberList.printByMember", size);
+        try {
+            return listByMember(sortByMember());
+        } finally {
+            PRINT_BY_MEMBER.record(start);
+            event.commit();
         }
-        bubbleSort();
-        sb.append("\n-list of members sorted by member profiles-\n");
-        bubbleSort();
-        sb.append(printMembers());
-        sb.append("-end of list-\n");
-        return sb.toString();
     }
 
     /**
-     * Sorts the members using a bubble sort algorithm based on their profile information.
+     * Sorts members using a bubble sort algorithm. The sort stops early, leaving the members partially
+     * sorted, if the thread is interrupted, as happens when a report running in the background is cancelled.
+     *
+     * @param sorted     The members to sort, in place.
+     * @param comparator The order of the members.
      */
-    private void bubbleSort() {
-        for (int i = 0; i < size - 1; i++) {
-            for (int j = 0; j < size - i - 1; j++) {
-                if (compareMembers(members[j], members[j + 1]) > 0) {
-                    swap(j, j + 1);
+    private static void bubbleSort(Member[] sorted, Comparator<Member> comparator) {
+        for (int i = 0; i < sorted.length - 1 && !Thread.currentThread().isInterrupted(); i++) {
+            for (int j = 0; j < sorted.length - i - 1; j++) {
+                if (comparator.compare(sorted[j], sorted[j + 1]) > 0) {
+                    Member temp = sorted[j];
+                    sorted[j] = sorted[j + 1];
+                    sorted[j + 1] = temp;
                 }
             }
         }
     }
 
-    /**
-     * Swaps two members in the array.
-     *
-     * @param i The index of the first member.
-     * @param j The index of the second member.
-     */
-    private void swap(int i, int j) {
-        Member temp = members[i];
-        members[i] = members[j];
-        members[j] = temp;
-    }
-
     /**
      * Compares two members based on their profile information.
      *
@@ -287,24 +628,16 @@ public class MemberList {
      * indicating this is returned instead.
      */
     public String printByCounty() {
-        StringBuilder sb = new StringBuilder();
-        if (size == 0) {
-            sb.append("Collection is empty!");
-            return sb.toString();
-        }
-        sb.append("\n-list of members sorted by county then zipcode-\n");
-        for (int i = 0; i < members.length - 1; i++) {
-            for (int j = 0; j < members.length - i - 1; j++) {
-                if (compareMembersByCounty(members[j], members[j + 1]) > 0) {
-                    Member temp = members[j];
-                    members[j] = members[j + 1];
-                    members[j + 1] = temp;
-                }
-            }
+        long start = PRINT_BY_COUNTY.start();
+        ReportEvent event = ReportEvent.start("MemberList.printByCounty", size);
+        try {
+            Member[] sorted = toArray();
+            sortByCounty(sorted);
+            return listByCounty(sorted);
+        } finally {
+            PRINT_BY_COUNTY.record(start);
+            event.commit();
         }
-        sb.append(printMembers());
-        sb.append("-end of list-\n");
-        return sb.toString();
     }
 
     /**
@@ -317,7 +650,7 @@ public class MemberList {
      * equal to, or greater than the second, based on county and zip code.
      */
 
-    private int compareMembersByCounty(Member m1, Member m2) {
+    private static int compareMembersByCounty(Member m1, Member m2) {
         if (m1 == null && m2 == null) {
             return 0;
         } else if (m1 == null) {
@@ -349,20 +682,102 @@ public class MemberList {
      * this is returned.
      */
     public String printFees() {
-        StringBuilder sb = new StringBuilder();
-        if (size == 0) {
-            sb.append("Collection is empty!");
+        long start = PRINT_FEES.start();
+        ReportEvent event = ReportEvent.start("MemberList.printFees", size);
+        try {
+            StringBuilder sb = new StringBuilder();
+            if (size == 0) {
+                sb.append("Collection is empty!");
+                return sb.toString();
+            }
+            sb.append("\n-list of members with next dues-\n");
+            for (Member member : members) {
+                if (member != null) {
+                    sb.append(feeLine(member));
+                }
+            }
+            sb.append("-end of list-");
             return sb.toString();
+        } finally {
+            PRINT_FEES.record(start);
+            event.commit();
         }
-        sb.append("\n-list of members with next dues-\n");
-        for (Member member : members) {
-            if (member != null) {
-                double nextDueAmount = member.bill();
-                sb.append(member).append(" [next due: $").append(String.format("%.2f", nextDueAmount)).append("] \n");
-            }
+    }
+
+    /**
+     * Formats one line of the fees report: the member and their next due amount to two decimal places.
+     *
+     * @param member The member.
+     * @return The line, ending in a new line.
+     */
+    static String feeLine(Member member) {
+        return member + " [next due: $" + String.format("%.2f", member.bill()) + "] \n";
+    }
+
+    /**
+     * Sorts a copy of the members by profile, as {@link #printByMember()} does. The list itself keeps its order.
+     *
+     * @return A copy of the members, sorted.
+     */
+    Member[] sortByMember() {
+        Member[] sorted = toArray();
+        sortByMember(sorted);
+        return sorted;
+    }
+
+    /**
+     * Sorts members by profile, as {@link #printByMember()} does. Only the profiles are read, which do not
+     * change, so the members may be sorted without holding a lock.
+     *
+     * @param members The members to sort, in place.
+     */
+    static void sortByMember(Member[] members) {
+        bubbleSort(members, MemberList::compareMembers);
+    }
+
+    /**
+     * Sorts members by county, then zip code, as {@link #printByCounty()} does. Only the home studios are read,
+     * which do not change, so the members may be sorted without holding a lock.
+     *
+     * @param members The members to sort, in place.
+     */
+    static void sortByCounty(Member[] members) {
+        bubbleSort(members, MemberList::compareMembersByCounty);
+    }
+
+    /**
+     * Formats members sorted by profile as the report of {@link #printByMember()}.
+     *
+     * @param sorted The members, sorted by profile.
+     * @return The report, or a message that the collection is empty if there are no members.
+     */
+    static String listByMember(Member[] sorted) {
+        if (sorted.length == 0) {
+            return "Collection is empty!";
         }
-        sb.append("-end of list-");
-        return sb.toString();
+        return "\n-list of members sorted by member profiles-\n" + printMembers(sorted) + "-end of list-\n";
+    }
+
+    /**
+     * Formats members sorted by county as the report of {@link #printByCounty()}.
+     *
+     * @param sorted The members, sorted by county, then zip code.
+     * @return The report, or a message that the collection is empty if there are no members.
+     */
+    static String listByCounty(Member[] sorted) {
+        if (sorted.length == 0) {
+            return "Collection is empty!";
+        }
+        return "\n-list of members sorted by county then zipcode-\n" + printMembers(sorted) + "-end of list-\n";
+    }
+
+    /**
+     * Returns the members in list order.
+     *
+     * @return A copy of the members.
+     */
+    Member[] toArray() {
+        return Arrays.copyOf(members, size);
     }
 
     /**
@@ -376,42 +791,80 @@ public class MemberList {
      * is null (indicating an empty slot in the array), it is skipped in the output.
      */
     public String printMembers() {
+        return printMembers(members);
+    }
+
+    /**
+     * Lists members, one on each line, skipping empty slots.
+     *
+     * @param list The members to list.
+     * @return A string containing the details of each member, each on a new line.
+     */
+    private static String printMembers(Member[] list) {
         StringBuilder sb = new StringBuilder();
-        for (Member member : members) {
+        for (Member member : list) {
             if (member != null) sb.append(member).append("\n");
         }
         return sb.toString();
     }
 
     /**
-     * Retrieves a member from the list matching the given profile.
+     * Searches for members whose first and last names start with the given prefixes, ignoring case.
+     * An empty prefix matches every name. The search stops after {@code limit} matches, and compares the
+     * names in place without creating new strings, so it stays fast on large lists.
      *
-     * @param profile The profile to match against members in the list.
-     * @return The matching member if found, null otherwise.
+     * <p>The search reads the list in place, which adding and removing members shifts, so a search on another
+     * thread must hold the read lock of the {@link StudioManager}; otherwise it may return a member twice or miss
+     * members.</p>
+     *
+     * @param firstPrefix The start of the first name.
+     * @param lastPrefix  The start of the last name.
+     * @param limit       The maximum number of members to return.
+     * @return The matching members, in list order.
      */
-    public Member retrieveMember(Profile profile) {
-        for (int i = 0; i < size; i++) {
-            Profile existingProfile = members[i].getProfile();
-            if (existingProfile.getFname().equalsIgnoreCase(profile.getFname()) &&
-                    existingProfile.getLname().equalsIgnoreCase(profile.getLname()) &&
-                    existingProfile.getDob().equals(profile.getDob())) {
-                return members[i];
+    public Member[] search(String firstPrefix, String lastPrefix, int limit) {
+        Member[] found = new Member[Math.min(limit, size)];
+        int n = 0;
+        for (int i = 0; i < size && n < found.length; i++) {
+            Member member = members[i];
+            if (member == null) {
+                continue;
+            }
+            Profile profile = member.getProfile();
+            if (startsWithIgnoreCase(profile.getFname(), firstPrefix) && startsWithIgnoreCase(profile.getLname(), lastPrefix)) {
+                found[n++] = member;
             }
         }
-        return null;
+        return n == found.length ? found : Arrays.copyOf(found, n);
+    }
+
+    /**
+     * Checks if a name starts with a prefix, ignoring case.
+     *
+     * @param name   The name to check.
+     * @param prefix The prefix.
+     * @return true if the name starts with the prefix, false otherwise.
+     */
+    private static boolean startsWithIgnoreCase(String name, String prefix) {
+        return name.regionMatches(true, 0, prefix, 0, prefix.length());
     }
 
     /**
-     * Adds a guest to the list of members. This method is used to dynamically add guests, potentially for tracking guest visits or temporary memberships. If the current array of members is full, it automatically increases its size to accommodate the new guest. This method assumes that a "guest" is treated similarly to a member for the purposes of list management.
+     * Retrieves a member from the list matching the given profile, using the profile index.
+     * Names are matched case-insensitively, the same way as {@link Profile#equals(Object)}.
      *
-     * @param member The guest to be added to the list. This can be an instance of any class that extends Member, including guests with specific attributes if applicable.
+     * @param profile The profile to match against members in the list.
+     * @return The matching member if found, null otherwise.
      */
-    public void addGuest(Member member) {
-        if (size == members.length) {
-            grow();
+    public Member retrieveMember(Profile profile) {
+        long start = RETRIEVE.start();
+        try {
+            if (profile.getDob() == null) {
+                return null;
+            }
+            return byProfile.get(profile);
+        } finally {
+            RETRIEVE.record(start);
         }
-        members[size] = member;
-        size++;
     }
 }
-
@@ -0,0 +1,480 @@
+package impl;
+
+import data.Basic;
+import data.Date;
+import data.Family;
+import data.Member;
+import data.Premium;
+import enums.Location;
+import enums.Plan;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A query on the members of a {@link MemberList}, built up from conditions on the plan, home studio or county,
+ * expiration date, date of birth, guest passes remaining and classes attended. A member matches the query if
+ * they meet every condition set.
+ *
+ * <p>When the results are read, the query is planned: the conditions on plan, studio, county and expiration
+ * are answered from the member list's bitmap indexes, combined a word at a time, and only the members in the
+ * combined bitmap are checked against the other conditions. Every member is checked if the query has no condition
+ * on an indexed attribute. The members are checked one at a time as the results are read, so a page of results
+ * only checks as many members as it takes to fill the page, and a query with only indexed conditions is counted
+ * without reading any member. Results are in member ID order, which is the order the members were added in, so
+ * pages stay stable while the list is sorted for reports.</p>
+ *
+ * <p>Example: {@code memberList.query().plan(Plan.PREMIUM).county("Somerset").expired(true).limit(20).list()}</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class MemberQuery implements Iterable<Member> {
+    /**
+     * The member list queried
+     **/
+    private final MemberList memberList;
+
+    /**
+     * The plans a member may be on
+     **/
+    private final EnumSet<Plan> plans = EnumSet.allOf(Plan.class);
+
+    /**
+     * The home studios a member may have
+     **/
+    private final EnumSet<Location> studios = EnumSet.allOf(Location.class);
+
+    /**
+     * The county of a member's home studio, or null if it does not matter
+     **/
+    private String county;
+
+    /**
+     * The earliest and latest expiration dates a member may have, or null for no bound
+     **/
+    private Date expiresFrom, expiresTo;
+
+    /**
+     * Whether a member's membership must have expired, or null if it does not matter
+     **/
+    private Boolean expired;
+
+    /**
+     * The earliest and latest dates of birth a member may have, or null for no bound
+     **/
+    private Date bornFrom, bornTo;
+
+    /**
+     * The fewest and most guest passes a member may have left
+     **/
+    private int minGuestPasses = 0, maxGuestPasses = Integer.MAX_VALUE;
+
+    /**
+     * The fewest and most classes a member may have attended
+     **/
+    private int minClasses = 0, maxClasses = Integer.MAX_VALUE;
+
+    /**
+     * The number of matching members skipped before the first result
+     **/
+    private int offset = 0;
+
+    /**
+     * The most results returned
+     **/
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Creates a query matching every member of a list.
+     *
+     * @param memberList The member list to query.
+     */
+    MemberQuery(MemberList memberList) {
+        this.memberList = memberList;
+    }
+
+    /**
+     * Keeps only members on one of the given plans. Members whose type is not one of the plans, such as plain
+     * members, are kept only while the query is not narrowed to some of the plans.
+     *
+     * @param plans The plans.
+     * @return This query.
+     */
+    public MemberQuery plan(Plan... plans) {
+        this.plans.retainAll(List.of(plans));
+        return this;
+    }
+
+    /**
+     * Keeps only members whose home studio is one of the given studios.
+     *
+     * @param studios The studios.
+     * @return This query.
+     */
+    public MemberQuery studio(Location... studios) {
+        this.studios.retainAll(List.of(studios));
+        return this;
+    }
+
+    /**
+     * Keeps only members whose home studio is in a county, named in any case.
+     *
+     * @param county The county.
+     * @return This query.
+     */
+    public MemberQuery county(String county) {
+        this.county = county;
+        return this;
+    }
+
+    /**
+     * Keeps only members whose membership expires between two dates, inclusive.
+     *
+     * @param from The earliest expiration date, or null for no bound.
+     * @param to   The latest expiration date, or null for no bound.
+     * @return This query.
+     */
+    public MemberQuery expiresBetween(Date from, Date to) {
+        this.expiresFrom = from;
+        this.expiresTo = to;
+        return this;
+    }
+
+    /**
+     * Keeps only members whose membership has, or has not, expired.
+     *
+     * @param expired true for expired memberships, false for current ones.
+     * @return This query.
+     */
+    public MemberQuery expired(boolean expired) {
+        this.expired = expired;
+        return this;
+    }
+
+    /**
+     * Keeps only members born between two dates, inclusive.
+     *
+     * @param from The earliest date of birth, or null for no bound.
+     * @param to   The latest date of birth, or null for no bound.
+     * @return This query.
+     */
+    public MemberQuery bornBetween(Date from, Date to) {
+        this.bornFrom = from;
+        this.bornTo = to;
+        return this;
+    }
+
+    /**
+     * Keeps only members with a number of guest passes left in a range, inclusive. Basic members have none,
+     * and Family members one until their guest has attended.
+     *
+     * @param min The fewest guest passes.
+     * @param max The most guest passes.
+     * @return This query.
+     */
+    public MemberQuery guestPasses(int min, int max) {
+        this.minGuestPasses = min;
+        this.maxGuestPasses = max;
+        return this;
+    }
+
+    /**
+     * Keeps only members who have attended a number of classes in a range, inclusive. Only Basic members have
+     * their classes counted, so other members have attended none.
+     *
+     * @param min The fewest classes.
+     * @param max The most classes.
+     * @return This query.
+     */
+    public MemberQuery classesAttended(int min, int max) {
+        this.minClasses = min;
+        this.maxClasses = max;
+        return this;
+    }
+
+    /**
+     * Skips a number of matching members before the first result, for paging.
+     *
+     * @param offset The number of matches to skip.
+     * @return This query.
+     */
+    public MemberQuery offset(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Limits the number of results, for paging.
+     *
+     * @param limit The most results to return.
+     * @return This query.
+     */
+    public MemberQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Reads the matching members, after the offset and up to the limit, as the iterator is advanced.
+     *
+     * @return An iterator over the results, in member ID order.
+     */
+    @Override
+    public Iterator<Member> iterator() {
+        return new Cursor(offset, limit);
+    }
+
+    /**
+     * Reads the matching members, after the offset and up to the limit.
+     *
+     * @return The results, in member ID order.
+     */
+    public List<Member> list() {
+        List<Member> results = new ArrayList<>();
+        for (Member member : this) {
+            results.add(member);
+        }
+        return results;
+    }
+
+    /**
+     * Counts every matching member, regardless of the offset and limit. If every condition of the query is on an
+     * indexed attribute, the members are counted in the combined bitmap without reading them.
+     *
+     * @return The number of matches.
+     */
+    public int count() {
+        MemberBitmap candidates = candidates();
+        if (candidates != null && !hasUnindexedConditions()) {
+            return candidates.cardinality();
+        }
+        int count = 0;
+        for (Iterator<Member> cursor = new Cursor(0, Integer.MAX_VALUE); cursor.hasNext(); cursor.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Describes how the query would be run on the member list as it is now: whether the indexes are read, and how
+     * many members are left to be checked.
+     *
+     * @return The description of the plan.
+     */
+    public String explain() {
+        MemberBitmap candidates = candidates();
+        if (candidates == null) {
+            return "scan " + memberList.getSize() + " members";
+        }
+        return "bitmap index, " + candidates.cardinality() + " of " + memberList.getSize() + " members";
+    }
+
+    /**
+     * Combines the bitmap indexes of the conditions on indexed attributes: the union of the plans allowed, and of
+     * the studios allowed, intersected with each other and with the county and expiration indexes.
+     *
+     * @return The IDs of the members meeting every indexed condition, or null if there is no indexed condition.
+     */
+    private MemberBitmap candidates() {
+        MemberBitmap candidates = null;
+        if (plans.size() < Plan.values().length) {
+            MemberBitmap union = new MemberBitmap();
+            for (Plan plan : plans) {
+                union = plans.size() == 1 ? memberList.getPlanIndex(plan) : union.or(memberList.getPlanIndex(plan));
+            }
+            candidates = union;
+        }
+        if (studios.size() < Location.values().length) {
+            MemberBitmap union = new MemberBitmap();
+            for (Location studio : studios) {
+                union = studios.size() == 1 ? memberList.getStudioIndex(studio) : union.or(memberList.getStudioIndex(studio));
+            }
+            candidates = candidates == null ? union : candidates.and(union);
+        }
+        if (county != null) {
+            MemberBitmap inCounty = memberList.getCountyIndex(county);
+            candidates = candidates == null ? inCounty : candidates.and(inCounty);
+        }
+        if (expired != null) {
+            MemberBitmap byExpiration = memberList.getExpiredIndex(expired);
+            candidates = candidates == null ? byExpiration : candidates.and(byExpiration);
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks if the query has a condition the bitmap indexes do not answer.
+     *
+     * @return true if a member must be read to know whether they match, false otherwise.
+     */
+    private boolean hasUnindexedConditions() {
+        return expiresFrom != null || expiresTo != null || bornFrom != null || bornTo != null ||
+                minGuestPasses > 0 || maxGuestPasses < Integer.MAX_VALUE || minClasses > 0 || maxClasses < Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks a member against every condition of the query.
+     *
+     * @param member The member.
+     * @return true if the member matches, false otherwise.
+     */
+    private boolean matches(Member member) {
+        if (plans.size() < Plan.values().length) {
+            Plan plan = Plan.of(member.getMembershipType());
+            if (plan == null || !plans.contains(plan)) {
+                return false;
+            }
+        }
+        if (!studios.contains(member.getHomeStudio())) {
+            return false;
+        }
+        if (county != null && !member.getHomeStudio().getCounty().equalsIgnoreCase(county)) {
+            return false;
+        }
+        if (expired != null && member.isMembershipExpired() != expired) {
+            return false;
+        }
+        if (!within(member.getExpire(), expiresFrom, expiresTo) || !within(member.getProfile().getDob(), bornFrom, bornTo)) {
+            return false;
+        }
+        int guests = guestPasses(member);
+        if (guests < minGuestPasses || guests > maxGuestPasses) {
+            return false;
+        }
+        int classes = member instanceof Basic ? ((Basic) member).getNumClasses() : 0;
+        return classes >= minClasses && classes <= maxClasses;
+    }
+
+    /**
+     * Checks if a date is between two dates, inclusive.
+     *
+     * @param date The date.
+     * @param from The earliest date, or null for no bound.
+     * @param to   The latest date, or null for no bound.
+     * @return true if the date is in the range, false otherwise.
+     */
+    private static boolean within(Date date, Date from, Date to) {
+        return (from == null || date.compareTo(from) >= 0) && (to == null || date.compareTo(to) <= 0);
+    }
+
+    /**
+     * Gets the number of guest passes a member has left.
+     *
+     * @param member The member.
+     * @return The guest passes left.
+     */
+    private static int guestPasses(Member member) {
+        if (member instanceof Premium) {
+            return ((Premium) member).getGuestPass();
+        }
+        if (member instanceof Family) {
+            return ((Family) member).hasGuestPass() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the results of the query one at a time. The IDs to check are read in order from the combined bitmap
+     * of the indexed conditions, or counted up through every ID assigned if there is none.
+     */
+    private class Cursor implements Iterator<Member> {
+        /**
+         * The IDs to check, or null to check every ID
+         **/
+        private final MemberBitmap candidates;
+
+        /**
+         * The next ID to check
+         **/
+        private int nextId;
+
+        /**
+         * The matches still to skip
+         **/
+        private int toSkip;
+
+        /**
+         * The results still to return
+         **/
+        private int remaining;
+
+        /**
+         * The next result, found but not yet returned
+         **/
+        private Member next;
+
+        /**
+         * Plans the query and starts reading its results.
+         *
+         * @param offset The matches to skip.
+         * @param limit  The most results to return.
+         */
+        private Cursor(int offset, int limit) {
+            candidates = candidates();
+            toSkip = offset;
+            remaining = limit;
+        }
+
+        /**
+         * Checks members until the next result is found.
+         *
+         * @return true if there is another result, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            for (int id = nextCandidate(); id != -1; id = nextCandidate()) {
+                Member member = memberList.getById(id);
+                if (member == null || !matches(member)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                next = member;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns the next result.
+         *
+         * @return The next matching member.
+         * @throws NoSuchElementException if there are no more results.
+         */
+        @Override
+        public Member next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Member member = next;
+            next = null;
+            remaining--;
+            return member;
+        }
+
+        /**
+         * Takes the next ID to check: the next ID in the combined bitmap, or the next ID assigned.
+         *
+         * @return The ID, or -1 if every ID has been checked.
+         */
+        private int nextCandidate() {
+            if (candidates == null) {
+                return nextId < memberList.getIdLimit() ? nextId++ : -1;
+            }
+            int id = candidates.nextSetBit(nextId);
+            nextId = id == -1 ? Integer.MAX_VALUE : id + 1;
+            return id;
+        }
+    }
+}
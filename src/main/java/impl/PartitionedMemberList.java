@@ -0,0 +1,370 @@
+package impl;
+
+import data.Member;
+import data.Profile;
+import enums.Location;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A member store split into one shard per studio. Each member is kept in the shard of their home studio, a
+ * {@link MemberList} with a lock of its own, so operations on members of different studios do not wait for each
+ * other, and a report on one studio touches only that studio's members.
+ *
+ * <p>Reports on the whole chain sort and render every shard in parallel, then merge the shards. They list the
+ * members in the same order, and with the same text, as the reports of a single {@link MemberList} holding the
+ * same members added in the same order.</p>
+ *
+ * <p>Profiles are unique across the chain, and member IDs are assigned from one sequence, so class rosters can
+ * refer to members of any studio by ID.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class PartitionedMemberList {
+    /**
+     * The studios in the order of the county report: by county, then zip code
+     **/
+    private static final Location[] BY_COUNTY = Arrays.stream(Location.values())
+            .sorted(Comparator.comparing(Location::getCounty, String.CASE_INSENSITIVE_ORDER).thenComparing(Location::getZipCode))
+            .toArray(Location[]::new);
+
+    /**
+     * The shards, one per studio, in the order of {@link Location#ordinal()}
+     **/
+    private final Shard[] shards;
+
+    /**
+     * The home studio of every member, keyed by profile, which keeps profiles unique across the shards
+     **/
+    private final ConcurrentHashMap<Profile, Location> homeStudios = new ConcurrentHashMap<>();
+
+    /**
+     * The ID to be assigned to the next member added to the store
+     **/
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Constructor for creating an empty store with an empty shard for every studio.
+     */
+    public PartitionedMemberList() {
+        shards = new Shard[Location.values().length];
+        for (Location studio : Location.values()) {
+            shards[studio.ordinal()] = new Shard();
+        }
+    }
+
+    /**
+     * Gets the number of members in the store.
+     *
+     * @return the number of members in every shard.
+     */
+    public int getSize() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.read(shard.members::getSize);
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of members of a studio.
+     *
+     * @param studio the home studio.
+     * @return the number of members in the studio's shard.
+     */
+    public int getSize(Location studio) {
+        Shard shard = shards[studio.ordinal()];
+        return shard.read(shard.members::getSize);
+    }
+
+    /**
+     * Adds a new member to the shard of their home studio, if no member of any studio has the same profile.
+     * The member is assigned the next ID of the store while the shard's lock is held, so every shard keeps its
+     * members in ascending ID order, which the merge of {@link #printFees()} relies on.
+     *
+     * @param member The member to be added.
+     * @return true if the member was added, false if a member with the same profile already exists.
+     */
+    public boolean add(Member member) {
+        if (homeStudios.putIfAbsent(member.getProfile(), member.getHomeStudio()) != null) {
+            return false;
+        }
+        Shard shard = shards[member.getHomeStudio().ordinal()];
+        return shard.write(() -> {
+            member.setId(nextId.getAndIncrement());
+            return shard.members.add(member);
+        });
+    }
+
+    /**
+     * Removes the member with the same profile as the given member from the shard of their home studio.
+     * The member's class registrations are left to the caller, as {@link MemberList#remove(Member)} leaves them.
+     *
+     * @param member The member to be removed.
+     * @return true if the member was removed, false if no member has the profile.
+     */
+    public boolean remove(Member member) {
+        Location studio = homeStudios.get(member.getProfile());
+        if (studio == null) {
+            return false;
+        }
+        Shard shard = shards[studio.ordinal()];
+        boolean removed = shard.write(() -> shard.members.remove(member));
+        if (removed) {
+            homeStudios.remove(member.getProfile(), studio);
+        }
+        return removed;
+    }
+
+    /**
+     * Retrieves the member with a profile, looking only in the shard of the member's home studio.
+     *
+     * @param profile The profile to match against members.
+     * @return The matching member if found, null otherwise.
+     */
+    public Member retrieveMember(Profile profile) {
+        if (profile.getDob() == null) {
+            return null;
+        }
+        Location studio = homeStudios.get(profile);
+        if (studio == null) {
+            return null;
+        }
+        Shard shard = shards[studio.ordinal()];
+        return shard.read(() -> shard.members.retrieveMember(profile));
+    }
+
+    /**
+     * Retrieves a member by numeric ID.
+     *
+     * @param id The ID of the member.
+     * @return The member with the ID, or null if no member in the store has it.
+     */
+    public Member getById(int id) {
+        for (Shard shard : shards) {
+            Member member = shard.read(() -> shard.members.getById(id));
+            if (member != null) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads members from a member list file, in the format read by {@link MemberList#load(File)}.
+     *
+     * @param file The file from which to load members.
+     * @throws FileNotFoundException if the specified file does not exist.
+     */
+    public void load(File file) throws FileNotFoundException {
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNextLine()) {
+                add(MemberList.parseMember(scanner.nextLine()));
+            }
+        }
+    }
+
+    /**
+     * Generates the members of one studio sorted by profile, as {@link MemberList#printByMember()} does.
+     *
+     * @param studio The home studio.
+     * @return The report on the studio's members.
+     */
+    public String printByMember(Location studio) {
+        Shard shard = shards[studio.ordinal()];
+        return shard.read(shard.members::printByMember);
+    }
+
+    /**
+     * Generates the members of one studio with their next due fees, as {@link MemberList#printFees()} does.
+     *
+     * @param studio The home studio.
+     * @return The report on the studio's members.
+     */
+    public String printFees(Location studio) {
+        Shard shard = shards[studio.ordinal()];
+        return shard.read(shard.members::printFees);
+    }
+
+    /**
+     * Generates the members of every studio sorted by profile. Each shard is sorted and rendered in parallel,
+     * and the sorted shards are merged.
+     *
+     * @return The report, in the format of {@link MemberList#printByMember()}.
+     */
+    public String printByMember() {
+        List<Rows> sorted = eachShard(shard -> shard.read(() -> new Rows(shard.members.sortByMember(), Member::toString)));
+        int[] next = new int[sorted.size()];
+        StringBuilder sb = new StringBuilder("\n-list of members sorted by member profiles-\n");
+        int total = 0;
+        while (true) {
+            int least = -1;
+            for (int i = 0; i < sorted.size(); i++) {
+                if (next[i] < sorted.get(i).members.length && (least == -1 ||
+                        MemberList.compareMembers(sorted.get(i).members[next[i]], sorted.get(least).members[next[least]]) < 0)) {
+                    least = i;
+                }
+            }
+            if (least == -1) {
+                break;
+            }
+            sb.append(sorted.get(least).lines[next[least]++]).append("\n");
+            total++;
+        }
+        if (total == 0) {
+            return "Collection is empty!";
+        }
+        return sb.append("-end of list-\n").toString();
+    }
+
+    /**
+     * Generates the members of every studio sorted by county, then zip code. All members of a shard share a
+     * county and zip code, so each shard is rendered in parallel in its own order, and the shards are listed by
+     * county and zip code.
+     *
+     * @return The report, in the format of {@link MemberList#printByCounty()}.
+     */
+    public String printByCounty() {
+        List<Rows> rendered = eachShard(shard -> shard.read(() -> new Rows(shard.members.toArray(), Member::toString)));
+        StringBuilder sb = new StringBuilder("\n-list of members sorted by county then zipcode-\n");
+        int total = 0;
+        for (Location studio : BY_COUNTY) {
+            for (String line : rendered.get(studio.ordinal()).lines) {
+                sb.append(line).append("\n");
+                total++;
+            }
+        }
+        if (total == 0) {
+            return "Collection is empty!";
+        }
+        return sb.append("-end of list-\n").toString();
+    }
+
+    /**
+     * Generates the members of every studio with their next due fees. Each shard is billed and rendered in
+     * parallel, and the shards are merged by member ID, which lists the members in the order they were added.
+     *
+     * @return The report, in the format of {@link MemberList#printFees()}.
+     */
+    public String printFees() {
+        List<Rows> billed = eachShard(shard -> shard.read(() -> new Rows(shard.members.toArray(), MemberList::feeLine)));
+        int[] next = new int[billed.size()];
+        StringBuilder sb = new StringBuilder("\n-list of members with next dues-\n");
+        int total = 0;
+        while (true) {
+            int least = -1;
+            for (int i = 0; i < billed.size(); i++) {
+                if (next[i] < billed.get(i).members.length && (least == -1 ||
+                        billed.get(i).members[next[i]].getId() < billed.get(least).members[next[least]].getId())) {
+                    least = i;
+                }
+            }
+            if (least == -1) {
+                break;
+            }
+            sb.append(billed.get(least).lines[next[least]++]);
+            total++;
+        }
+        if (total == 0) {
+            return "Collection is empty!";
+        }
+        return sb.append("-end of list-").toString();
+    }
+
+    /**
+     * Runs code on every shard in parallel.
+     *
+     * @param action The code to run on a shard, which takes the shard's lock itself.
+     * @param <T>    The result type.
+     * @return The results, in the order of the shards.
+     */
+    private <T> List<T> eachShard(Function<Shard, T> action) {
+        return Arrays.stream(shards).parallel().map(action).toList();
+    }
+
+    /**
+     * The members of one studio and the lock that guards them.
+     */
+    private static class Shard {
+        /**
+         * The members of the studio
+         **/
+        private final MemberList members = new MemberList();
+
+        /**
+         * Guards the members of the studio
+         **/
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Runs code that reads the members while no operation changes them.
+         *
+         * @param action The code to run.
+         * @param <T>    The result type.
+         * @return The result of the code.
+         */
+        private <T> T read(Supplier<T> action) {
+            lock.readLock().lock();
+            try {
+                return action.get();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Runs code that changes the members while no other code reads or changes them.
+         *
+         * @param action The code to run.
+         * @param <T>    The result type.
+         * @return The result of the code.
+         */
+        private <T> T write(Supplier<T> action) {
+            lock.writeLock().lock();
+            try {
+                return action.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Members of a shard in report order, with the report line of each.
+     */
+    private static class Rows {
+        /**
+         * The members, in report order
+         **/
+        private final Member[] members;
+
+        /**
+         * The report line of each member
+         **/
+        private final String[] lines;
+
+        /**
+         * Renders the report line of each member.
+         *
+         * @param members The members, in report order.
+         * @param render  Renders the line of a member.
+         */
+        private Rows(Member[] members, Function<Member, String> render) {
+            this.members = members;
+            this.lines = new String[members.length];
+            for (int i = 0; i < members.length; i++) {
+                lines[i] = render.apply(members[i]);
+            }
+        }
+    }
+}
@@ -5,17 +5,26 @@ import enums.Instructor;
 import enums.Location;
 import enums.Offer;
 import enums.Time;
+import metrics.FindClassEvent;
+import metrics.LoadEvent;
+import metrics.Metrics;
+import metrics.Operation;
+import metrics.ReportEvent;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages the schedule of fitness classes, including loading classes from a file,
  * growing the internal storage as needed, and printing the schedule. Classes are
  * identified and managed based on different attributes such as class name, instructor,
- * time, and location.
+ * time, and location. Listeners registered with {@link #addListener(ScheduleListener)} are told about every
+ * class added and every change to the roster of a class.
  *
  * @author Sasanka Paththameistreege
  */
@@ -25,6 +34,17 @@ public class Schedule {
      **/
     private static final int INITIAL_CAPACITY = 4;
 
+    /**
+     * Index of the optional class capacity token in a schedule file line
+     **/
+    private static final int CAPACITY_INDEX = 4;
+
+    /**
+     * Latencies of adding a class and of finding one
+     **/
+    private static final Operation ADD = Metrics.operation("Schedule", "add"),
+            FIND_CLASS = Metrics.operation("Schedule", "findClassByCriteria");
+
     /**
      * Array to hold fitness class objects
      **/
@@ -35,6 +55,16 @@ public class Schedule {
      **/
     private int numClasses;
 
+    /**
+     * Listeners notified of changes to the schedule and its classes
+     **/
+    private final CopyOnWriteArrayList<ScheduleListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publishes the changes to the schedule and its classes as a stream
+     **/
+    private final ChangePublisher changes = new ChangePublisher();
+
     /**
      * Constructs an empty Schedule with an initial capacity for fitness classes.
      */
@@ -57,31 +87,134 @@ public class Schedule {
     /**
      * Loads fitness classes from a specified file into the schedule. The file format should match
      * the expected pattern for class information, including the class name, instructor, time, and location.
+     * An optional fifth token limits the capacity of the class; without it the class has no limit.
      *
      * @param file The file from which to load the fitness classes.
      * @throws FileNotFoundException if the specified file does not exist.
      */
     public void load(File file) throws FileNotFoundException {
+        LoadEvent event = LoadEvent.start("Schedule.load", file.getPath());
         Scanner scanner = new Scanner(file);
         while (scanner.hasNextLine()) {
+            FitnessClass fitnessClass = parseClass(scanner.nextLine());
+            if (fitnessClass != null) {
+                add(fitnessClass);
+            }
+            event.rows++;
+        }
+        scanner.close();
+        event.bytes = file.length();
+        event.commit();
+    }
+
+    /**
+     * Writes every class in the schedule in the schedule file format read by {@link #load(File)}, one per line.
+     * The capacity is written only for classes with a limit; class rosters are not kept.
+     *
+     * @param out The destination of the schedule.
+     * @throws IOException if writing fails.
+     */
+    public void save(Writer out) throws IOException {
+        for (int i = 0; i < numClasses; i++) {
+            FitnessClass fitnessClass = classes[i];
+            out.write(fitnessClass.getClassInfo().getClassName() + " " + fitnessClass.getInstructor().getName() + " " +
+                    fitnessClass.getTime().name().toLowerCase() + " " + fitnessClass.getStudio().getCity());
+            if (fitnessClass.getCapacity() != FitnessClass.UNLIMITED_CAPACITY) {
+                out.write(" " + fitnessClass.getCapacity());
+            }
+            out.write("\n");
+        }
+    }
+
+    /**
+     * Parses one line of a schedule file: the class name, instructor, time, studio, and an optional capacity.
+     *
+     * @param line The line to parse.
+     * @return The fitness class described by the line, or null if the class name is not offered.
+     * @throws IllegalArgumentException if the instructor, time, or studio is invalid.
+     */
+    public static FitnessClass parseClass(String line) {
+        String[] parts = line.split("\\s+");
+        Offer classInfo = getOfferByClassName(parts[0]);
+        if (classInfo == null) {
+            return null;
+        }
+        Instructor instructor = Instructor.valueOf(parts[1].toUpperCase());
+        Time time = Time.valueOf(parts[2].toUpperCase());
+        Location studio = Location.valueOf(parts[3].toUpperCase());
+        int capacity = parts.length > CAPACITY_INDEX ? Integer.parseInt(parts[CAPACITY_INDEX]) : FitnessClass.UNLIMITED_CAPACITY;
+        return new FitnessClass(classInfo, instructor, studio, time, capacity);
+    }
+
+    /**
+     * Adds a fitness class to the end of the schedule, growing the storage if needed.
+     *
+     * @param fitnessClass The class to add.
+     */
+    public void add(FitnessClass fitnessClass) {
+        long start = ADD.start();
+        try {
             if (numClasses == classes.length) {
                 grow();
             }
-            String line = scanner.nextLine();
-            String[] parts = line.split("\\s+");
-            Offer classInfo = getOfferByClassName(parts[0]);
-            if (classInfo == null) {
-                continue;
-            }
-            Instructor instructor = Instructor.valueOf(parts[1].toUpperCase());
-            Time time = Time.valueOf(parts[2].toUpperCase());
-            Location studio = Location.valueOf(parts[3].toUpperCase());
-            FitnessClass fitnessClass = new FitnessClass(classInfo, instructor, studio, time);
+            int index = numClasses;
             classes[numClasses++] = fitnessClass;
+            fitnessClass.setSchedule(this, index);
+            fire(new ScheduleEvent(ScheduleEvent.Type.CLASS_ADDED, fitnessClass, index, ScheduleEvent.NO_MEMBER,
+                    fitnessClass.getMembers().getSize() + fitnessClass.getGuests().getSize()));
+        } finally {
+            ADD.record(start);
         }
-        scanner.close();
     }
 
+    /**
+     * Registers a listener to be told about classes added to the schedule and changes to their rosters.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(ScheduleListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener(ScheduleListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(ScheduleListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers an event to every listener of the schedule.
+     *
+     * @param event The change to report.
+     */
+    void fire(ScheduleEvent event) {
+        for (ScheduleListener listener : listeners) {
+            listener.scheduleChanged(event);
+        }
+        if (changes.hasSubscribers()) {
+            ChangeEvent.Type type = switch (event.getType()) {
+                case CLASS_ADDED -> ChangeEvent.Type.CLASS_ADDED;
+                case MEMBER_REGISTERED -> ChangeEvent.Type.MEMBER_REGISTERED;
+                case MEMBER_UNREGISTERED -> ChangeEvent.Type.MEMBER_UNREGISTERED;
+                case GUEST_ADDED -> ChangeEvent.Type.GUEST_ADDED;
+                case GUEST_REMOVED -> ChangeEvent.Type.GUEST_REMOVED;
+            };
+            changes.publish(type, event.getMemberId(), event.getIndex());
+        }
+    }
+
+    /**
+     * Retrieves the stream of changes to the schedule: classes added, and members and guests registered
+     * and removed. Unlike listeners, subscribers receive the changes in batches on their own threads.
+     *
+     * @return The change publisher of the schedule.
+     */
+    public ChangePublisher getChanges() {
+        return changes;
+    }
 
     /**
      * Retrieves the Offer enum based on a class name string.
@@ -89,7 +222,7 @@ public class Schedule {
      * @param className The name of the class to match with an Offer.
      * @return The matching Offer or null if no match is found.
      */
-    private Offer getOfferByClassName(String className) {
+    private static Offer getOfferByClassName(String className) {
         for (Offer offer : Offer.values()) {
             if (offer.getClassName().equalsIgnoreCase(className)) {
                 return offer;
@@ -107,6 +240,7 @@ public class Schedule {
      * or a message indicating that no classes are scheduled.
      */
     public String getScheduleString() {
+        ReportEvent event = ReportEvent.start("Schedule.getScheduleString", numClasses);
         StringBuilder sb = new StringBuilder();
         if(numClasses == 0) {
             sb.append("There are no schedule classes.");
@@ -121,10 +255,11 @@ public class Schedule {
                         fitnessClass.getClassInfo(),
                         fitnessClass.getInstructor(),
                         hr, min,
-                        fitnessClass.getStudio().getCity().toUpperCase()));
+                        fitnessClass.getStudio().getCityUpperCase()));
             }
             sb.append("-end of class list.\n");
         }
+        event.commit();
         return sb.toString();
     }
 
@@ -135,10 +270,12 @@ public class Schedule {
      * time, studio location) followed by the names of all registered members and guests, if any.
      * If no classes are scheduled, a message indicating this is returned instead.
      *
+     * @param directory The member list used to resolve the member IDs stored in the class rosters.
      * @return A formatted string detailing all fitness classes with their attendees and guests,
      * or a message indicating that no classes are scheduled.
      */
-    public String printClassWithAttendees() {
+    public String printClassWithAttendees(MemberList directory) {
+        ReportEvent event = ReportEvent.start("Schedule.printClassWithAttendees", numClasses);
         StringBuilder sb = new StringBuilder();
         if(numClasses == 0) {
             sb.append("There are no schedule classes.");
@@ -152,17 +289,18 @@ public class Schedule {
                     fitnessClass.getClassInfo(),
                     fitnessClass.getInstructor(),
                     hr, min,
-                    fitnessClass.getStudio().getCity().toUpperCase()));
+                    fitnessClass.getStudio().getCityUpperCase()));
             if (classes[i].getMembers().getSize() > 0) {
                 sb.append("[Attendees]");
-                sb.append(classes[i].getMembers().getMemberListString());
+                sb.append(directory.getMemberListString(classes[i].getMembers()));
             }
             if(classes[i].getGuests().getSize() > 0) {
                 sb.append("[Guests]");
-                sb.append(classes[i].getGuests().getMemberListString());
+                sb.append(directory.getMemberListString(classes[i].getGuests()));
             }
         }
         }
+        event.commit();
         return sb.toString();
     }
 
@@ -175,19 +313,31 @@ public class Schedule {
      * @return The matching FitnessClass or null if no match is found.
      */
     public FitnessClass findClassByCriteria(Offer offer, Instructor instructor, Location location) {
-        for (int i = 0; i < numClasses; i++) {
-            FitnessClass fc = classes[i];
-            if (fc.getClassInfo() == offer && fc.getInstructor() == instructor && fc.getStudio() == location) {
-                return fc;
-            }
+        long start = FIND_CLASS.start();
+        FindClassEvent event = new FindClassEvent();
+        event.begin();
+        int i = 0;
+        while (i < numClasses && !(classes[i].getClassInfo() == offer && classes[i].getInstructor() == instructor
+                && classes[i].getStudio() == location)) {
+            i++;
         }
-        return null;
+        FitnessClass found = i < numClasses ? classes[i] : null;
+        FIND_CLASS.record(start);
+        if (event.shouldCommit()) {
+            event.offer = offer.name();
+            event.instructor = instructor.name();
+            event.studio = location.name();
+            event.scanned = found == null ? numClasses : i + 1;
+            event.found = found != null;
+            event.commit();
+        }
+        return found;
     }
 
     /**
      * Checks for a time conflict between a member's already registered fitness classes and a new class time.
-     * This method iterates through all registered classes of the given member and compares their times
-     * with the time of a new class being considered for registration. It is used to ensure that members
+     * The member keeps a count of registered classes per time slot, so the check takes constant time
+     * regardless of how many classes the member has registered for. It is used to ensure that members
      * do not register for overlapping classes.
      *
      * @param member       The member whose registered classes are to be checked for a time conflict.
@@ -196,13 +346,7 @@ public class Schedule {
      * at the new class's time; false otherwise.
      */
     public boolean checkForMemberTimeConflict(Member member, Time newClassTime) {
-        for (int i = 0; i < member.getRegisteredClassCount(); i++) {
-            FitnessClass registeredClass = member.getRegisteredClasses()[i];
-            if (registeredClass != null && registeredClass.getTime().equals(newClassTime)) {
-                return true;
-            }
-        }
-        return false;
+        return member.hasClassAt(newClassTime);
     }
 
     /**
@@ -229,6 +373,20 @@ public class Schedule {
         return classList;
     }
 
+    /**
+     * Retrieves a class by its position in the schedule. Positions never change, since classes are only
+     * added at the end, so a kiosk may keep the position of a class as its ID.
+     *
+     * @param index The position of the class, from 0.
+     * @return The class, or null if no class has the position.
+     */
+    public FitnessClass getClassAt(int index) {
+        if (index < 0 || index >= numClasses) {
+            return null;
+        }
+        return classes[index];
+    }
+
     /**
      * Retrieves the total number of fitness classes currently scheduled.
      * This method provides a simple way to access the count of classes managed by the class scheduler.
@@ -0,0 +1,108 @@
+package impl;
+
+/**
+ * A change to a {@link Schedule} or to the roster of one of its classes, delivered to every
+ * {@link ScheduleListener} of the schedule. Events are immutable.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class ScheduleEvent {
+    /**
+     * The kinds of schedule changes.
+     */
+    public enum Type {
+        /** A class was added to the schedule. */
+        CLASS_ADDED,
+        /** A member was registered for a class, directly or by promotion from the waitlist. */
+        MEMBER_REGISTERED,
+        /** A member was removed from a class. */
+        MEMBER_UNREGISTERED,
+        /** A guest of a member was added to a class. */
+        GUEST_ADDED,
+        /** A guest of a member was removed from a class. */
+        GUEST_REMOVED
+    }
+
+    /**
+     * Member ID of an event that does not concern a member
+     **/
+    public static final int NO_MEMBER = -1;
+
+    /** The kind of change. */
+    private final Type type;
+
+    /** The class that changed. */
+    private final FitnessClass fitnessClass;
+
+    /** The position of the class in the schedule. */
+    private final int index;
+
+    /** The ID of the member registered or unregistered, or of the host of the guest; NO_MEMBER otherwise. */
+    private final int memberId;
+
+    /** The number of members and guests attending the class after the change. */
+    private final int attendance;
+
+    /**
+     * Constructs a schedule event.
+     *
+     * @param type         the kind of change.
+     * @param fitnessClass the class that changed.
+     * @param index        the position of the class in the schedule.
+     * @param memberId     the ID of the member or guest host concerned, or {@link #NO_MEMBER}.
+     * @param attendance   the number of members and guests attending the class after the change.
+     */
+    public ScheduleEvent(Type type, FitnessClass fitnessClass, int index, int memberId, int attendance) {
+        this.type = type;
+        this.fitnessClass = fitnessClass;
+        this.index = index;
+        this.memberId = memberId;
+        this.attendance = attendance;
+    }
+
+    /**
+     * Retrieves the kind of change.
+     *
+     * @return the event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the class that changed.
+     *
+     * @return the fitness class.
+     */
+    public FitnessClass getFitnessClass() {
+        return fitnessClass;
+    }
+
+    /**
+     * Retrieves the position of the class in the schedule.
+     *
+     * @return the index of the class, from 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Retrieves the ID of the member registered or unregistered, or of the member who brought the guest.
+     *
+     * @return the member ID, or {@link #NO_MEMBER} for a class added.
+     */
+    public int getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Retrieves the number of members and guests attending the class after the change. The count is taken
+     * when the event is created, so a listener may use it without reading the class again.
+     *
+     * @return the attendance of the class.
+     */
+    public int getAttendance() {
+        return attendance;
+    }
+}
@@ -0,0 +1,19 @@
+package impl;
+
+/**
+ * Receives the changes made to a {@link Schedule} and to the rosters of its classes.
+ * Listeners are called on the thread that made the change, while the class involved is locked,
+ * so they must return quickly and must not block; a listener updating a user interface should
+ * hand the event over to the interface thread.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@FunctionalInterface
+public interface ScheduleListener {
+    /**
+     * Called after the schedule or the roster of one of its classes changed.
+     *
+     * @param event the change.
+     */
+    void scheduleChanged(ScheduleEvent event);
+}
@@ -0,0 +1,818 @@
+package impl;
+
+import data.*;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import metrics.Metrics;
+import metrics.Operation;
+
+import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * The headless command engine of the studio. It holds the validation and registration rules for adding and
+ * cancelling members and for registering members and guests in classes, applied to a {@link MemberList} and a
+ * {@link Schedule}. Every operation returns the message shown to the user, so the JavaFX controller and the
+ * batch processor print the same text for the same outcome.
+ *
+ * <p>Batch command files are processed as a pipeline: a parser thread reads lines and performs every check
+ * that does not depend on the member database, handing parsed commands over in batches, while the calling
+ * thread validates them against the database and applies them in file order. See {@link Command} for the
+ * command format.</p>
+ *
+ * <p>The engine is thread-safe. Every operation holds the write lock of the engine while it validates and applies
+ * a change, and callers reading or changing the member list and schedule directly, such as the reports of the
+ * desk application or the lookups of the kiosk server, run that code with {@link #read(Supplier)} or
+ * {@link #write(Supplier)}. Each operation is short, so the lock is held only briefly per request.</p>
+ *
+ * <p>The count and latency of every operation are published over JMX; see {@link Metrics}.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class StudioManager {
+    /**
+     * Number of parsed commands handed from the parser thread to the apply stage at once
+     **/
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Number of parsed batches that may wait for the apply stage before the parser blocks
+     **/
+    private static final int PIPELINE_DEPTH = 16;
+
+    /**
+     * Empty batch marking the end of the command stream
+     **/
+    private static final Command[] END_OF_STREAM = new Command[0];
+
+    /**
+     * Latencies of the operations, including the wait for the lock
+     **/
+    private static final Operation ADD_MEMBER = Metrics.operation("StudioManager", "addMember"),
+            CANCEL = Metrics.operation("StudioManager", "cancelMembership"),
+            REGISTER = Metrics.operation("StudioManager", "registerMember"),
+            UNREGISTER = Metrics.operation("StudioManager", "unregisterMember"),
+            REGISTER_GUEST = Metrics.operation("StudioManager", "registerGuest"),
+            UNREGISTER_GUEST = Metrics.operation("StudioManager", "unregisterGuest"),
+            CHECK_IN = Metrics.operation("StudioManager", "checkIn");
+
+    /**
+     * The list of members of the studio
+     **/
+    private final MemberList memberList;
+
+    /**
+     * The schedule of fitness classes of the studio
+     **/
+    private final Schedule schedule;
+
+    /**
+     * Attendance of the classes of the schedule by class offered, instructor, studio, and time
+     **/
+    private final AttendanceCube attendance;
+
+    /**
+     * Guards the member list and schedule; operations that change them hold the write lock
+     **/
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs an engine over the given member list and schedule.
+     *
+     * @param memberList The members of the studio.
+     * @param schedule   The class schedule of the studio.
+     */
+    public StudioManager(MemberList memberList, Schedule schedule) {
+        this.memberList = memberList;
+        this.schedule = schedule;
+        this.attendance = AttendanceCube.attach(schedule);
+    }
+
+    /**
+     * Retrieves the member list the engine operates on.
+     *
+     * @return The member list.
+     */
+    public MemberList getMemberList() {
+        return memberList;
+    }
+
+    /**
+     * Retrieves the schedule the engine operates on.
+     *
+     * @return The schedule.
+     */
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Retrieves the attendance of the classes of the schedule, kept up to date as members and guests register
+     * and unregister. It is read under {@link #read(Supplier)}, like the schedule.
+     *
+     * @return The attendance cube of the schedule.
+     */
+    public AttendanceCube getAttendanceCube() {
+        return attendance;
+    }
+
+    /**
+     * Runs code that reads the member list or schedule while no operation changes them. Several readers
+     * may run at once.
+     *
+     * @param action The code to run.
+     * @param <T>    The result type.
+     * @return The result of the code.
+     */
+    public <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Generates the members sorted by profile, as {@link MemberList#printByMember()} does. The members are
+     * copied under the read lock and sorted without holding the lock, so the quadratic sort holds up no other
+     * operation; the report lists the members as they were when copied.
+     *
+     * @return The report.
+     */
+    public String printByMember() {
+        Member[] members = read(memberList::toArray);
+        MemberList.sortByMember(members);
+        return read(() -> MemberList.listByMember(members));
+    }
+
+    /**
+     * Generates the members sorted by county, then zip code, as {@link MemberList#printByCounty()} does. The
+     * members are copied under the read lock and sorted without holding the lock, so the quadratic sort holds up
+     * no other operation; the report lists the members as they were when copied.
+     *
+     * @return The report.
+     */
+    public String printByCounty() {
+        Member[] members = read(memberList::toArray);
+        MemberList.sortByCounty(members);
+        return read(() -> MemberList.listByCounty(members));
+    }
+
+    /**
+     * Runs code that changes the member list or schedule while no other code reads or changes them.
+     *
+     * @param action The code to run.
+     * @param <T>    The result type.
+     * @return The result of the code.
+     */
+    public <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Validates the date of birth of a new member. The date must not be today or in the future,
+     * must be a valid calendar date, and the member must be 18 or older.
+     *
+     * @param dob   The date of birth.
+     * @param shown The date as entered by the user, used in the message.
+     * @return The message describing the problem, or null if the date is acceptable.
+     */
+    public static String validateDob(Date dob, String shown) {
+        if (dob.isFutureDate()) {
+            return "DOB " + shown + ": cannot be today or a future date!";
+        }
+        if (!dob.isValid()) {
+            return "DOB " + shown + ": invalid calendar date!";
+        }
+        if (!dob.isEligible()) {
+            return "DOB " + shown + ": must be 18 or older to join!";
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new member of the given membership type. The membership expires one, three, or twelve months
+     * from today for Basic, Family, and Premium members.
+     *
+     * @param memberType  The membership type: Basic, Family, or Premium.
+     * @param profile     The profile of the new member, with a validated date of birth.
+     * @param location    The home studio of the new member.
+     * @param guestPasses The number of guest passes of the new member.
+     * @return The message describing the outcome.
+     */
+    public String addMember(String memberType, Profile profile, Location location, int guestPasses) {
+        long start = ADD_MEMBER.start();
+        try {
+            return write(() -> addMemberLocked(memberType, profile, location, guestPasses));
+        } finally {
+            ADD_MEMBER.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #addMember} while the write lock is held.
+     *
+     * @param memberType  The membership type.
+     * @param profile     The profile of the member.
+     * @param location    The home studio of the new member.
+     * @param guestPasses The number of guest passes of the new member.
+     * @return The message describing the outcome.
+     */
+    private String addMemberLocked(String memberType, Profile profile, Location location, int guestPasses) {
+        Member newMember;
+        switch (memberType) {
+            case "Basic" -> {
+                if (guestPasses != 0) {
+                    return "Basic Members Do not Offer Guest Passes";
+                }
+                newMember = new Basic(profile, Date.getCurrentDate().calculateOneMonthLater(), location);
+            }
+            case "Family" -> {
+                if (guestPasses > 1) {
+                    return "Family Members can have max 1 Guest Pass";
+                }
+                Family family = new Family(profile, Date.getCurrentDate().calculateThreeMonthsLater(), location);
+                if (guestPasses == 0) {
+                    family.takeAttendanceOfGuest();
+                }
+                newMember = family;
+            }
+            case "Premium" -> {
+                Premium premium = new Premium(profile, Date.getCurrentDate().calculateTwelveMonthsLater(), location);
+                premium.setGuestPass(guestPasses);
+                newMember = premium;
+            }
+            default -> {
+                return "Please select a member type.";
+            }
+        }
+        if (!memberList.add(newMember)) {
+            return profile.getFname() + " " + profile.getLname() + " is already in the member database.";
+        }
+        return profile.getFname() + " " + profile.getLname() + " added.";
+    }
+
+    /**
+     * Cancels a membership, removing the member from every class they attend or wait for.
+     *
+     * @param profile The profile of the member.
+     * @return The message describing the outcome.
+     */
+    public String cancelMembership(Profile profile) {
+        long start = CANCEL.start();
+        try {
+            return write(() -> cancelMembershipLocked(profile));
+        } finally {
+            CANCEL.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #cancelMembership} while the write lock is held.
+     *
+     * @param profile The profile of the member.
+     * @return The message describing the outcome.
+     */
+    private String cancelMembershipLocked(Profile profile) {
+        if (memberList.cancelMembership(new Member(profile, null, null))) {
+            return profile.getFname() + " " + profile.getLname() + " removed.";
+        }
+        return profile.getFname() + " " + profile.getLname() + " is not in the member database.";
+    }
+
+    /**
+     * Registers a member for a class. The member must exist and not be expired, a Basic member may only attend
+     * classes at their home studio, and the member must not already be in the class or in another class at the
+     * same time. If the class is full, the member joins its waitlist instead.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    public String registerMember(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        long start = REGISTER.start();
+        try {
+            return write(() -> registerMemberLocked(offer, instructor, studio, profile));
+        } finally {
+            REGISTER.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #registerMember} while the write lock is held.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    private String registerMemberLocked(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        Member member = memberList.retrieveMember(profile);
+        if (member == null) {
+            return memberNotFound(profile);
+        }
+        String error = checkMemberMayAttend(member, studio);
+        if (error != null) {
+            return error;
+        }
+        FitnessClass fitnessClass = schedule.findClassByCriteria(offer, instructor, studio);
+        if (fitnessClass == null) {
+            return classDoesNotExist(offer, instructor, studio);
+        }
+        switch (enroll(member, fitnessClass)) {
+            case ALREADY_REGISTERED -> {
+                return fullName(member) + " is already in the class.";
+            }
+            case TIME_CONFLICT -> {
+                String time = formatTime(fitnessClass.getTime().toString());
+                return "Time conflict - " + fullName(member) + " is in another class held at " + time + " - " +
+                        fitnessClass.getInstructor().name() + ", " + time + ", " + fitnessClass.getStudio().getCityUpperCase();
+            }
+            case WAITLISTED -> {
+                return fullName(member) + " is added to the waitlist of " + fitnessClass.getClassInfo().getClassName().toUpperCase() +
+                        " at " + fitnessClass.getStudio().getCityUpperCase() + ", position " +
+                        fitnessClass.getWaitlistPosition(member) + ".";
+            }
+            default -> {
+            }
+        }
+        return fullName(member) + " attendance recorded " + describeClass(fitnessClass);
+    }
+
+    /**
+     * Checks a member in to a class by the member's ID and the position of the class in the schedule, as a
+     * card scan at the door does. The rules are those of
+     * {@link #registerMember(Offer, Instructor, Location, Profile)}, but the member and class are found with one
+     * array lookup each and no message is built, so a check-in takes no string handling at all.
+     *
+     * @param memberId   The ID of the member, as assigned by the member list.
+     * @param classIndex The position of the class in the schedule, from 0.
+     * @return The outcome of the check-in.
+     */
+    public CheckInResult checkIn(int memberId, int classIndex) {
+        long start = CHECK_IN.start();
+        lock.writeLock().lock();
+        try {
+            Member member = memberList.getById(memberId);
+            if (member == null) {
+                return CheckInResult.MEMBER_NOT_FOUND;
+            }
+            FitnessClass fitnessClass = schedule.getClassAt(classIndex);
+            if (fitnessClass == null) {
+                return CheckInResult.CLASS_NOT_FOUND;
+            }
+            if (member.isMembershipExpired()) {
+                return CheckInResult.MEMBERSHIP_EXPIRED;
+            }
+            if (member instanceof Basic && member.getHomeStudio() != fitnessClass.getStudio()) {
+                return CheckInResult.WRONG_STUDIO;
+            }
+            return enroll(member, fitnessClass);
+        } finally {
+            lock.writeLock().unlock();
+            CHECK_IN.record(start);
+        }
+    }
+
+    /**
+     * Registers a member who may attend a class, or puts them on the waitlist of the class if it is full.
+     * A Basic member registered has the class counted against their plan.
+     *
+     * @param member       The member.
+     * @param fitnessClass The class.
+     * @return CHECKED_IN, WAITLISTED, ALREADY_REGISTERED or TIME_CONFLICT.
+     */
+    private CheckInResult enroll(Member member, FitnessClass fitnessClass) {
+        if (fitnessClass.isMemberRegistered(member)) {
+            return CheckInResult.ALREADY_REGISTERED;
+        }
+        if (schedule.checkForMemberTimeConflict(member, fitnessClass.getTime())) {
+            return CheckInResult.TIME_CONFLICT;
+        }
+        if (!fitnessClass.addMember(member)) {
+            fitnessClass.joinWaitlist(member);
+            return CheckInResult.WAITLISTED;
+        }
+        if (member instanceof Basic) {
+            ((Basic) member).attendClass();
+        }
+        return CheckInResult.CHECKED_IN;
+    }
+
+    /**
+     * Unregisters a member from a class, or takes them off its waitlist.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    public String unregisterMember(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        long start = UNREGISTER.start();
+        try {
+            return write(() -> unregisterMemberLocked(offer, instructor, studio, profile));
+        } finally {
+            UNREGISTER.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #unregisterMember} while the write lock is held.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    private String unregisterMemberLocked(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        Member member = memberList.retrieveMember(profile);
+        if (member == null) {
+            return "Member not found.";
+        }
+        FitnessClass fitnessClass = schedule.findClassByCriteria(offer, instructor, studio);
+        if (fitnessClass == null) {
+            return "Class not found.";
+        }
+        String where = instructor.name() + ", " + formatTime(fitnessClass.getTime().toString()) + ", " + fitnessClass.getStudio();
+        if (fitnessClass.removeMember(member)) {
+            return profile.getFname() + " " + profile.getLname() + " is removed from " + where;
+        }
+        if (fitnessClass.leaveWaitlist(member)) {
+            return profile.getFname() + " " + profile.getLname() + " is removed from the waitlist of " + where;
+        }
+        return profile.getFname() + " " + profile.getLname() + " is not in " + where;
+    }
+
+    /**
+     * Registers a guest of a member for a class, using one of the member's guest passes. Only Family and Premium
+     * members have guest passes, and guests may only attend classes at the member's home studio.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member bringing the guest.
+     * @return The message describing the outcome.
+     */
+    public String registerGuest(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        long start = REGISTER_GUEST.start();
+        try {
+            return write(() -> registerGuestLocked(offer, instructor, studio, profile));
+        } finally {
+            REGISTER_GUEST.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #registerGuest} while the write lock is held.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    private String registerGuestLocked(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        Member member = memberList.retrieveMember(profile);
+        if (member == null) {
+            return memberNotFound(profile);
+        }
+        String error = checkMemberMayAttend(member, studio);
+        if (error != null) {
+            return error;
+        }
+        FitnessClass fitnessClass = schedule.findClassByCriteria(offer, instructor, studio);
+        if (fitnessClass == null) {
+            return classDoesNotExist(offer, instructor, studio);
+        }
+        if (member instanceof Basic) {
+            return fullName(member) + " [BASIC] - no guest pass.";
+        }
+        if (!hasGuestPass(member)) {
+            return fullName(member) + " guest pass not available.";
+        }
+        if (member.getHomeStudio() != studio) {
+            return fullName(member) + " (guest) is attending a class at " + studio.name() +
+                    " - home studio at " + member.getHomeStudio().getCityUpperCase();
+        }
+        if (!fitnessClass.addGuest(member)) {
+            return fullName(member) + " (guest) cannot attend " + fitnessClass.getClassInfo().getClassName().toUpperCase() +
+                    " at " + fitnessClass.getStudio().getCityUpperCase() + " - the class is full.";
+        }
+        if (member instanceof Family) {
+            ((Family) member).takeAttendanceOfGuest();
+        } else if (member instanceof Premium) {
+            ((Premium) member).takeAttendanceOfGuest();
+        }
+        memberList.getChanges().publish(ChangeEvent.Type.GUEST_PASS_USED, member.getId(), fitnessClass.getScheduleIndex());
+        return fullName(member) + " (guest) attendance recorded " + describeClass(fitnessClass);
+    }
+
+    /**
+     * Unregisters a guest of a member from a class and returns the guest pass to the member.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member who brought the guest.
+     * @return The message describing the outcome.
+     */
+    public String unregisterGuest(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        long start = UNREGISTER_GUEST.start();
+        try {
+            return write(() -> unregisterGuestLocked(offer, instructor, studio, profile));
+        } finally {
+            UNREGISTER_GUEST.record(start);
+        }
+    }
+
+    /**
+     * Applies {@link #unregisterGuest} while the write lock is held.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @param profile    The profile of the member.
+     * @return The message describing the outcome.
+     */
+    private String unregisterGuestLocked(Offer offer, Instructor instructor, Location studio, Profile profile) {
+        Member member = memberList.retrieveMember(profile);
+        if (member == null) {
+            return "Member not found.";
+        }
+        FitnessClass fitnessClass = schedule.findClassByCriteria(offer, instructor, studio);
+        if (fitnessClass == null) {
+            return "Class not found.";
+        }
+        String where = instructor.name() + ", " + formatTime(fitnessClass.getTime().toString()) + ", " + fitnessClass.getStudio();
+        if (!fitnessClass.removeGuest(member)) {
+            return profile.getFname() + " " + profile.getLname() + " (guest) is not in " + where;
+        }
+        if (member instanceof Family) {
+            ((Family) member).removeAttendanceOfGuest();
+        } else if (member instanceof Premium) {
+            ((Premium) member).removeGuest();
+        }
+        memberList.getChanges().publish(ChangeEvent.Type.GUEST_PASS_RETURNED, member.getId(), fitnessClass.getScheduleIndex());
+        return profile.getFname() + " " + profile.getLname() + " (guest) is removed from " + where;
+    }
+
+    /**
+     * Applies a parsed batch command.
+     *
+     * @param command The command to apply.
+     * @return The message describing the outcome, or null for a quit command.
+     */
+    public String apply(Command command) {
+        return switch (command.getType()) {
+            case ADD_MEMBER -> addMember(command.getMemberType(), command.getProfile(), command.getLocation(), command.getGuestPasses());
+            case CANCEL -> cancelMembership(command.getProfile());
+            case REGISTER -> registerMember(command.getOffer(), command.getInstructor(), command.getLocation(), command.getProfile());
+            case UNREGISTER -> unregisterMember(command.getOffer(), command.getInstructor(), command.getLocation(), command.getProfile());
+            case REGISTER_GUEST -> registerGuest(command.getOffer(), command.getInstructor(), command.getLocation(), command.getProfile());
+            case UNREGISTER_GUEST -> unregisterGuest(command.getOffer(), command.getInstructor(), command.getLocation(), command.getProfile());
+            case INVALID -> command.getError();
+            case QUIT -> null;
+        };
+    }
+
+    /**
+     * Parses and applies a single command line.
+     *
+     * @param line The command line.
+     * @return The message describing the outcome, or null for a blank line or a quit command.
+     */
+    public String execute(String line) {
+        Command command = Command.parse(line);
+        return command == null ? null : apply(command);
+    }
+
+    /**
+     * Processes a batch command stream, writing one message per command. Lines are parsed on a separate
+     * thread and handed to the calling thread in batches, which applies them in order. Processing stops at
+     * the end of the stream or at a {@code Q} command.
+     *
+     * @param in  The command stream.
+     * @param out The destination of the messages.
+     * @return The number of commands applied.
+     * @throws IOException if reading the commands or writing the messages fails.
+     */
+    public long process(BufferedReader in, Writer out) throws IOException {
+        BlockingQueue<Command[]> queue = new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+        IOException[] parseError = new IOException[1];
+        Thread parser = new Thread(() -> parseStage(in, queue, parseError), "command-parser");
+        parser.setDaemon(true);
+        parser.start();
+        long applied = 0;
+        try {
+            while (true) {
+                Command[] batch = queue.take();
+                if (batch == END_OF_STREAM) {
+                    break;
+                }
+                for (Command command : batch) {
+                    if (command == null) {
+                        break;
+                    }
+                    String message = apply(command);
+                    if (message == null) {
+                        out.flush();
+                        return applied;
+                    }
+                    out.write(message);
+                    out.write('\n');
+                    applied++;
+                }
+            }
+            parser.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Command processing interrupted");
+        } finally {
+            parser.interrupt();
+        }
+        out.flush();
+        if (parseError[0] != null) {
+            throw parseError[0];
+        }
+        return applied;
+    }
+
+    /**
+     * The parse stage of the pipeline: reads and parses lines, handing over full batches of commands
+     * followed by the end-of-stream marker. Reading stops after a {@code Q} command, so the lines after it
+     * are never read.
+     *
+     * @param in         The command stream.
+     * @param queue      The queue feeding the apply stage.
+     * @param parseError Holder for an exception thrown while reading.
+     */
+    private void parseStage(BufferedReader in, BlockingQueue<Command[]> queue, IOException[] parseError) {
+        try {
+            Command[] batch = new Command[BATCH_SIZE];
+            int n = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                Command command = Command.parse(line);
+                if (command == null) {
+                    continue;
+                }
+                batch[n++] = command;
+                if (command.getType() == Command.Type.QUIT) {
+                    break;
+                }
+                if (n == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new Command[BATCH_SIZE];
+                    n = 0;
+                }
+            }
+            if (n > 0) {
+                queue.put(batch);
+            }
+        } catch (IOException e) {
+            parseError[0] = e;
+        } catch (InterruptedException e) {
+            return;
+        }
+        try {
+            queue.put(END_OF_STREAM);
+        } catch (InterruptedException ignored) {
+            // the apply stage has stopped early and no longer reads the queue
+        }
+    }
+
+    /**
+     * Checks that a member may attend a class at the studio: the membership must not be expired, and a Basic
+     * member must attend at their home studio.
+     *
+     * @param member The member.
+     * @param studio The studio of the class.
+     * @return The message describing the problem, or null if the member may attend.
+     */
+    private String checkMemberMayAttend(Member member, Location studio) {
+        if (member.isMembershipExpired()) {
+            return fullName(member) + " " + member.getProfile().getDob() + " membership expired.";
+        }
+        if (member instanceof Basic && member.getHomeStudio() != studio) {
+            return fullName(member) + " is attending a class at " + studio.name() + " - [" + member.getMembershipType() +
+                    "] home studio at " + member.getHomeStudio().getCityUpperCase();
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a Family or Premium member has a guest pass left.
+     *
+     * @param member The member.
+     * @return true if the member has a guest pass, false otherwise.
+     */
+    private static boolean hasGuestPass(Member member) {
+        if (member instanceof Family) {
+            return ((Family) member).hasGuestPass();
+        }
+        return member instanceof Premium && ((Premium) member).hasGuestPass();
+    }
+
+    /**
+     * Builds the message for a member that is not in the database.
+     *
+     * @param profile The profile that was looked up.
+     * @return The message.
+     */
+    private static String memberNotFound(Profile profile) {
+        return profile.getFname() + " " + profile.getLname() + " " + profile.getDob() + " is not in the member database.";
+    }
+
+    /**
+     * Builds the message for a class that is not on the schedule.
+     *
+     * @param offer      The class offered.
+     * @param instructor The instructor of the class.
+     * @param studio     The studio of the class.
+     * @return The message.
+     */
+    private static String classDoesNotExist(Offer offer, Instructor instructor, Location studio) {
+        return offer.getClassName() + " by " + instructor.getName() + " does not exist at " + studio.getCity();
+    }
+
+    /**
+     * Describes the class and studio in an attendance message.
+     *
+     * @param fitnessClass The class.
+     * @return The class name and studio address.
+     */
+    private static String describeClass(FitnessClass fitnessClass) {
+        Location studio = fitnessClass.getStudio();
+        return fitnessClass.getClassInfo().getClassName().toUpperCase() + " at " + studio.getCityUpperCase() + ", " +
+                studio.getZipCode() + ", " + studio.getCountyUpperCase();
+    }
+
+    /**
+     * Builds the first and last name of a member.
+     *
+     * @param member The member.
+     * @return The full name.
+     */
+    private static String fullName(Member member) {
+        return member.getProfile().getFname() + " " + member.getProfile().getLname();
+    }
+
+    /**
+     * Formats time for printing, removing a leading zero.
+     *
+     * @param time The time string to format.
+     * @return A formatted time string.
+     */
+    private static String formatTime(String time) {
+        if (time.startsWith("0")) {
+            return time.substring(1);
+        }
+        return time;
+    }
+
+    /**
+     * Runs the batch processor from the command line. Members and the schedule are loaded from the
+     * optional files, then the commands are processed and the messages printed to standard output.
+     *
+     * @param args The command file, optionally followed by a member list file and a schedule file.
+     * @throws IOException if a file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StudioManager <commandFile> [memberFile] [scheduleFile]");
+            return;
+        }
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        if (args.length > 1) {
+            memberList.load(new File(args[1]));
+        }
+        if (args.length > 2) {
+            schedule.load(new File(args[2]));
+        }
+        StudioManager manager = new StudioManager(memberList, schedule);
+        long start = System.nanoTime();
+        long applied;
+        try (BufferedReader in = new BufferedReader(new FileReader(args[0]));
+             Writer out = new BufferedWriter(new OutputStreamWriter(System.out))) {
+            applied = manager.process(in, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d commands in %.3f s (%.0f commands/s)%n", applied, seconds, applied / seconds);
+    }
+}
@@ -0,0 +1,177 @@
+package impl;
+
+import data.Member;
+
+import java.util.HashMap;
+
+/**
+ * A first-in, first-out waitlist of members waiting for a seat in a full fitness class.
+ * Members are kept in a circular array in the order they joined. Every member is given a ticket
+ * number when joining, so the position of a member in the line is the distance between their
+ * ticket and the ticket at the head, which is answered in constant time.
+ * This class is not thread-safe on its own; the owning {@link FitnessClass} guards access to it.
+ *
+ * @author Sasanka Paththameistreege
+ */
+class Waitlist {
+    /**
+     * Initial capacity of the circular array
+     **/
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Value indicating a member is not on the waitlist
+     **/
+    static final int NOT_WAITLISTED = -1;
+
+    /**
+     * Circular array holding the waiting members in order of arrival
+     **/
+    private Member[] queue;
+
+    /**
+     * Index of the member at the head of the waitlist
+     **/
+    private int head;
+
+    /**
+     * The number of members currently waiting
+     **/
+    private int size;
+
+    /**
+     * Ticket number held by the member at the head of the waitlist
+     **/
+    private long headTicket;
+
+    /**
+     * Ticket number of every waiting member, used for constant time position lookups
+     **/
+    private final HashMap<Member, Long> tickets;
+
+    /**
+     * Constructs an empty waitlist.
+     */
+    Waitlist() {
+        queue = new Member[INITIAL_CAPACITY];
+        tickets = new HashMap<>();
+        head = 0;
+        size = 0;
+        headTicket = 0;
+    }
+
+    /**
+     * Gets the number of members currently waiting.
+     *
+     * @return the size of the waitlist.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks if nobody is waiting.
+     *
+     * @return true if the waitlist is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the member is on the waitlist.
+     *
+     * @param member The member to look for.
+     * @return true if the member is waiting, false otherwise.
+     */
+    boolean contains(Member member) {
+        return tickets.containsKey(member);
+    }
+
+    /**
+     * Adds a member to the tail of the waitlist if not already waiting.
+     *
+     * @param member The member to add.
+     * @return the 1-based position of the member in the waitlist.
+     */
+    int offer(Member member) {
+        Long ticket = tickets.get(member);
+        if (ticket != null) {
+            return (int) (ticket - headTicket) + 1;
+        }
+        if (size == queue.length) {
+            grow();
+        }
+        queue[(head + size) % queue.length] = member;
+        tickets.put(member, headTicket + size);
+        size++;
+        return size;
+    }
+
+    /**
+     * Removes and returns the member at the head of the waitlist.
+     *
+     * @return the member who has waited the longest, or null if the waitlist is empty.
+     */
+    Member poll() {
+        if (size == 0) {
+            return null;
+        }
+        Member member = queue[head];
+        queue[head] = null;
+        tickets.remove(member);
+        head = (head + 1) % queue.length;
+        headTicket++;
+        size--;
+        return member;
+    }
+
+    /**
+     * Removes a member from anywhere in the waitlist. Members behind the removed one move up
+     * by one position, which takes time proportional to the number of members behind it.
+     *
+     * @param member The member to remove.
+     * @return true if the member was waiting and has been removed, false otherwise.
+     */
+    boolean remove(Member member) {
+        Long ticket = tickets.remove(member);
+        if (ticket == null) {
+            return false;
+        }
+        int offset = (int) (ticket - headTicket);
+        for (int i = offset; i < size - 1; i++) {
+            Member next = queue[(head + i + 1) % queue.length];
+            queue[(head + i) % queue.length] = next;
+            tickets.put(next, headTicket + i);
+        }
+        queue[(head + size - 1) % queue.length] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the position of a member in the waitlist in constant time.
+     *
+     * @param member The member to look for.
+     * @return the 1-based position of the member, or {@link #NOT_WAITLISTED} if the member is not waiting.
+     */
+    int positionOf(Member member) {
+        Long ticket = tickets.get(member);
+        if (ticket == null) {
+            return NOT_WAITLISTED;
+        }
+        return (int) (ticket - headTicket) + 1;
+    }
+
+    /**
+     * Doubles the capacity of the circular array, unrolling it so the head is at index 0.
+     */
+    private void grow() {
+        Member[] temp = new Member[queue.length * 2];
+        for (int i = 0; i < size; i++) {
+            temp[i] = queue[(head + i) % queue.length];
+        }
+        queue = temp;
+        head = 0;
+    }
+}
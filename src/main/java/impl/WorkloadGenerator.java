@@ -0,0 +1,475 @@
+package impl;
+
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic member list files, schedule files and registration command streams, in the formats read by
+ * {@link MemberList#load}, {@link Schedule#load} and {@link StudioManager}, for benchmarks and load tests.
+ *
+ * <p>Member {@code i} and class {@code j} are derived from the seed and their number alone, so any of them can be
+ * generated again at any time without keeping the others. The generator therefore writes files of any size in
+ * constant memory, and the registration commands refer to members and classes of the files generated with the
+ * same seed. Member last names are unique, so every generated profile is.</p>
+ *
+ * <p>The studios, classes, instructors, membership plans and command types are drawn with configurable weights,
+ * uniform by default. Expiration dates fall from the year before a base year to two years after it, so some
+ * memberships have expired. The base year is {@link #DEFAULT_YEAR} unless given, never the current year, so the
+ * same seed writes the same files in any year.</p>
+ *
+ * <p>Usage: {@code WorkloadGenerator members|schedule|registrations count file [--seed=N] [--year=N] [--members=N]
+ * [--classes=N] [--locations=w,...] [--offers=w,...] [--instructors=w,...] [--plans=b,f,p] [--commands=r,u,rg,ug]},
+ * where {@code --members} and {@code --classes} give the sizes of the files the registrations refer to.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class WorkloadGenerator {
+    /**
+     * Seed used when none is given
+     **/
+    public static final long DEFAULT_SEED = 213;
+
+    /**
+     * Base year of the expiration dates when none is given
+     **/
+    public static final int DEFAULT_YEAR = 2026;
+
+    /**
+     * Number of members and classes the registrations refer to when none is given
+     **/
+    private static final int DEFAULT_REFERENCED = 1000;
+
+    /**
+     * First names of the generated members
+     **/
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Mary", "Jerry", "Roy", "Kate", "Paul", "Bill",
+            "Duke", "April", "Carl", "Nina", "Omar", "Lucy", "Ivan", "Rosa"};
+
+    /**
+     * Last names of the generated members, none the start of another, followed by a suffix making them unique
+     **/
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Patel", "Garcia", "Nguyen", "Kim", "Brown",
+            "Lopez", "Wilson", "Chen", "Taylor", "Murphy"};
+
+    /**
+     * Membership plans, as written in member list files
+     **/
+    private static final String[] PLANS = {"B", "F", "P"};
+
+    /**
+     * Registration commands, as written in command files
+     **/
+    private static final String[] COMMANDS = {"R", "U", "RG", "UG"};
+
+    /**
+     * Years from the base year of the generated expiration dates
+     **/
+    private static final int[] EXPIRATION_YEARS = {-1, 0, 1, 2};
+
+    /**
+     * Tags of the random streams, so members, classes and commands with the same number differ
+     **/
+    private static final long PROFILE_STREAM = 1, MEMBER_STREAM = 2, CLASS_STREAM = 3, COMMAND_STREAM = 4;
+
+    /** The seed of every random choice. */
+    private final long seed;
+
+    /** Weights of the studios, in the order of {@link Location#values()}. */
+    private Weights locations = Weights.uniform(Location.values().length);
+
+    /** Weights of the classes, in the order of {@link Offer#values()}. */
+    private Weights offers = Weights.uniform(Offer.values().length);
+
+    /** Weights of the instructors, in the order of {@link Instructor#values()}. */
+    private Weights instructors = Weights.uniform(Instructor.values().length);
+
+    /** Weights of the Basic, Family and Premium plans. */
+    private Weights plans = Weights.uniform(PLANS.length);
+
+    /** Weights of the register, unregister, register guest and unregister guest commands. */
+    private Weights commands = Weights.uniform(COMMANDS.length);
+
+    /** The base year, from which expiration dates are drawn. */
+    private final int year;
+
+    /**
+     * Cumulative weights of a few choices, drawn from by a linear search.
+     */
+    static class Weights {
+        /** Sum of the weights of the choices up to and including each one. */
+        private final long[] cumulative;
+
+        /**
+         * Constructs the weights.
+         *
+         * @param weights the weight of every choice, none negative, at least one positive.
+         * @throws IllegalArgumentException if a weight is negative or all are zero.
+         */
+        Weights(int... weights) {
+            cumulative = new long[weights.length];
+            long total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] < 0) {
+                    throw new IllegalArgumentException("Negative weight");
+                }
+                total += weights[i];
+                cumulative[i] = total;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("No positive weight");
+            }
+        }
+
+        /**
+         * Creates equal weights.
+         *
+         * @param n the number of choices.
+         * @return the weights.
+         */
+        static Weights uniform(int n) {
+            int[] weights = new int[n];
+            Arrays.fill(weights, 1);
+            return new Weights(weights);
+        }
+
+        /**
+         * Draws a choice.
+         *
+         * @param random the source of randomness.
+         * @return the position of the choice.
+         */
+        int pick(SplittableRandom random) {
+            long r = random.nextLong(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= r) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Constructs a generator with uniform weights, drawing expiration dates around {@link #DEFAULT_YEAR}.
+     *
+     * @param seed The seed of every random choice.
+     */
+    public WorkloadGenerator(long seed) {
+        this(seed, DEFAULT_YEAR);
+    }
+
+    /**
+     * Constructs a generator with uniform weights.
+     *
+     * @param seed The seed of every random choice.
+     * @param year The base year of the expiration dates.
+     */
+    public WorkloadGenerator(long seed, int year) {
+        this.seed = seed;
+        this.year = year;
+    }
+
+    /**
+     * Sets the weights of the studios of members and classes.
+     *
+     * @param weights One weight per studio, in the order of {@link Location#values()}.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setLocationWeights(int... weights) {
+        locations = weights(weights, Location.values().length);
+    }
+
+    /**
+     * Sets the weights of the classes offered.
+     *
+     * @param weights One weight per class, in the order of {@link Offer#values()}.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setOfferWeights(int... weights) {
+        offers = weights(weights, Offer.values().length);
+    }
+
+    /**
+     * Sets the weights of the instructors of classes.
+     *
+     * @param weights One weight per instructor, in the order of {@link Instructor#values()}.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setInstructorWeights(int... weights) {
+        instructors = weights(weights, Instructor.values().length);
+    }
+
+    /**
+     * Sets the weights of the membership plans.
+     *
+     * @param weights The weights of the Basic, Family and Premium plans.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setPlanWeights(int... weights) {
+        plans = weights(weights, PLANS.length);
+    }
+
+    /**
+     * Sets the weights of the registration commands.
+     *
+     * @param weights The weights of the register, unregister, register guest and unregister guest commands.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    public void setCommandWeights(int... weights) {
+        commands = weights(weights, COMMANDS.length);
+    }
+
+    /**
+     * Checks the number of weights given and builds them.
+     *
+     * @param weights  The weights.
+     * @param expected The number of choices.
+     * @return The weights.
+     * @throws IllegalArgumentException if the number of weights is wrong, one is negative or all are zero.
+     */
+    private static Weights weights(int[] weights, int expected) {
+        if (weights.length != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " weights");
+        }
+        return new Weights(weights);
+    }
+
+    /**
+     * Creates the source of the random choices of one generated item, from the seed, the kind of item and its number.
+     *
+     * @param stream The kind of item.
+     * @param number The number of the item.
+     * @return The source of randomness.
+     */
+    private SplittableRandom random(long stream, long number) {
+        return new SplittableRandom(seed ^ (stream << 56) ^ (number * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Appends the profile of member {@code i}: first name, unique last name and date of birth.
+     *
+     * @param sb The line being built.
+     * @param i  The member number.
+     */
+    private void appendProfile(StringBuilder sb, int i) {
+        SplittableRandom random = random(PROFILE_STREAM, i);
+        sb.append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(' ').append(LAST_NAMES[i % LAST_NAMES.length]);
+        for (int n = i / LAST_NAMES.length; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('a' + (n - 1) % 26));
+        }
+        sb.append(' ').append(1 + random.nextInt(12)).append('/').append(1 + random.nextInt(28)).append('/')
+                .append(1950 + random.nextInt(56));
+    }
+
+    /**
+     * Appends line {@code i} of a member list file.
+     *
+     * @param sb The line being built.
+     * @param i  The member number.
+     */
+    private void appendMember(StringBuilder sb, int i) {
+        SplittableRandom random = random(MEMBER_STREAM, i);
+        sb.append(PLANS[plans.pick(random)]).append(' ');
+        appendProfile(sb, i);
+        sb.append(' ').append(1 + random.nextInt(12)).append('/').append(1 + random.nextInt(28)).append('/')
+                .append(year + EXPIRATION_YEARS[random.nextInt(EXPIRATION_YEARS.length)])
+                .append(' ').append(Location.values()[locations.pick(random)].name());
+    }
+
+    /**
+     * Appends class {@code j}: the class, instructor and studio, with the time before the studio for a schedule
+     * file.
+     *
+     * @param sb       The line being built.
+     * @param j        The class number.
+     * @param withTime Whether to append the time, as a schedule file has it.
+     */
+    private void appendClass(StringBuilder sb, int j, boolean withTime) {
+        SplittableRandom random = random(CLASS_STREAM, j);
+        sb.append(Offer.values()[offers.pick(random)].getClassName()).append(' ')
+                .append(Instructor.values()[instructors.pick(random)].getName()).append(' ');
+        Location studio = Location.values()[locations.pick(random)];
+        Time time = Time.values()[random.nextInt(Time.values().length)];
+        if (withTime) {
+            sb.append(time.name().toLowerCase()).append(' ');
+        }
+        sb.append(studio.getCity());
+    }
+
+    /**
+     * Appends command {@code k} of a registration command stream, for a member among the first {@code members}
+     * and a class among the first {@code classes}.
+     *
+     * @param sb      The line being built.
+     * @param k       The command number.
+     * @param members The number of members the commands refer to.
+     * @param classes The number of classes the commands refer to.
+     */
+    private void appendRegistration(StringBuilder sb, long k, int members, int classes) {
+        SplittableRandom random = random(COMMAND_STREAM, k);
+        sb.append(COMMANDS[commands.pick(random)]).append(' ');
+        int member = random.nextInt(members);
+        appendClass(sb, random.nextInt(classes), false);
+        sb.append(' ');
+        appendProfile(sb, member);
+    }
+
+    /**
+     * Generates line {@code i} of a member list file.
+     *
+     * @param i The member number.
+     * @return The line, without the line break.
+     */
+    public String memberLine(int i) {
+        StringBuilder sb = new StringBuilder();
+        appendMember(sb, i);
+        return sb.toString();
+    }
+
+    /**
+     * Generates line {@code j} of a schedule file.
+     *
+     * @param j The class number.
+     * @return The line, without the line break.
+     */
+    public String scheduleLine(int j) {
+        StringBuilder sb = new StringBuilder();
+        appendClass(sb, j, true);
+        return sb.toString();
+    }
+
+    /**
+     * Writes a member list file of {@code count} members.
+     *
+     * @param out   The destination.
+     * @param count The number of members.
+     * @throws IOException if writing fails.
+     */
+    public void writeMembers(Writer out, int count) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.setLength(0);
+            appendMember(sb, i);
+            out.append(sb).append('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a schedule file of {@code count} classes.
+     *
+     * @param out   The destination.
+     * @param count The number of classes.
+     * @throws IOException if writing fails.
+     */
+    public void writeSchedule(Writer out, int count) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < count; j++) {
+            sb.setLength(0);
+            appendClass(sb, j, true);
+            out.append(sb).append('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a stream of {@code count} registration commands, for members of the member list file of
+     * {@code members} members and classes of the schedule file of {@code classes} classes generated with the
+     * same seed and weights.
+     *
+     * @param out     The destination.
+     * @param count   The number of commands.
+     * @param members The number of members the commands refer to.
+     * @param classes The number of classes the commands refer to.
+     * @throws IOException if writing fails.
+     */
+    public void writeRegistrations(Writer out, long count, int members, int classes) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (long k = 0; k < count; k++) {
+            sb.setLength(0);
+            appendRegistration(sb, k, members, classes);
+            out.append(sb).append('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Parses comma separated weights, such as {@code 5,1,1}.
+     *
+     * @param list The weights.
+     * @return The weights.
+     * @throws NumberFormatException if a weight is not a number.
+     */
+    static int[] parseWeights(String list) {
+        String[] parts = list.split(",");
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        return weights;
+    }
+
+    /**
+     * Generates a file.
+     *
+     * @param args The kind of file, the number of lines, the file, then options, as described above.
+     * @throws IOException if writing fails.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: WorkloadGenerator members|schedule|registrations count file [--seed=N] "
+                    + "[--year=N] [--members=N] [--classes=N] [--locations=w,...] [--offers=w,...] [--instructors=w,...] "
+                    + "[--plans=b,f,p] [--commands=r,u,rg,ug]");
+            System.exit(1);
+        }
+        long count = Long.parseLong(args[1]);
+        long seed = DEFAULT_SEED;
+        int year = DEFAULT_YEAR;
+        int members = DEFAULT_REFERENCED;
+        int classes = DEFAULT_REFERENCED;
+        for (int i = 3; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Invalid option " + args[i]);
+            }
+            switch (option[0]) {
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                case "--year" -> year = Integer.parseInt(option[1]);
+                case "--members" -> members = Integer.parseInt(option[1]);
+                case "--classes" -> classes = Integer.parseInt(option[1]);
+                case "--locations", "--offers", "--instructors", "--plans", "--commands" -> { }
+                default -> throw new IllegalArgumentException("Invalid option " + args[i]);
+            }
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(seed, year);
+        for (int i = 3; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            switch (option[0]) {
+                case "--locations" -> generator.setLocationWeights(parseWeights(option[1]));
+                case "--offers" -> generator.setOfferWeights(parseWeights(option[1]));
+                case "--instructors" -> generator.setInstructorWeights(parseWeights(option[1]));
+                case "--plans" -> generator.setPlanWeights(parseWeights(option[1]));
+                case "--commands" -> generator.setCommandWeights(parseWeights(option[1]));
+                default -> { }
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(Path.of(args[2]), StandardCharsets.UTF_8)) {
+            switch (args[0]) {
+                case "members" -> generator.writeMembers(out, Math.toIntExact(count));
+                case "schedule" -> generator.writeSchedule(out, Math.toIntExact(count));
+                case "registrations" -> generator.writeRegistrations(out, count, members, classes);
+                default -> throw new IllegalArgumentException("Invalid file kind " + args[0]);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package junittest;
+
+import com.sun.management.ThreadMXBean;
+import data.Date;
+import data.Member;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code AllocationBudgetTest} class tests that the hot paths of the front desk allocate no more than their
+ * budget of bytes per operation, as counted by the JVM for the current thread. Each path is run until compiled
+ * before it is counted, so the budgets hold for the steady state rather than for the interpreter.
+ * @author Sasanka Paththameistreege
+ */
+public class AllocationBudgetTest {
+
+    /** The number of warm-up calls of a path before it is counted. **/
+    private static final int WARMUP = 50000;
+
+    /** The number of calls of a path counted. **/
+    private static final int ITERATIONS = 100000;
+
+    /** The thread bean counting allocations, or null when the JVM does not count them. **/
+    private static final ThreadMXBean THREADS = threads();
+
+    private MemberList memberList;
+    private Schedule schedule;
+    private StudioManager manager;
+    private Member member;
+    private Profile lookup;
+
+    /**
+     * Sets up a member list of one member and a schedule of one class, with a profile to look the member up by
+     * that is a different object, in a different case.
+     */
+    @Before
+    public void setUp() {
+        Assume.assumeNotNull(THREADS);
+        memberList = new MemberList();
+        schedule = new Schedule();
+        member = new Premium(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON);
+        memberList.add(member);
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, Time.MORNING));
+        manager = new StudioManager(memberList, schedule);
+        lookup = new Profile("jane", "DOE", new Date("5/1/1996"));
+    }
+
+    /**
+     * test method to look a member up by profile.
+     * accepted output - no bytes allocated per lookup
+     * actual output - no bytes allocated per lookup
+     */
+    @Test
+    public void lookupAllocatesNothing() {
+        assertBudget("retrieveMember", 0, () -> memberList.retrieveMember(lookup));
+    }
+
+    /**
+     * test method to check a member registered for a class for a time conflict with another class.
+     * accepted output - no bytes allocated per check
+     * actual output - no bytes allocated per check
+     */
+    @Test
+    public void conflictCheckAllocatesNothing() {
+        manager.checkIn(member.getId(), 0);
+        assertBudget("checkForMemberTimeConflict", 0, () -> schedule.checkForMemberTimeConflict(member, Time.MORNING));
+    }
+
+    /**
+     * test method to check a member in by ID, and to register and unregister them by profile.
+     * accepted output - no bytes allocated per check-in, at most 2400 bytes for the two messages of a registration
+     * actual output - no bytes allocated per check-in, at most 2400 bytes for the two messages of a registration
+     */
+    @Test
+    public void registrationWithinBudget() {
+        assertBudget("checkIn", 0, () -> manager.checkIn(member.getId(), 0));
+        manager.unregisterMember(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, lookup);
+        assertBudget("registerMember and unregisterMember", 2400, () -> {
+            manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, lookup);
+            manager.unregisterMember(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, lookup);
+        });
+    }
+
+    /**
+     * test method to render one row of a member report, for a member unchanged since the last report, and for a
+     * member whose guest passes change before every row.
+     * accepted output - no bytes allocated per row of an unchanged member, at most 1200 bytes per row of a changed one
+     * actual output - no bytes allocated per row of an unchanged member, at most 1200 bytes per row of a changed one
+     */
+    @Test
+    public void reportRowWithinBudget() {
+        assertBudget("Member.toString", 0, () -> member.toString());
+        Premium premium = (Premium) member;
+        assertBudget("Member.toString after a change", 1200, () -> {
+            premium.setGuestPass(3);
+            premium.toString();
+        });
+    }
+
+    /**
+     * Counts the bytes a path allocates per call once compiled, and fails if they are over its budget.
+     *
+     * @param path   the name of the path, for the failure message.
+     * @param budget the most bytes the path may allocate per call.
+     * @param call   one call of the path.
+     */
+    private static void assertBudget(String path, long budget, Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        long perCall = (THREADS.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+        assertTrue(path + " allocates " + perCall + " bytes per call, over its budget of " + budget,
+                perCall <= budget);
+    }
+
+    /**
+     * Gets the thread bean of the JVM if it counts the bytes each thread allocates.
+     *
+     * @return the thread bean, or null if allocations are not counted.
+     */
+    private static ThreadMXBean threads() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,96 @@
+package junittest;
+
+import data.Date;
+import data.Family;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.AttendanceCube;
+import impl.AttendanceCube.Measure;
+import impl.DeskLoadSimulator;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code AttendanceCubeTest} class tests that the {@code AttendanceCube} class counts class attendance as members
+ * and guests register and unregister, and rolls the counts up along every dimension.
+ * @author Sasanka Paththameistreege
+ */
+public class AttendanceCubeTest {
+
+    /**
+     * test method to fill a class of two seats with a member and a guest, then free a seat.
+     * accepted output - the class counted full at its cell and every rollup, then 1 of 2 seats taken and not full
+     * actual output - the class counted full at its cell and every rollup, then 1 of 2 seats taken and not full
+     */
+    @Test
+    public void countsFollowRegistrations() {
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        Profile jane = new Profile("Jane", "Doe", new Date("5/1/1996"));
+        Premium premium = new Premium(jane, new Date("12/31/2099"), Location.PISCATAWAY);
+        premium.setGuestPass(3);
+        memberList.add(premium);
+        memberList.add(new Family(new Profile("John", "Doe", new Date("1/1/1990")), new Date("12/31/2099"), Location.PISCATAWAY));
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING, 2));
+        schedule.add(new FitnessClass(Offer.SPINNING, Instructor.DENISE, Location.EDISON, Time.MORNING));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        AttendanceCube cube = manager.getAttendanceCube();
+        assertEquals(2, cube.get(Measure.CLASSES, null, null, null, null));
+        assertEquals(0, cube.get(Measure.MEMBERS, Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING));
+
+        manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, jane);
+        manager.registerGuest(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, jane);
+        assertEquals(1, cube.get(Measure.MEMBERS, Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING));
+        assertEquals(1, cube.get(Measure.GUESTS, null, null, Location.PISCATAWAY, null));
+        assertEquals(1, cube.get(Measure.FULL, Offer.PILATES, null, null, Time.EVENING));
+        assertEquals(1.0, cube.getUtilization(null, Instructor.JENNIFER, null, null), 0);
+        assertEquals(0, cube.get(Measure.MEMBERS, null, null, null, Time.MORNING));
+        assertTrue(Double.isNaN(cube.getUtilization(null, null, Location.EDISON, null)));
+        assertTrue(cube.printUtilization().contains("PILATES - JENNIFER, EVENING, PISCATAWAY: 2 attending, 2 of 2 seats [full]"));
+        assertTrue(cube.printUtilization().contains("SPINNING - DENISE, MORNING, EDISON: 0 attending [no attendees]"));
+
+        manager.unregisterGuest(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, jane);
+        assertEquals(0, cube.get(Measure.GUESTS, null, null, null, null));
+        assertEquals(0, cube.get(Measure.FULL, null, null, null, null));
+        assertEquals(0.5, cube.getUtilization(Offer.PILATES, null, null, null), 0);
+    }
+
+    /**
+     * test method to run the front desk simulator, then count the rosters of every class by hand.
+     * accepted output - the cube agrees with the rosters for every studio and time, and in total
+     * actual output - the cube agrees with the rosters for every studio and time, and in total
+     */
+    @Test
+    public void countsMatchRostersUnderLoad() throws InterruptedException {
+        DeskLoadSimulator simulator = new DeskLoadSimulator(200, 40, 2);
+        simulator.run(4, 0, 300);
+        StudioManager manager = simulator.getStudioManager();
+        AttendanceCube cube = manager.getAttendanceCube();
+        Schedule schedule = manager.getSchedule();
+        for (Location studio : Location.values()) {
+            for (Time time : Time.values()) {
+                int members = 0;
+                int guests = 0;
+                for (FitnessClass fitnessClass : schedule.getClasses()) {
+                    if (fitnessClass.getStudio() == studio && fitnessClass.getTime() == time) {
+                        members += fitnessClass.getMembers().getSize();
+                        guests += fitnessClass.getGuests().getSize();
+                    }
+                }
+                assertEquals(members, cube.get(Measure.MEMBERS, null, null, studio, time));
+                assertEquals(guests, cube.get(Measure.GUESTS, null, null, studio, time));
+            }
+        }
+        assertEquals(schedule.getNumClasses(), cube.get(Measure.CLASSES, null, null, null, null));
+        assertTrue(cube.get(Measure.MEMBERS, null, null, null, null) > 0);
+    }
+}
@@ -0,0 +1,197 @@
+package junittest;
+
+import data.Date;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.AttendanceLog;
+import impl.AttendanceLog.Entry;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code AttendanceLogTest} class tests that the {@code AttendanceLog} class appends attendance records to its
+ * file, reads them back by member and by day through its indexes, and keeps them across reopening.
+ * @author Sasanka Paththameistreege
+ */
+public class AttendanceLogTest {
+
+    /**
+     * The first day of the records appended by the tests
+     **/
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    /**
+     * The members of the records appended directly
+     **/
+    private static final Profile[] PROFILES = new Profile[7];
+
+    static {
+        for (int i = 0; i < PROFILES.length; i++) {
+            PROFILES[i] = new Profile("Member" + i, "Doe", new Date("5/1/1996"));
+        }
+    }
+
+    /**
+     * test method to append 900 records for 7 members over 10 days, spanning several pages, then read them back
+     * and reopen the log.
+     * accepted output - the history of each member matches the records of the days, before and after reopening
+     * actual output - the history of each member matches the records of the days, before and after reopening
+     */
+    @Test
+    public void historyMatchesRecords() throws Exception {
+        Path file = Files.createTempFile("attendance", ".log");
+        Files.delete(file);
+        FitnessClass pilates = new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING);
+        FitnessClass spinning = new FitnessClass(Offer.SPINNING, Instructor.DENISE, Location.FRANKLIN, Time.MORNING);
+        long start = START.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        try {
+            try (AttendanceLog log = new AttendanceLog(file, ZoneOffset.UTC, null)) {
+                for (int i = 0; i < 900; i++) {
+                    log.append(PROFILES[i % 7], i % 3 == 0 ? spinning : pilates, i % 5 == 0, i % 11 == 0, start + i * 960_000L);
+                }
+                assertEquals(900, log.getSize());
+                assertHistory(log);
+                Entry first = log.between(START, START).get(0);
+                assertEquals(Offer.SPINNING, first.getOffer());
+                assertEquals(Instructor.DENISE, first.getInstructor());
+                assertEquals(Location.FRANKLIN, first.getStudio());
+                assertEquals(Time.MORNING, first.getTime());
+                assertTrue(first.isGuest());
+                assertTrue(first.isRemoved());
+                assertThrows(IllegalArgumentException.class, () -> log.append(PROFILES[0], pilates, false, false, start));
+            }
+            try (AttendanceLog log = new AttendanceLog(file, ZoneOffset.UTC, null)) {
+                assertEquals(900, log.getSize());
+                assertHistory(log);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * test method to log a member registering for a class and unregistering through the studio manager.
+     * accepted output - a registration, then a removal, and no visit counted for the day
+     * actual output - a registration, then a removal, and no visit counted for the day
+     */
+    @Test
+    public void logsScheduleChanges() throws Exception {
+        Path file = Files.createTempFile("attendance", ".log");
+        Files.delete(file);
+        MemberList memberList = new MemberList();
+        Profile jane = new Profile("Jane", "Doe", new Date("5/1/1996"));
+        memberList.add(new Premium(jane, new Date("12/31/2099"), Location.PISCATAWAY));
+        Schedule schedule = new Schedule();
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        try (AttendanceLog log = new AttendanceLog(file, ZoneOffset.UTC, memberList)) {
+            schedule.addListener(log);
+            manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, jane);
+            manager.unregisterMember(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, jane);
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            List<Entry> history = log.history(jane, today.minusDays(1), today.plusDays(1));
+            assertEquals(2, history.size());
+            assertFalse(history.get(0).isRemoved());
+            assertTrue(history.get(1).isRemoved());
+            assertEquals(Offer.PILATES, history.get(1).getOffer());
+            assertEquals(AttendanceLog.keyOf(jane), history.get(0).getMemberKey());
+            assertEquals(0, log.countVisits(jane, today.minusDays(1), today.plusDays(1)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * test method to log a registration, then reopen the log in a new run whose member list is loaded in the
+     * other order, so each member has the other's ID, and log a registration of the other member.
+     * accepted output - one visit for each member, in the same case as their profile or not
+     * actual output - one visit for each member, in the same case as their profile or not
+     */
+    @Test
+    public void historyOutlivesMemberIds() throws Exception {
+        Path file = Files.createTempFile("attendance", ".log");
+        Files.delete(file);
+        Profile jane = new Profile("Jane", "Doe", new Date("5/1/1996"));
+        Profile john = new Profile("John", "Doe", new Date("1/1/1990"));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        try {
+            register(file, new Profile[]{jane, john}, jane);
+            register(file, new Profile[]{john, jane}, john);
+            try (AttendanceLog log = new AttendanceLog(file, ZoneOffset.UTC, null)) {
+                assertEquals(2, log.getSize());
+                assertEquals(1, log.countVisits(jane, today.minusDays(1), today.plusDays(1)));
+                assertEquals(1, log.countVisits(new Profile("JOHN", "doe", new Date("1/1/1990")), today.minusDays(1), today.plusDays(1)));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Runs the desk for one registration: loads the members in order, opens the log listening to the schedule,
+     * registers a member for a class and closes the log.
+     *
+     * @param file    the file of the log.
+     * @param members the profiles of the members, in load order.
+     * @param member  the member registering.
+     * @throws Exception if the log cannot be opened or closed.
+     */
+    private static void register(Path file, Profile[] members, Profile member) throws Exception {
+        MemberList memberList = new MemberList();
+        for (Profile profile : members) {
+            memberList.add(new Premium(profile, new Date("12/31/2099"), Location.PISCATAWAY));
+        }
+        Schedule schedule = new Schedule();
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, Time.EVENING));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        try (AttendanceLog log = new AttendanceLog(file, ZoneOffset.UTC, memberList)) {
+            schedule.addListener(log);
+            manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.PISCATAWAY, member);
+        }
+    }
+
+    /**
+     * Checks the history of every member, over a few ranges of days, against the records of those days.
+     *
+     * @param log the log to check.
+     */
+    private static void assertHistory(AttendanceLog log) {
+        LocalDate[][] ranges = {{START, START.plusDays(9)}, {START.plusDays(3), START.plusDays(5)}, {START.plusDays(9), START.plusDays(20)}};
+        for (LocalDate[] range : ranges) {
+            List<Entry> records = log.between(range[0], range[1]);
+            for (Profile member : PROFILES) {
+                List<Entry> expected = new ArrayList<>();
+                int visits = 0;
+                for (Entry entry : records) {
+                    if (entry.getMemberKey() == AttendanceLog.keyOf(member)) {
+                        expected.add(entry);
+                        visits += entry.isGuest() ? 0 : entry.isRemoved() ? -1 : 1;
+                    }
+                }
+                List<Entry> history = log.history(member, range[0], range[1]);
+                assertEquals(expected.size(), history.size());
+                for (int i = 0; i < history.size(); i++) {
+                    assertEquals(expected.get(i).getTimestamp(), history.get(i).getTimestamp());
+                }
+                assertEquals(visits, log.countVisits(member, range[0], range[1]));
+            }
+        }
+        assertTrue(log.history(new Profile("Nobody", "Doe", new Date("5/1/1996")), START, START.plusDays(9)).isEmpty());
+    }
+}
@@ -0,0 +1,193 @@
+package junittest;
+
+import data.*;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.ChangeEvent;
+import impl.ChangePublisher;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code ChangePublisherTest} class tests the change streams of the {@code MemberList} and {@code Schedule} classes.
+ * @author Sasanka Paththameistreege
+ */
+public class ChangePublisherTest {
+
+    /**
+     * A subscriber that requests every batch and collects the events until it has received the expected number.
+     */
+    private static class Collector implements Flow.Subscriber<List<ChangeEvent>> {
+        /** The events received, in order. */
+        private final List<ChangeEvent> events = new ArrayList<>();
+
+        /** Counted down once per event received. */
+        private final CountDownLatch received;
+
+        /**
+         * Constructs a collector.
+         *
+         * @param expected the number of events expected.
+         */
+        Collector(int expected) {
+            received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public synchronized void onNext(List<ChangeEvent> batch) {
+            for (ChangeEvent event : batch) {
+                events.add(event);
+                received.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        /**
+         * Waits for the expected events and lists their types.
+         *
+         * @return the types of the events received, in order.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        List<ChangeEvent.Type> types() throws InterruptedException {
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            List<ChangeEvent.Type> types = new ArrayList<>();
+            synchronized (this) {
+                for (ChangeEvent event : events) {
+                    types.add(event.getType());
+                }
+            }
+            return types;
+        }
+    }
+
+    /**
+     * test method to subscribe to the member list and the schedule, then add a member and a class and register
+     * the member and a guest through the command engine.
+     * accepted output - member added, guest pass used; class added, member registered, guest added
+     * actual output - member added, guest pass used; class added, member registered, guest added
+     */
+    @Test
+    public void streamsReportChangesInOrder() throws InterruptedException {
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        Collector members = new Collector(2);
+        Collector classes = new Collector(3);
+        memberList.getChanges().subscribe(members);
+        schedule.getChanges().subscribe(classes);
+
+        Profile jane = new Profile("Jane", "Doe", new Date("5/1/1996"));
+        Premium premium = new Premium(jane, new Date("12/31/2099"), Location.EDISON);
+        premium.setGuestPass(1);
+        memberList.add(premium);
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, Time.MORNING));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, jane);
+        manager.registerGuest(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, jane);
+        memberList.getChanges().flush();
+        schedule.getChanges().flush();
+
+        assertEquals(List.of(ChangeEvent.Type.MEMBER_ADDED, ChangeEvent.Type.GUEST_PASS_USED), members.types());
+        assertEquals(List.of(ChangeEvent.Type.CLASS_ADDED, ChangeEvent.Type.MEMBER_REGISTERED, ChangeEvent.Type.GUEST_ADDED),
+                classes.types());
+    }
+
+    /**
+     * test method to publish events to a subscriber that never requests any, with a buffer of one batch.
+     * accepted output - every publish returns, and all but the buffered batch are dropped
+     * actual output - every publish returns, and all but the buffered batch are dropped
+     */
+    @Test
+    public void slowSubscriberDoesNotStallWriters() {
+        ChangePublisher publisher = new ChangePublisher(1, 1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent> item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        for (int i = 0; i < 10000; i++) {
+            publisher.publish(ChangeEvent.Type.MEMBER_ADDED, i, ChangeEvent.NONE);
+        }
+        assertTrue(publisher.getDroppedCount() >= 9990);
+        publisher.close();
+    }
+
+    /**
+     * test method to subscribe to a member list, cancel the subscription, and drop the list.
+     * accepted output - the change publisher of the list is garbage collected once its periodic flush has stopped
+     * actual output - the change publisher of the list is garbage collected once its periodic flush has stopped
+     */
+    @Test
+    public void cancelledListIsReleased() throws InterruptedException {
+        MemberList memberList = new MemberList();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        memberList.getChanges().subscribe(new Flow.Subscriber<List<ChangeEvent>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent> batch) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription[0] == null && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        subscription[0].cancel();
+        WeakReference<ChangePublisher> released = new WeakReference<>(memberList.getChanges());
+        memberList = null;
+        while (released.get() != null && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(ChangePublisher.FLUSH_INTERVAL_MILLIS);
+        }
+        assertNull(released.get());
+    }
+}
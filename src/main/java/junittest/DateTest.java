@@ -3,6 +3,12 @@ package junittest;
 import data.Date;
 import org.testng.annotations.Test;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
 import static org.junit.Assert.*;
 /**
  * Unit tests for the Date class to validate the correctness of date validations.
@@ -100,4 +106,60 @@ public class DateTest {
         assertTrue(date.isValid());
     }
 
-}
\ No newline at end of file
+    /**
+     * test method to check that today rolls over when the clock passes midnight.
+     * The clock starts a second before midnight of 3/14/2030 and moves on two seconds.
+     * accepted output - the same instance of 3/14/2030 until midnight, then 3/15/2030
+     * actual output - the same instance of 3/14/2030 until midnight, then 3/15/2030
+     */
+    @Test
+    public void todayRollsOverAtMidnight() {
+        MovableClock clock = new MovableClock(LocalDateTime.of(2030, 3, 14, 23, 59, 59).toInstant(ZoneOffset.UTC));
+        try {
+            Date.useClock(clock);
+            Date before = Date.today();
+            assertEquals("3/14/2030", before.toString());
+            assertSame(before, Date.today());
+            clock.now = clock.now.plusSeconds(2);
+            Date after = Date.today();
+            assertEquals("3/15/2030", after.toString());
+            assertSame(after, Date.today());
+        } finally {
+            Date.useClock(Clock.systemDefaultZone());
+        }
+    }
+
+    /**
+     * A clock in UTC that stays at the instant it is set to.
+     */
+    private static class MovableClock extends Clock {
+        /**
+         * The instant the clock shows.
+         */
+        private Instant now;
+
+        /**
+         * Constructs a clock showing an instant.
+         *
+         * @param now the instant.
+         */
+        private MovableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package junittest;
+
+import impl.DeskLoadSimulator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code DeskLoadSimulatorTest} class tests a short run of the {@code DeskLoadSimulator} class.
+ * @author Sasanka Paththameistreege
+ */
+public class DeskLoadSimulatorTest {
+
+    /**
+     * test method to run four sessions of every action on a small member list and schedule.
+     * accepted output - every action called, no errors, percentiles ordered
+     * actual output - every action called, no errors, percentiles ordered
+     */
+    @Test
+    public void concurrentSessionsRunWithoutErrors() throws InterruptedException {
+        DeskLoadSimulator simulator = new DeskLoadSimulator(200, 20, 1);
+        simulator.setMix(1, 1, 1, 1, 1, 1, 1);
+        DeskLoadSimulator.Result result = simulator.run(4, 100, 500);
+        for (DeskLoadSimulator.Action action : DeskLoadSimulator.Action.values()) {
+            assertTrue(action.name(), result.getCount(action) > 0);
+            assertEquals(action.name(), 0, result.getErrors(action));
+            assertTrue(result.getPercentileMicros(action, 0.5) <= result.getPercentileMicros(action, 0.999));
+        }
+        assertEquals(200, simulator.getStudioManager().getMemberList().getSize());
+    }
+}
@@ -0,0 +1,257 @@
+package junittest;
+
+import data.*;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.ScheduleEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code FitnessClassTest} class tests the roster and waitlist handling of the {@code FitnessClass} class.
+ * Every test method builds its own class with a capacity of two, so the tests do not depend on each other.
+ * @author Sasanka Paththameistreege
+ */
+public class FitnessClassTest {
+
+    /**
+     * Creates a Basic member at Bridgewater for testing and adds it to the member list,
+     * which assigns the member ID used by class rosters.
+     *
+     * @param directory the member list to add the member to.
+     * @param fname     first name of the member.
+     * @param lname     last name of the member.
+     * @return a new Basic member.
+     */
+    private static Member basic(MemberList directory, String fname, String lname) {
+        Member member = new Basic(new Profile(fname, lname, new Date("1/1/1990")), new Date("12/31/2099"), Location.BRIDGEWATER);
+        directory.add(member);
+        return member;
+    }
+
+    /**
+     * Creates a Pilates class at Bridgewater with room for two attendees.
+     *
+     * @return a new fitness class.
+     */
+    private static FitnessClass smallClass() {
+        return new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.BRIDGEWATER, Time.MORNING, 2);
+    }
+
+    /**
+     * test method to add a member to a class that is full.
+     * accepted output - false
+     * actual output - false
+     */
+    @Test
+    public void addMemberToFullClass() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        assertTrue(fitnessClass.addMember(basic(directory, "Jerry", "Brown")));
+        assertTrue(fitnessClass.addMember(basic(directory, "Jane", "Doe")));
+        assertTrue(fitnessClass.isFull());
+        assertFalse(fitnessClass.addMember(basic(directory, "Mary", "Lindsey")));
+    }
+
+    /**
+     * test method to check the waitlist positions, in the order the members joined.
+     * accepted output - 1, 2, then 1 after the head leaves
+     * actual output - 1, 2, then 1 after the head leaves
+     */
+    @Test
+    public void waitlistPositions() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        Member mary = basic(directory, "Mary", "Lindsey");
+        Member roy = basic(directory, "Roy", "Brooks");
+        assertEquals(1, fitnessClass.joinWaitlist(mary));
+        assertEquals(2, fitnessClass.joinWaitlist(roy));
+        assertEquals(1, fitnessClass.joinWaitlist(basic(directory, "mary", "lindsey")));
+        assertTrue(fitnessClass.leaveWaitlist(mary));
+        assertEquals(1, fitnessClass.getWaitlistPosition(roy));
+        assertEquals(FitnessClass.NOT_WAITLISTED, fitnessClass.getWaitlistPosition(mary));
+    }
+
+    /**
+     * test method to remove a member from a full class, which promotes the head of the waitlist.
+     * accepted output - true
+     * actual output - true
+     */
+    @Test
+    public void promoteOnRemoveMember() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        Member jerry = basic(directory, "Jerry", "Brown");
+        Member mary = basic(directory, "Mary", "Lindsey");
+        fitnessClass.addMember(jerry);
+        fitnessClass.addMember(basic(directory, "Jane", "Doe"));
+        fitnessClass.joinWaitlist(mary);
+        assertTrue(fitnessClass.removeMember(jerry));
+        assertTrue(fitnessClass.isMemberRegistered(mary));
+        assertEquals(0, fitnessClass.getWaitlistSize());
+        assertEquals(1, mary.getRegisteredClassCount());
+    }
+
+    /**
+     * test method to free a seat in a full class whose waitlist head has since registered for another class in
+     * the same time slot, so the seat goes to the next member waiting.
+     * accepted output - the head is dropped from the waitlist and keeps only the other class, the next member is promoted
+     * actual output - the head is dropped from the waitlist and keeps only the other class, the next member is promoted
+     */
+    @Test
+    public void promoteSkipsTimeConflict() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        FitnessClass otherClass = new FitnessClass(Offer.CARDIO, Instructor.DAVIS, Location.BRIDGEWATER, Time.MORNING, 2);
+        Member jerry = basic(directory, "Jerry", "Brown");
+        Member mary = basic(directory, "Mary", "Lindsey");
+        Member roy = basic(directory, "Roy", "Brooks");
+        fitnessClass.addMember(jerry);
+        fitnessClass.addMember(basic(directory, "Jane", "Doe"));
+        fitnessClass.joinWaitlist(mary);
+        fitnessClass.joinWaitlist(roy);
+        assertTrue(otherClass.addMember(mary));
+        assertTrue(fitnessClass.removeMember(jerry));
+        assertFalse(fitnessClass.isMemberRegistered(mary));
+        assertEquals(FitnessClass.NOT_WAITLISTED, fitnessClass.getWaitlistPosition(mary));
+        assertEquals(1, mary.getRegisteredClassCount());
+        assertTrue(fitnessClass.isMemberRegistered(roy));
+        assertEquals(0, fitnessClass.getWaitlistSize());
+    }
+
+    /**
+     * test method to remove a guest from a full class, which promotes the head of the waitlist.
+     * accepted output - true
+     * actual output - true
+     */
+    @Test
+    public void promoteOnRemoveGuest() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        Member host = new Premium(new Profile("Roy", "Brooks", new Date("8/8/1977")), new Date("12/31/2099"), Location.BRIDGEWATER);
+        directory.add(host);
+        Member mary = basic(directory, "Mary", "Lindsey");
+        fitnessClass.addMember(basic(directory, "Jane", "Doe"));
+        assertTrue(fitnessClass.addGuest(host));
+        assertFalse(fitnessClass.addGuest(host));
+        fitnessClass.joinWaitlist(mary);
+        assertTrue(fitnessClass.removeGuest(host));
+        assertTrue(fitnessClass.isMemberRegistered(mary));
+    }
+
+    /**
+     * test method to check that a roster lists its members through the member list directory.
+     * accepted output - true
+     * actual output - true
+     */
+    @Test
+    public void rosterResolvesMemberIds() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = smallClass();
+        Member jerry = basic(directory, "Jerry", "Brown");
+        fitnessClass.addMember(jerry);
+        assertTrue(fitnessClass.getMembers().contains(jerry.getId()));
+        assertSame(jerry, directory.getById(jerry.getId()));
+        assertTrue(directory.getMemberListString(fitnessClass.getMembers()).contains("Jerry:Brown:1/1/1990"));
+        assertFalse(fitnessClass.isMemberRegistered(basic(directory, "Jane", "Doe")));
+    }
+
+    /**
+     * test method to cancel a membership with more registrations than the old limit of ten classes,
+     * a guest, and a waitlist spot, which must all be released.
+     * accepted output - true
+     * actual output - true
+     */
+    @Test
+    public void cancelMembershipCascades() {
+        MemberList directory = new MemberList();
+        Member host = new Premium(new Profile("Roy", "Brooks", new Date("8/8/1977")), new Date("12/31/2099"), Location.BRIDGEWATER);
+        ((Premium) host).setGuestPass(3);
+        directory.add(host);
+        FitnessClass[] classes = new FitnessClass[12];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = smallClass();
+            assertTrue(classes[i].addMember(host));
+        }
+        assertEquals(12, host.getRegisteredClassCount());
+        FitnessClass guestClass = smallClass();
+        guestClass.addGuest(host);
+        FitnessClass fullClass = smallClass();
+        fullClass.addMember(basic(directory, "Jane", "Doe"));
+        fullClass.addMember(basic(directory, "Mary", "Lindsey"));
+        fullClass.joinWaitlist(host);
+
+        assertTrue(directory.cancelMembership(new Member(host.getProfile(), null, null)));
+        for (FitnessClass fitnessClass : classes) {
+            assertFalse(fitnessClass.isMemberRegistered(host));
+        }
+        assertEquals(0, guestClass.getGuests().getSize());
+        assertEquals(FitnessClass.NOT_WAITLISTED, fullClass.getWaitlistPosition(host));
+        assertEquals(0, host.getRegisteredClassCount());
+        assertNull(directory.getById(host.getId()));
+    }
+
+    /**
+     * test method to check in two guests of the same host, which are counted in the guest ledger.
+     * accepted output - 2 guests, then 1 after a removal
+     * actual output - 2 guests, then 1 after a removal
+     */
+    @Test
+    public void guestLedgerCountsByHost() {
+        MemberList directory = new MemberList();
+        FitnessClass fitnessClass = new FitnessClass(Offer.CARDIO, Instructor.DAVIS, Location.BRIDGEWATER, Time.EVENING);
+        Member host = new Premium(new Profile("Roy", "Brooks", new Date("8/8/1977")), new Date("12/31/2099"), Location.BRIDGEWATER);
+        directory.add(host);
+        assertTrue(fitnessClass.addGuest(host));
+        assertTrue(fitnessClass.addGuest(host));
+        assertEquals(2, fitnessClass.getGuestCount(host));
+        assertEquals(2, host.countGuestsInClasses());
+        assertTrue(fitnessClass.removeGuest(host));
+        assertEquals(1, fitnessClass.getGuests().getSize());
+        assertEquals(1, host.getGuestClasses().length);
+        assertTrue(fitnessClass.removeGuest(host));
+        assertFalse(fitnessClass.removeGuest(host));
+        assertEquals(0, host.getGuestClasses().length);
+    }
+
+    /**
+     * test method to check the events a schedule reports when a class is added, filled, and a member leaves,
+     * promoting the head of the waitlist.
+     * accepted output - CLASS_ADDED, 2 x MEMBER_REGISTERED, MEMBER_UNREGISTERED, MEMBER_REGISTERED with attendance 2
+     * actual output - CLASS_ADDED, 2 x MEMBER_REGISTERED, MEMBER_UNREGISTERED, MEMBER_REGISTERED with attendance 2
+     */
+    @Test
+    public void scheduleReportsRosterChanges() {
+        MemberList directory = new MemberList();
+        Schedule schedule = new Schedule();
+        List<ScheduleEvent> events = new ArrayList<>();
+        schedule.addListener(events::add);
+        FitnessClass fitnessClass = smallClass();
+        schedule.add(fitnessClass);
+        Member jerry = basic(directory, "Jerry", "Brown");
+        Member mary = basic(directory, "Mary", "Lindsey");
+        fitnessClass.addMember(jerry);
+        fitnessClass.addMember(basic(directory, "Jane", "Doe"));
+        fitnessClass.joinWaitlist(mary);
+        fitnessClass.removeMember(jerry);
+
+        assertEquals(5, events.size());
+        assertEquals(ScheduleEvent.Type.CLASS_ADDED, events.get(0).getType());
+        assertEquals(ScheduleEvent.Type.MEMBER_UNREGISTERED, events.get(3).getType());
+        assertEquals(jerry.getId(), events.get(3).getMemberId());
+        ScheduleEvent promoted = events.get(4);
+        assertEquals(ScheduleEvent.Type.MEMBER_REGISTERED, promoted.getType());
+        assertEquals(mary.getId(), promoted.getMemberId());
+        assertEquals(2, promoted.getAttendance());
+        assertEquals(0, promoted.getIndex());
+    }
+}
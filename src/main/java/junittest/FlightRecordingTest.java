@@ -0,0 +1,78 @@
+package junittest;
+
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import impl.MemberList;
+import impl.Schedule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.FlightRecording;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code FlightRecordingTest} class tests that the Studio Manager flight recorder events are recorded with the
+ * bundled settings.
+ * @author Sasanka Paththameistreege
+ */
+public class FlightRecordingTest {
+
+    /**
+     * test method to record a member list load and a report with the bundled settings, and a schedule search
+     * with its threshold lifted.
+     * accepted output - a load event of 2 rows and the file size, a report event of 2 rows, a search event
+     * actual output - a load event of 2 rows and the file size, a report event of 2 rows, a search event
+     */
+    @Test
+    public void eventsAreRecorded() throws Exception {
+        Path members = Files.createTempFile("members", ".txt");
+        Path dump = Files.createTempFile("studiomanager", ".jfr");
+        try {
+            Files.writeString(members, "B Jane Doe 5/1/1996 12/31/2099 EDISON\nP John Doe 1/1/1990 12/31/2099 FRANKLIN\n");
+            MemberList memberList = new MemberList();
+            try (Recording recording = new Recording(FlightRecording.settings())) {
+                recording.enable("studiomanager.FindClass").withThreshold(Duration.ZERO);
+                recording.start();
+                memberList.load(members.toFile());
+                memberList.printByMember();
+                new Schedule().findClassByCriteria(Offer.PILATES, Instructor.JENNIFER, Location.EDISON);
+                recording.stop();
+                recording.dump(dump);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            RecordedEvent load = find(events, "studiomanager.Load");
+            assertEquals(2, load.getInt("rows"));
+            assertEquals(Files.size(members), load.getLong("bytes"));
+            assertEquals(2, find(events, "studiomanager.Report").getInt("rows"));
+            assertFalse(find(events, "studiomanager.FindClass").getBoolean("found"));
+        } finally {
+            Files.deleteIfExists(members);
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * Finds the first event of a type.
+     *
+     * @param events the events recorded.
+     * @param name   the name of the event type.
+     * @return the event.
+     */
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        fail("No " + name + " event");
+        return null;
+    }
+}
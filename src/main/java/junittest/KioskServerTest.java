@@ -0,0 +1,131 @@
+package junittest;
+
+import data.Date;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import server.Json;
+import server.KioskServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code KioskServerTest} class tests the JSON endpoints of the {@code KioskServer} on a free loopback port.
+ * @author Sasanka Paththameistreege
+ */
+public class KioskServerTest {
+
+    /**
+     * The server under test, over one Premium member and one Pilates class at Bridgewater.
+     */
+    private KioskServer server;
+
+    /**
+     * The class of the server's schedule.
+     */
+    private FitnessClass pilates;
+
+    /**
+     * Starts the server before each test.
+     *
+     * @throws IOException if the server cannot start.
+     */
+    @Before
+    public void startServer() throws IOException {
+        MemberList memberList = new MemberList();
+        memberList.add(new Premium(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.BRIDGEWATER));
+        Schedule schedule = new Schedule();
+        pilates = new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.BRIDGEWATER, Time.MORNING, 2);
+        schedule.add(pilates);
+        server = new KioskServer(new StudioManager(memberList, schedule), 0);
+        server.start();
+    }
+
+    /**
+     * Stops the server after each test.
+     */
+    @After
+    public void stopServer() {
+        server.stop();
+    }
+
+    /**
+     * test method to check a member in through the register endpoint, then look the member and the schedule up.
+     * accepted output - attendance recorded, the member attends 1 class, the class has 1 member of capacity 2
+     * actual output - attendance recorded, the member attends 1 class, the class has 1 member of capacity 2
+     */
+    @Test
+    public void registerThenLookUp() throws IOException {
+        String[] response = request("POST", "/classes/register", "{\"class\":\"pilates\",\"instructor\":\"jennifer\"," +
+                "\"studio\":\"bridgewater\",\"fname\":\"Jane\",\"lname\":\"Doe\",\"dob\":\"5/1/1996\"}");
+        assertEquals("200", response[0]);
+        assertTrue(Json.parseObject(response[1]).get("message").contains("attendance recorded"));
+        assertEquals(1, pilates.getMembers().getSize());
+
+        response = request("GET", "/members?fname=jane&lname=doe&dob=5/1/1996", null);
+        assertEquals("200", response[0]);
+        Map<String, String> member = Json.parseObject(response[1]);
+        assertEquals("Jane", member.get("fname"));
+        assertEquals("1", member.get("classes"));
+
+        response = request("GET", "/schedule", null);
+        assertTrue(response[1].contains("\"members\":1") && response[1].contains("\"capacity\":2"));
+    }
+
+    /**
+     * test method to send requests the server must reject.
+     * accepted output - 404 for an unknown member, 400 for malformed JSON and for an unknown instructor
+     * actual output - 404 for an unknown member, 400 for malformed JSON and for an unknown instructor
+     */
+    @Test
+    public void rejectBadRequests() throws IOException {
+        assertEquals("404", request("GET", "/members?fname=John&lname=Doe&dob=1/1/1990", null)[0]);
+        assertEquals("400", request("POST", "/classes/register", "{\"class\":")[0]);
+        String[] response = request("POST", "/classes/register-guest", "{\"class\":\"pilates\",\"instructor\":\"bob\"," +
+                "\"studio\":\"bridgewater\",\"fname\":\"Jane\",\"lname\":\"Doe\",\"dob\":\"5/1/1996\"}");
+        assertEquals("400", response[0]);
+        assertEquals("bob - instructor does not exist.", Json.parseObject(response[1]).get("error"));
+    }
+
+    /**
+     * Sends a request to the server.
+     *
+     * @param method The HTTP method.
+     * @param path   The path and query.
+     * @param body   The JSON body, or null.
+     * @return The status code and the response body.
+     * @throws IOException if the request fails.
+     */
+    private String[] request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + server.getPort() + path).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new String[]{Integer.toString(status), new String(in.readAllBytes(), StandardCharsets.UTF_8)};
+        }
+    }
+}
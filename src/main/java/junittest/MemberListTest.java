@@ -5,6 +5,15 @@ import enums.Location;
 import impl.MemberList;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
 import static org.junit.Assert.*;
 
 /**
@@ -116,4 +125,109 @@ public class MemberListTest {
         Premium newMember = new Premium(new Profile("Mary", "Lindsey", new Date("12/01/1989")), new Date("01/10/2024"), Location.BRIDGEWATER);
         assertFalse(members.remove(newMember));
     }
-}
\ No newline at end of file
+
+    /**
+     * test method to search members by the start of their first and last names, ignoring case.
+     * accepted output - 2 matches for "j", 1 match for "j" "do", at most 1 with a limit of 1
+     * actual output - 2 matches for "j", 1 match for "j" "do", at most 1 with a limit of 1
+     */
+    @Test
+    public void searchByNamePrefix() {
+        MemberList list = new MemberList();
+        list.add(new Basic(new Profile("Jerry", "Brown", new Date("6/30/1979")), new Date("01/12/2025"), Location.BRIDGEWATER));
+        list.add(new Family(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("01/12/2025"), Location.EDISON));
+        list.add(new Premium(new Profile("Mary", "Lindsey", new Date("12/01/1989")), new Date("01/10/2024"), Location.FRANKLIN));
+        assertEquals(2, list.search("j", "", 10).length);
+        Member[] found = list.search("J", "do", 10);
+        assertEquals(1, found.length);
+        assertEquals("Doe", found[0].getProfile().getLname());
+        assertEquals(1, list.search("", "", 1).length);
+        assertEquals(0, list.search("x", "", 10).length);
+    }
+
+    /**
+     * test method to save a member list and read every saved line back.
+     * accepted output - 2 lines, parsed back to a Family and a Premium member with the same profile, expiration and studio
+     * actual output - 2 lines, parsed back to a Family and a Premium member with the same profile, expiration and studio
+     */
+    @Test
+    public void saveRoundTrip() throws IOException {
+        MemberList list = new MemberList();
+        list.add(new Family(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("01/12/2025"), Location.EDISON));
+        list.add(new Premium(new Profile("Mary", "Lindsey", new Date("12/01/1989")), new Date("01/10/2024"), Location.SOMERVILLE));
+        StringWriter out = new StringWriter();
+        list.save(out);
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        Member family = MemberList.parseMember(lines[0]);
+        Member premium = MemberList.parseMember(lines[1]);
+        assertTrue(family instanceof Family);
+        assertTrue(premium instanceof Premium);
+        assertEquals(list.getById(list.getIds()[0]).getProfile(), family.getProfile());
+        assertEquals("1/10/2024", premium.getExpire().toString());
+        assertEquals(Location.SOMERVILLE, premium.getHomeStudio());
+    }
+
+    /**
+     * test method to print the members by county when the list has spare capacity, then remove each member.
+     * accepted output - the members in county order, and every member removed
+     * actual output - the members in county order, and every member removed
+     */
+    @Test
+    public void printByCountyWithSpareCapacity() {
+        MemberList list = new MemberList();
+        Member edison = new Basic(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("01/12/2025"), Location.EDISON);
+        Member franklin = new Basic(new Profile("Mary", "Lindsey", new Date("12/01/1989")), new Date("01/10/2024"), Location.FRANKLIN);
+        list.add(franklin);
+        list.add(edison);
+        String report = list.printByCounty();
+        assertTrue(report.indexOf("Doe") < report.indexOf("Lindsey"));
+        assertTrue(list.remove(edison));
+        assertTrue(list.remove(franklin));
+        assertEquals(0, list.getSize());
+    }
+
+    /**
+     * test method to print the members again after a Premium member brings a guest and a Basic member attends a class.
+     * accepted output - the same report twice, then the new guest pass balance and class count
+     * actual output - the same report twice, then the new guest pass balance and class count
+     */
+    @Test
+    public void reportFollowsMemberChanges() {
+        MemberList list = new MemberList();
+        Premium premium = new Premium(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON);
+        Basic basic = new Basic(new Profile("Mary", "Lindsey", new Date("12/01/1989")), new Date("12/31/2099"), Location.FRANKLIN);
+        premium.setGuestPass(3);
+        list.add(premium);
+        list.add(basic);
+        String report = list.printByMember();
+        assertEquals(report, list.printByMember());
+        assertTrue(report.contains("guest-pass remaining: 3"));
+        premium.takeAttendanceOfGuest();
+        basic.attendClass();
+        report = list.printByMember();
+        assertTrue(report.contains("guest-pass remaining: 2"));
+        assertTrue(report.contains("number of classes attended: 1"));
+    }
+
+    /**
+     * test method to print a member whose membership ends today, then print them again the next day.
+     * accepted output - the membership expires on the first day and has expired on the next
+     * actual output - the membership expires on the first day and has expired on the next
+     */
+    @Test
+    public void reportFollowsTheDay() {
+        ZoneId utc = ZoneOffset.UTC;
+        Instant day = LocalDate.of(2030, 3, 14).atTime(12, 0).toInstant(ZoneOffset.UTC);
+        try {
+            Date.useClock(Clock.fixed(day, utc));
+            MemberList list = new MemberList();
+            list.add(new Basic(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("3/14/2030"), Location.EDISON));
+            assertTrue(list.printByMember().contains("Membership expires 3/14/2030"));
+            Date.useClock(Clock.fixed(day.plus(Duration.ofDays(1)), utc));
+            assertTrue(list.printByMember().contains("Membership expired"));
+        } finally {
+            Date.useClock(Clock.systemDefaultZone());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package junittest;
+
+import data.Basic;
+import data.Date;
+import data.Family;
+import data.Member;
+import data.Profile;
+import enums.Location;
+import enums.Plan;
+import impl.MemberBitmap;
+import impl.MemberList;
+import impl.MemberQuery;
+import impl.WorkloadGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code MemberQueryTest} class tests the results and plans of queries built with the {@code MemberQuery} class
+ * against a check of every member, and the {@code MemberBitmap} sets they are planned with.
+ * @author Sasanka Paththameistreege
+ */
+public class MemberQueryTest {
+
+    /** The members queried, generated with the default seed. **/
+    private MemberList memberList;
+
+    /**
+     * Generates a member list of 1000 members, in which some Basic members have attended classes and some
+     * Family members have used their guest pass.
+     */
+    @Before
+    public void setUp() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED);
+        memberList = new MemberList();
+        for (int i = 0; i < 1000; i++) {
+            Member member = MemberList.parseMember(generator.memberLine(i));
+            if (member instanceof Basic && i % 3 == 0) {
+                for (int j = 0; j < i % 7; j++) {
+                    ((Basic) member).attendClass();
+                }
+            }
+            if (member instanceof Family && i % 2 == 0) {
+                ((Family) member).takeAttendanceOfGuest();
+            }
+            memberList.add(member);
+        }
+    }
+
+    /**
+     * test method to run the queries Ops asks for, and compare them with a check of every member.
+     * accepted output - the same members, in the same order, as the check of every member, from the bitmap indexes
+     * actual output - the same members, in the same order, as the check of every member, from the bitmap indexes
+     */
+    @Test
+    public void queriesMatchFullCheck() {
+        MemberQuery expiredPremium = memberList.query().plan(Plan.PREMIUM).county("somerset").expired(true);
+        assertEquals(matching(m -> m.getMembershipType().equals("PREMIUM") && m.getHomeStudio().getCounty().equals("Somerset")
+                && m.isMembershipExpired()), expiredPremium.list());
+        assertEquals("bitmap index, " + expiredPremium.list().size() + " of 1000 members", expiredPremium.explain());
+        assertEquals(expiredPremium.list().size(), expiredPremium.count());
+
+        MemberQuery busyBasic = memberList.query().plan(Plan.BASIC).studio(Location.EDISON).classesAttended(5, Integer.MAX_VALUE);
+        List<Member> expected = matching(m -> m instanceof Basic && m.getHomeStudio() == Location.EDISON
+                && ((Basic) m).getNumClasses() > 4);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, busyBasic.list());
+        assertTrue(busyBasic.explain().startsWith("bitmap index"));
+        assertEquals(expected.size(), busyBasic.count());
+
+        MemberQuery unusedPass = memberList.query().plan(Plan.FAMILY).guestPasses(1, 1);
+        assertEquals(matching(m -> m instanceof Family && ((Family) m).hasGuestPass()), unusedPass.list());
+        assertTrue(unusedPass.explain().startsWith("bitmap index"));
+
+        Date from = new Date("1/1/1980");
+        Date to = new Date("12/31/1989");
+        MemberQuery eighties = memberList.query().bornBetween(from, to);
+        assertEquals(matching(m -> m.getProfile().getDob().compareTo(from) >= 0 && m.getProfile().getDob().compareTo(to) <= 0),
+                eighties.list());
+        assertTrue(eighties.explain().startsWith("scan"));
+    }
+
+    /**
+     * test method to read the results of a query a page at a time.
+     * accepted output - the pages together give every result once, in order, and the count is the number of results
+     * actual output - the pages together give every result once, in order, and the count is the number of results
+     */
+    @Test
+    public void pagesCoverResults() {
+        List<Member> all = memberList.query().county("Middlesex").list();
+        List<Member> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 25) {
+            List<Member> page = memberList.query().county("Middlesex").offset(offset).limit(25).list();
+            assertTrue(page.size() <= 25);
+            paged.addAll(page);
+        }
+        assertEquals(all, paged);
+        assertEquals(all.size(), memberList.query().county("Middlesex").limit(1).count());
+        assertTrue(memberList.query().county("Hunterdon").list().isEmpty());
+    }
+
+    /**
+     * test method to combine bitmaps of IDs across word boundaries, and read them back in order.
+     * accepted output - the intersection and union of the two sets, in ID order, with their counts
+     * actual output - the intersection and union of the two sets, in ID order, with their counts
+     */
+    @Test
+    public void bitmapsCombine() {
+        MemberBitmap even = new MemberBitmap();
+        MemberBitmap tens = new MemberBitmap();
+        for (int id = 0; id < 1000; id += 2) {
+            even.set(id);
+        }
+        for (int id = 0; id < 5000; id += 10) {
+            tens.set(id);
+        }
+        even.clear(500);
+        assertEquals(499, even.cardinality());
+        MemberBitmap both = even.and(tens);
+        assertEquals(99, both.cardinality());
+        assertFalse(both.get(500));
+        assertEquals(510, both.nextSetBit(491));
+        assertEquals(-1, both.nextSetBit(991));
+        MemberBitmap either = even.or(tens);
+        assertEquals(499 + 500 - 99, either.cardinality());
+        assertEquals(4990, either.nextSetBit(4981));
+        assertEquals(-1, new MemberBitmap().nextSetBit(0));
+    }
+
+    /**
+     * test method to add a plain member, who is on none of the plans, then query and remove them.
+     * accepted output - the member is added and counted by unfiltered queries, but by no plan, and is removed
+     * actual output - the member is added and counted by unfiltered queries, but by no plan, and is removed
+     */
+    @Test
+    public void plainMemberIsOnNoPlan() {
+        MemberList list = new MemberList();
+        Member plain = new Member(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON);
+        assertTrue(list.add(plain));
+        assertEquals(1, list.getSize());
+        assertEquals(1, list.query().count());
+        assertEquals(1, list.query().studio(Location.EDISON).list().size());
+        assertEquals(0, list.query().plan(Plan.BASIC, Plan.FAMILY).count());
+        assertEquals(0, list.query().plan(Plan.BASIC).classesAttended(0, 10).count());
+        assertTrue(list.remove(plain));
+        assertEquals(0, list.query().count());
+    }
+
+    /**
+     * test method to count expired memberships on the day a membership ends, on the next day, and after that
+     * member is removed.
+     * accepted output - 0 expired members, then 1, then 0, all from the bitmap index
+     * actual output - 0 expired members, then 1, then 0, all from the bitmap index
+     */
+    @Test
+    public void expiredIndexFollowsTheDay() {
+        Instant day = LocalDate.of(2030, 3, 14).atTime(12, 0).toInstant(ZoneOffset.UTC);
+        try {
+            Date.useClock(Clock.fixed(day, ZoneOffset.UTC));
+            MemberList list = new MemberList();
+            Basic ending = new Basic(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("3/14/2030"), Location.EDISON);
+            list.add(ending);
+            list.add(new Basic(new Profile("John", "Doe", new Date("1/1/1990")), new Date("12/31/2099"), Location.EDISON));
+            assertEquals(0, list.query().expired(true).count());
+            assertEquals(2, list.query().expired(false).count());
+            Date.useClock(Clock.fixed(day.plus(Duration.ofDays(1)), ZoneOffset.UTC));
+            assertEquals(1, list.query().expired(true).count());
+            assertEquals(1, list.query().expired(false).count());
+            assertTrue(list.query().expired(true).explain().startsWith("bitmap index"));
+            list.remove(ending);
+            assertEquals(0, list.query().expired(true).count());
+        } finally {
+            Date.useClock(Clock.systemDefaultZone());
+        }
+    }
+
+    /**
+     * Checks every member against a condition.
+     *
+     * @param condition the condition.
+     * @return the members that meet it, in ID order.
+     */
+    private List<Member> matching(Predicate<Member> condition) {
+        List<Member> members = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            Member member = memberList.getById(id);
+            if (member != null && condition.test(member)) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+}
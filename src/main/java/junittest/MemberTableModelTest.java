@@ -0,0 +1,112 @@
+package junittest;
+
+import data.*;
+import enums.Location;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import javafx.collections.ListChangeListener;
+import org.junit.Test;
+import studiomanagerFX.MemberTableModel;
+
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code MemberTableModelTest} class tests sorting and refreshing the {@code MemberTableModel} view of a member list.
+ * @author Sasanka Paththameistreege
+ */
+public class MemberTableModelTest {
+
+    /**
+     * Creates a member list with three Basic members, added in the order Doe, Brown, Lindsey.
+     *
+     * @return a new member list.
+     */
+    private static MemberList threeMembers() {
+        MemberList memberList = new MemberList();
+        memberList.add(new Basic(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON));
+        memberList.add(new Basic(new Profile("Jerry", "Brown", new Date("6/30/1979")), new Date("12/31/2099"), Location.BRIDGEWATER));
+        memberList.add(new Basic(new Profile("Mary", "Lindsey", new Date("12/1/1989")), new Date("12/31/2099"), Location.FRANKLIN));
+        return memberList;
+    }
+
+    /**
+     * test method to sort the view by last name, then restore the order of the member list.
+     * accepted output - Brown, Doe, Lindsey, then Doe, Brown, Lindsey with a permutation change
+     * actual output - Brown, Doe, Lindsey, then Doe, Brown, Lindsey with a permutation change
+     */
+    @Test
+    public void sortByLastNameAndRestore() {
+        MemberTableModel model = new MemberTableModel(new StudioManager(threeMembers(), new Schedule()));
+        boolean[] permuted = new boolean[1];
+        model.addListener((ListChangeListener<Member>) change -> {
+            while (change.next()) {
+                permuted[0] |= change.wasPermutated();
+            }
+        });
+        model.sort(Comparator.comparing(member -> member.getProfile().getLname()));
+        assertTrue(permuted[0]);
+        assertEquals("Brown", model.get(0).getProfile().getLname());
+        assertEquals("Doe", model.get(1).getProfile().getLname());
+        assertEquals("Lindsey", model.get(2).getProfile().getLname());
+        model.sort(null);
+        assertEquals("Doe", model.get(0).getProfile().getLname());
+        assertEquals("Brown", model.get(1).getProfile().getLname());
+    }
+
+    /**
+     * test method to refresh a sorted view after a member is removed and another is added.
+     * accepted output - 3 rows, still sorted by last name
+     * actual output - 3 rows, still sorted by last name
+     */
+    @Test
+    public void refreshKeepsSortOrder() {
+        MemberList memberList = threeMembers();
+        MemberTableModel model = new MemberTableModel(new StudioManager(memberList, new Schedule()));
+        model.sort(Comparator.comparing(member -> member.getProfile().getLname()));
+        memberList.cancelMembership(new Member(new Profile("Jerry", "Brown", new Date("6/30/1979")), null, null));
+        memberList.add(new Basic(new Profile("Roy", "Brooks", new Date("8/8/1977")), new Date("12/31/2099"), Location.SOMERVILLE));
+        model.refresh();
+        assertEquals(3, model.size());
+        assertEquals("Brooks", model.get(0).getProfile().getLname());
+        assertEquals("Lindsey", model.get(2).getProfile().getLname());
+    }
+
+    /**
+     * test method to sort 500 members by home studio, which keeps members of the same studio in list order and
+     * reports where every row moved.
+     * accepted output - rows ordered by studio, then by member ID, and each row reported at its new index
+     * actual output - rows ordered by studio, then by member ID, and each row reported at its new index
+     */
+    @Test
+    public void sortIsStable() {
+        MemberList memberList = new MemberList();
+        Location[] studios = Location.values();
+        for (int i = 0; i < 500; i++) {
+            memberList.add(new Basic(new Profile("Member" + i, "Doe", new Date("5/1/1996")), new Date("12/31/2099"), studios[i * 7 % studios.length]));
+        }
+        MemberTableModel model = new MemberTableModel(new StudioManager(memberList, new Schedule()));
+        Member[] before = new Member[model.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = model.get(i);
+        }
+        int[] moved = new int[before.length];
+        model.addListener((ListChangeListener<Member>) change -> {
+            while (change.next()) {
+                for (int i = 0; i < moved.length; i++) {
+                    moved[i] = change.getPermutation(i);
+                }
+            }
+        });
+        model.sort(Comparator.comparing(Member::getHomeStudio));
+        for (int i = 1; i < model.size(); i++) {
+            int order = model.get(i - 1).getHomeStudio().compareTo(model.get(i).getHomeStudio());
+            assertTrue(order < 0 || order == 0 && model.get(i - 1).getId() < model.get(i).getId());
+        }
+        for (int i = 0; i < before.length; i++) {
+            assertSame(before[i], model.get(moved[i]));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package junittest;
+
+import data.Date;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import metrics.Metrics;
+import metrics.Operation;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code OperationMetricsTest} class tests the counters and latency histograms of the {@code Operation} class
+ * and their publication over JMX.
+ * @author Sasanka Paththameistreege
+ */
+public class OperationMetricsTest {
+
+    /**
+     * test method to time calls of an operation and read its counters over JMX.
+     * accepted output - the calls counted, every latency in the histogram, the percentiles ordered
+     * actual output - the calls counted, every latency in the histogram, the percentiles ordered
+     */
+    @Test
+    public void callsAreCountedAndPublished() throws Exception {
+        Operation operation = Metrics.operation("Test", "sleep");
+        for (int i = 0; i < 20; i++) {
+            long start = operation.start();
+            Thread.sleep(1);
+            operation.record(start);
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("studiomanager:type=Test,name=sleep");
+        assertEquals(20L, server.getAttribute(name, "Count"));
+        long inHistogram = 0;
+        for (long n : operation.getHistogram()) {
+            inHistogram += n;
+        }
+        assertEquals(20, inHistogram);
+        assertTrue(operation.getP50Micros() >= 1000);
+        assertTrue(operation.getP50Micros() <= operation.getP99Micros());
+        assertTrue(operation.getMaxMicros() <= operation.getP999Micros());
+        operation.reset();
+        assertEquals(0, operation.getCount());
+    }
+
+    /**
+     * test method to register a member for a class through the studio manager.
+     * accepted output - the registerMember operation counts one more call
+     * actual output - the registerMember operation counts one more call
+     */
+    @Test
+    public void studioManagerOperationsAreTimed() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("studiomanager:type=StudioManager,name=registerMember");
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        Profile profile = new Profile("Jane", "Doe", new Date("5/1/1996"));
+        memberList.add(new Premium(profile, new Date("12/31/2099"), Location.EDISON));
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, Time.MORNING));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        long before = (Long) server.getAttribute(name, "Count");
+        manager.registerMember(Offer.PILATES, Instructor.JENNIFER, Location.EDISON, profile);
+        assertEquals(before + 1, server.getAttribute(name, "Count"));
+    }
+}
@@ -0,0 +1,105 @@
+package junittest;
+
+import data.Basic;
+import data.Date;
+import data.Member;
+import data.Premium;
+import data.Profile;
+import enums.Location;
+import impl.MemberList;
+import impl.PartitionedMemberList;
+import impl.WorkloadGenerator;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code PartitionedMemberListTest} class tests that the {@code PartitionedMemberList} class keeps profiles unique
+ * across its shards, and that its merged reports match those of a single {@code MemberList}.
+ * @author Sasanka Paththameistreege
+ */
+public class PartitionedMemberListTest {
+
+    /**
+     * test method to add the same generated members to a member list and a partitioned member list, and compare
+     * the reports of both.
+     * accepted output - the same report by profile, by county and of fees, with every member listed
+     * actual output - the same report by profile, by county and of fees, with every member listed
+     */
+    @Test
+    public void reportsMatchMemberList() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED);
+        MemberList memberList = new MemberList();
+        PartitionedMemberList partitioned = new PartitionedMemberList();
+        for (int i = 0; i < 300; i++) {
+            String line = generator.memberLine(i);
+            assertTrue(memberList.add(MemberList.parseMember(line)));
+            assertTrue(partitioned.add(MemberList.parseMember(line)));
+        }
+        assertEquals(300, partitioned.getSize());
+        assertEquals(memberList.printFees(), partitioned.printFees());
+        assertEquals(memberList.printByMember(), partitioned.printByMember());
+        assertEquals(memberList.printByCounty(), partitioned.printByCounty());
+        assertEquals("Collection is empty!", new PartitionedMemberList().printByMember());
+    }
+
+    /**
+     * test method to add a member whose profile is taken at another studio, then look up, find by ID and remove
+     * the first member.
+     * accepted output - false for the second member, the first member found by profile in any case and by ID, then removed
+     * actual output - false for the second member, the first member found by profile in any case and by ID, then removed
+     */
+    @Test
+    public void profilesAreUniqueAcrossStudios() {
+        PartitionedMemberList partitioned = new PartitionedMemberList();
+        Member edison = new Premium(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON);
+        Member franklin = new Basic(new Profile("JANE", "doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.FRANKLIN);
+        assertTrue(partitioned.add(edison));
+        assertFalse(partitioned.add(franklin));
+        assertEquals(1, partitioned.getSize(Location.EDISON));
+        assertEquals(0, partitioned.getSize(Location.FRANKLIN));
+        assertSame(edison, partitioned.retrieveMember(franklin.getProfile()));
+        assertSame(edison, partitioned.getById(edison.getId()));
+        assertTrue(partitioned.remove(franklin));
+        assertNull(partitioned.retrieveMember(edison.getProfile()));
+        assertTrue(partitioned.add(franklin));
+        assertEquals(1, partitioned.getSize(Location.FRANKLIN));
+    }
+
+    /**
+     * test method to add members of two studios from four threads at once, then compare the fee report with that
+     * of a member list holding the same members in ID order.
+     * accepted output - the same fee report, listing the members in ID order
+     * actual output - the same fee report, listing the members in ID order
+     */
+    @Test
+    public void concurrentAddsKeepIdOrder() throws InterruptedException {
+        PartitionedMemberList partitioned = new PartitionedMemberList();
+        Member[] members = new Member[8000];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int first = t;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < members.length; i += threads.length) {
+                    members[i] = new Basic(new Profile("Member" + i, "Doe", new Date("5/1/1996")), new Date("12/31/2099"),
+                            i % 2 == 0 ? Location.EDISON : Location.FRANKLIN);
+                    assertTrue(partitioned.add(members[i]));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Member[] byId = members.clone();
+        Arrays.sort(byId, Comparator.comparingInt(Member::getId));
+        MemberList memberList = new MemberList();
+        for (Member member : byId) {
+            memberList.add(member);
+        }
+        assertEquals(memberList.printFees(), partitioned.printFees());
+    }
+}
@@ -0,0 +1,44 @@
+package junittest;
+
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.Schedule;
+import impl.ScheduleEvent;
+import org.junit.Test;
+import studiomanagerFX.ScheduleTableModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code ScheduleTableModelTest} class tests that the {@code ScheduleTableModel} view follows the classes added
+ * to its schedule.
+ * @author Sasanka Paththameistreege
+ */
+public class ScheduleTableModelTest {
+
+    /**
+     * test method to construct a view while the event of a class it reads is still waiting to be applied, as when
+     * the class is added between the view listening and reading the schedule, then add another class.
+     * accepted output - one row for each class
+     * actual output - one row for each class
+     */
+    @Test
+    public void classAddedWhileConstructingIsShownOnce() {
+        Schedule schedule = new Schedule();
+        FitnessClass pilates = new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.BRIDGEWATER, Time.MORNING);
+        schedule.add(pilates);
+        List<Runnable> pending = new ArrayList<>();
+        ScheduleTableModel model = new ScheduleTableModel(schedule, pending::add);
+        model.scheduleChanged(new ScheduleEvent(ScheduleEvent.Type.CLASS_ADDED, pilates, 0, ScheduleEvent.NO_MEMBER, 0));
+        schedule.add(new FitnessClass(Offer.CARDIO, Instructor.DAVIS, Location.BRIDGEWATER, Time.AFTERNOON));
+        pending.forEach(Runnable::run);
+        assertEquals(2, model.size());
+        assertEquals("CARDIO", model.get(1).classNameProperty().get());
+    }
+}
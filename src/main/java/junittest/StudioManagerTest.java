@@ -0,0 +1,138 @@
+package junittest;
+
+import data.*;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.CheckInResult;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code StudioManagerTest} class tests the batch command processing of the {@code StudioManager} class.
+ * Every test method builds its own engine with an empty member list and schedule.
+ * @author Sasanka Paththameistreege
+ */
+public class StudioManagerTest {
+
+    /**
+     * Processes the command lines with a new engine.
+     *
+     * @param lines the command lines.
+     * @return the messages printed, one per line.
+     * @throws IOException if processing fails.
+     */
+    private static String[] process(String... lines) throws IOException {
+        StudioManager manager = new StudioManager(new MemberList(), new Schedule());
+        StringWriter out = new StringWriter();
+        manager.process(new BufferedReader(new StringReader(String.join("\n", lines))), out);
+        return out.toString().split("\n");
+    }
+
+    /**
+     * test method to add a member twice and cancel the membership twice.
+     * accepted output - added, already in the database, removed, not in the database
+     * actual output - added, already in the database, removed, not in the database
+     */
+    @Test
+    public void addAndCancelMember() throws IOException {
+        String[] out = process("AB John Doe 1/20/2003 BRIDGEWATER", "AB john doe 1/20/2003 BRIDGEWATER",
+                "C John Doe 1/20/2003", "C John Doe 1/20/2003");
+        assertArrayEquals(new String[]{"John Doe added.", "john doe is already in the member database.",
+                "John Doe removed.", "John Doe is not in the member database."}, out);
+    }
+
+    /**
+     * test method to process lines that fail parsing, which print their error and are not applied.
+     * accepted output - the error message of each line
+     * actual output - the error message of each line
+     */
+    @Test
+    public void invalidLines() throws IOException {
+        String[] out = process("X", "AB John Doe", "AB John Doe 1/xx/2003 BRIDGEWATER", "AB Jane Doe 6/1/1996 ABC",
+                "R yoga Jennifer Bridgewater John Doe 1/20/2003", "R Pilates Mary Bridgewater John Doe 1/20/2003",
+                "R Pilates Jennifer newark John Doe 1/20/2003");
+        assertArrayEquals(new String[]{"X is an invalid command!", "Missing data tokens.", "The date contains characters.",
+                "ABC: invalid studio location!", "yoga - class name does not exist.", "Mary - instructor does not exist.",
+                "newark - invalid studio location."}, out);
+    }
+
+    /**
+     * test method to stop processing at a quit command, leaving later lines unprocessed.
+     * accepted output - 1 message
+     * actual output - 1 message
+     */
+    @Test
+    public void stopAtQuit() throws IOException {
+        String[] out = process("AB John Doe 1/20/2003 BRIDGEWATER", "Q", "AB Jane Doe 6/1/1996 EDISON");
+        assertArrayEquals(new String[]{"John Doe added."}, out);
+    }
+
+    /**
+     * test method to stop reading the command stream at a quit command, so the lines after it stay in the stream.
+     * accepted output - the line after the quit command is the next line of the stream
+     * actual output - the line after the quit command is the next line of the stream
+     */
+    @Test
+    public void stopReadingAtQuit() throws IOException {
+        StudioManager manager = new StudioManager(new MemberList(), new Schedule());
+        BufferedReader in = new BufferedReader(new StringReader("AB John Doe 1/20/2003 BRIDGEWATER\nQ\nAB Jane Doe 6/1/1996 EDISON\n"));
+        assertEquals(1, manager.process(in, new StringWriter()));
+        assertEquals("AB Jane Doe 6/1/1996 EDISON", in.readLine());
+    }
+
+    /**
+     * test method to check members in by ID to a class with one seat.
+     * accepted output - checked in, already registered, waitlisted, wrong studio, member and class not found
+     * actual output - checked in, already registered, waitlisted, wrong studio, member and class not found
+     */
+    @Test
+    public void checkInById() {
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        schedule.add(new FitnessClass(Offer.PILATES, Instructor.JENNIFER, Location.BRIDGEWATER, Time.MORNING, 1));
+        StudioManager manager = new StudioManager(memberList, schedule);
+        Premium jane = new Premium(new Profile("Jane", "Doe", new Date("5/1/1996")), new Date("12/31/2099"), Location.EDISON);
+        Premium mary = new Premium(new Profile("Mary", "Lindsey", new Date("12/1/1989")), new Date("12/31/2099"), Location.EDISON);
+        Basic jerry = new Basic(new Profile("Jerry", "Brown", new Date("6/30/1979")), new Date("12/31/2099"), Location.FRANKLIN);
+        memberList.add(jane);
+        memberList.add(mary);
+        memberList.add(jerry);
+        assertEquals(CheckInResult.CHECKED_IN, manager.checkIn(jane.getId(), 0));
+        assertEquals(CheckInResult.ALREADY_REGISTERED, manager.checkIn(jane.getId(), 0));
+        assertEquals(CheckInResult.WAITLISTED, manager.checkIn(mary.getId(), 0));
+        assertEquals(CheckInResult.WRONG_STUDIO, manager.checkIn(jerry.getId(), 0));
+        assertEquals(CheckInResult.MEMBER_NOT_FOUND, manager.checkIn(99, 0));
+        assertEquals(CheckInResult.CLASS_NOT_FOUND, manager.checkIn(jane.getId(), 1));
+    }
+
+    /**
+     * test method to print the members sorted by profile and by county through the engine.
+     * accepted output - the same reports as the member list prints, and the list keeps the order members were added
+     * actual output - the same reports as the member list prints, and the list keeps the order members were added
+     */
+    @Test
+    public void reportsLeaveListOrder() {
+        MemberList memberList = new MemberList();
+        memberList.add(new Basic(new Profile("Zoe", "Young", new Date("3/3/1990")), new Date("12/31/2099"), Location.EDISON));
+        memberList.add(new Basic(new Profile("Amy", "Adams", new Date("4/4/1991")), new Date("12/31/2099"), Location.SOMERVILLE));
+        memberList.add(new Basic(new Profile("Ben", "Brown", new Date("5/5/1992")), new Date("12/31/2099"), Location.BRIDGEWATER));
+        StudioManager manager = new StudioManager(memberList, new Schedule());
+        String listed = memberList.printMembers();
+        assertEquals(memberList.printByMember(), manager.printByMember());
+        assertEquals(memberList.printByCounty(), manager.printByCounty());
+        assertEquals(listed, memberList.printMembers());
+        assertTrue(manager.printByMember().indexOf("Adams") < manager.printByMember().indexOf("Young"));
+    }
+}
@@ -0,0 +1,99 @@
+package junittest;
+
+import data.Date;
+import impl.Command;
+import impl.MemberList;
+import impl.Schedule;
+import impl.WorkloadGenerator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+/**
+ * The {@code WorkloadGeneratorTest} class tests that the files written by the {@code WorkloadGenerator} class are
+ * read back by the member list, the schedule and the command parser.
+ * @author Sasanka Paththameistreege
+ */
+public class WorkloadGeneratorTest {
+
+    /**
+     * test method to generate members, classes and registrations, then read them back.
+     * accepted output - every member added once, every class and command parsed, every command for a member added
+     * actual output - every member added once, every class and command parsed, every command for a member added
+     */
+    @Test
+    public void generatedFilesLoad() throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.DEFAULT_SEED);
+        generator.setLocationWeights(5, 1, 1, 1, 0);
+        StringWriter members = new StringWriter();
+        StringWriter classes = new StringWriter();
+        StringWriter registrations = new StringWriter();
+        generator.writeMembers(members, 1000);
+        generator.writeSchedule(classes, 50);
+        generator.writeRegistrations(registrations, 500, 1000, 50);
+
+        MemberList memberList = new MemberList();
+        for (String line : members.toString().split("\n")) {
+            assertTrue(memberList.add(MemberList.parseMember(line)));
+        }
+        assertEquals(1000, memberList.getSize());
+        Schedule schedule = new Schedule();
+        for (String line : classes.toString().split("\n")) {
+            assertFalse(line.endsWith("Somerville"));
+            schedule.add(Schedule.parseClass(line));
+        }
+        assertEquals(50, schedule.getNumClasses());
+        for (String line : registrations.toString().split("\n")) {
+            Command command = Command.parse(line);
+            assertNotEquals(Command.Type.INVALID, command.getType());
+            assertNotNull(memberList.retrieveMember(command.getProfile()));
+        }
+    }
+
+    /**
+     * test method to generate the same members twice with the same seed, and once with another seed.
+     * accepted output - the same file with the same seed, a different file with another seed
+     * actual output - the same file with the same seed, a different file with another seed
+     */
+    @Test
+    public void sameSeedSameFile() throws IOException {
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+        StringWriter other = new StringWriter();
+        new WorkloadGenerator(1).writeMembers(first, 100);
+        new WorkloadGenerator(1).writeMembers(second, 100);
+        new WorkloadGenerator(2).writeMembers(other, 100);
+        assertEquals(first.toString(), second.toString());
+        assertNotEquals(first.toString(), other.toString());
+    }
+
+    /**
+     * test method to generate the same members with the same seed in two different years, and once with another
+     * base year.
+     * accepted output - the same file in both years, a different file with another base year
+     * actual output - the same file in both years, a different file with another base year
+     */
+    @Test
+    public void sameSeedSameFileInAnyYear() throws IOException {
+        StringWriter first = new StringWriter();
+        StringWriter later = new StringWriter();
+        StringWriter other = new StringWriter();
+        try {
+            Date.useClock(Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC));
+            new WorkloadGenerator(1).writeMembers(first, 100);
+            Date.useClock(Clock.fixed(Instant.parse("2031-06-01T12:00:00Z"), ZoneOffset.UTC));
+            new WorkloadGenerator(1).writeMembers(later, 100);
+        } finally {
+            Date.useClock(Clock.systemDefaultZone());
+        }
+        new WorkloadGenerator(1, WorkloadGenerator.DEFAULT_YEAR + 5).writeMembers(other, 100);
+        assertEquals(first.toString(), later.toString());
+        assertNotEquals(first.toString(), other.toString());
+    }
+}
@@ -0,0 +1,39 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a search of the schedule by class, instructor and studio. Searches take microseconds,
+ * so the bundled configuration only records those above a threshold.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@Name("studiomanager.FindClass")
+@Label("Find Class")
+@Category("Studio Manager")
+@Description("A search of the schedule for a class by class, instructor and studio")
+public class FindClassEvent extends Event {
+    /** The class searched for. */
+    @Label("Class")
+    public String offer;
+
+    /** The instructor searched for. */
+    @Label("Instructor")
+    public String instructor;
+
+    /** The studio searched for. */
+    @Label("Studio")
+    public String studio;
+
+    /** The number of classes of the schedule compared. */
+    @Label("Classes Scanned")
+    public int scanned;
+
+    /** Whether a class was found. */
+    @Label("Found")
+    public boolean found;
+}
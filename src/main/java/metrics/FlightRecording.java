@@ -0,0 +1,73 @@
+package metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a flight recording with the JDK default settings and the bundled settings of the Studio Manager events,
+ * {@code studiomanager.jfc}, so a stall of the desk application can be examined in JDK Mission Control. The
+ * recording is written to its file when the application exits.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public final class FlightRecording {
+    /**
+     * The bundled settings of the Studio Manager events
+     **/
+    public static final String SETTINGS = "studiomanager.jfc";
+
+    /**
+     * Not instantiable.
+     */
+    private FlightRecording() {
+    }
+
+    /**
+     * Reads the settings of the recording: the JDK default settings, with the bundled settings of the Studio
+     * Manager events added.
+     *
+     * @return The settings, by event setting name.
+     * @throws IOException    if the settings cannot be read.
+     * @throws ParseException if the settings are not a valid configuration.
+     */
+    public static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS)) {
+            if (in == null) {
+                throw new IOException("Missing " + SETTINGS);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Starts a recording that is written to the given file when the application exits.
+     *
+     * @param destination The recording file.
+     * @return The recording started.
+     * @throws IOException    if the settings cannot be read or the file cannot be written.
+     * @throws ParseException if the settings are not a valid configuration.
+     */
+    public static Recording start(Path destination) throws IOException, ParseException {
+        Recording recording = new Recording(settings());
+        recording.setName("studiomanager");
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
+    }
+}
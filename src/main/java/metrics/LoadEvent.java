@@ -0,0 +1,51 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for reading a member list or schedule file.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@Name("studiomanager.Load")
+@Label("File Load")
+@Category("Studio Manager")
+@Description("A member list or schedule file read and parsed")
+public class LoadEvent extends Event {
+    /** The code that read the file. */
+    @Label("Source")
+    public String source;
+
+    /** The path of the file. */
+    @Label("File")
+    public String file;
+
+    /** The number of lines read. */
+    @Label("Rows")
+    public int rows;
+
+    /** The number of bytes read. */
+    @Label("Bytes Parsed")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Creates the event of a load and starts timing it.
+     *
+     * @param source The code reading the file.
+     * @param file   The path of the file.
+     * @return The event; set the rows and bytes and commit it when the file is read.
+     */
+    public static LoadEvent start(String source, String file) {
+        LoadEvent event = new LoadEvent();
+        event.source = source;
+        event.file = file;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,59 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Creates the instrumented operations and registers each of them with the platform MBean server as
+ * {@code studiomanager:type=<component>,name=<operation>}, where JConsole or a local scraper can read them.
+ *
+ * <p>Instrumentation is enabled unless the system property {@code studiomanager.metrics} is {@code false}. The
+ * setting is read once, into a constant, so disabled instrumentation compiles down to nothing, and its operations
+ * are not registered.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public final class Metrics {
+    /**
+     * Whether operations are timed, read from the system property {@code studiomanager.metrics}
+     **/
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("studiomanager.metrics"));
+
+    /**
+     * Domain of the object names of the operations
+     **/
+    public static final String DOMAIN = "studiomanager";
+
+    /**
+     * Not instantiable.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Creates an operation and registers it with the platform MBean server, replacing an operation registered
+     * under the same name.
+     *
+     * @param component The class or screen the operation belongs to.
+     * @param name      The name of the operation.
+     * @return The operation.
+     */
+    public static Operation operation(String component, String name) {
+        Operation operation = new Operation();
+        if (ENABLED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName(DOMAIN + ":type=" + component + ",name=" + name);
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(operation, objectName);
+            } catch (JMException e) {
+                System.err.println("Could not register metrics of " + component + "." + name + ": " + e.getMessage());
+            }
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,185 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latency histogram of one instrumented operation. The operation is timed with
+ * <pre>
+ *     long start = OPERATION.start();
+ *     try {
+ *         ...
+ *     } finally {
+ *         OPERATION.record(start);
+ *     }
+ * </pre>
+ * Recording takes no lock and allocates nothing. When {@link Metrics#ENABLED} is false, both calls do nothing and
+ * are removed by the JIT compiler.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class Operation implements OperationMXBean {
+    /**
+     * Number of power-of-two latency buckets, enough for any latency in nanoseconds
+     **/
+    static final int BUCKETS = Long.SIZE;
+
+    /**
+     * Nanoseconds in a microsecond
+     **/
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    /**
+     * Number of completed calls
+     **/
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of the latencies in nanoseconds
+     **/
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Longest latency in nanoseconds
+     **/
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Number of latencies in every power-of-two bucket
+     **/
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Constructs an operation with empty counters. Operations are created and registered by
+     * {@link Metrics#operation(String, String)}.
+     */
+    Operation() {
+    }
+
+    /**
+     * Starts timing a call.
+     *
+     * @return The start time to pass to {@link #record(long)}, or 0 if instrumentation is disabled.
+     */
+    public long start() {
+        return Metrics.ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call that started at {@code start}.
+     *
+     * @param start The value returned by {@link #start()}.
+     */
+    public void record(long start) {
+        if (Metrics.ENABLED) {
+            recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a call of the given latency.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void recordNanos(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(bucket(nanos));
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Finds the bucket of a latency.
+     *
+     * @param nanos The latency in nanoseconds, not negative.
+     * @return The bucket, the number of bits of the latency.
+     */
+    static int bucket(long nanos) {
+        return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getTotalMicros() {
+        return totalNanos.sum() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / NANOS_PER_MICRO / n;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public double getP999Micros() {
+        return percentile(0.999);
+    }
+
+    /**
+     * Estimates a percentile of the latencies from the histogram.
+     *
+     * @param fraction The fraction of the calls at or below the percentile.
+     * @return The upper bound of the bucket holding the percentile, in microseconds, or 0 if there are no calls.
+     */
+    double percentile(double fraction) {
+        long[] histogram = getHistogram();
+        long total = 0;
+        for (long n : histogram) {
+            total += n;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= rank && seen > 0) {
+                return Math.scalb(1.0, b) / NANOS_PER_MICRO;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public long[] getHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            histogram[b] = buckets.get(b);
+        }
+        return histogram;
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets.set(b, 0);
+        }
+    }
+}
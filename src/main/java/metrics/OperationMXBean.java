@@ -0,0 +1,72 @@
+package metrics;
+
+/**
+ * The counters and latency histogram of one instrumented operation, as read over JMX. Latencies are recorded in
+ * power-of-two buckets of nanoseconds, so the percentiles are the upper bounds of their buckets: they are at most
+ * twice the true value.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public interface OperationMXBean {
+    /**
+     * Retrieves the number of times the operation completed since the last reset.
+     *
+     * @return The number of calls.
+     */
+    long getCount();
+
+    /**
+     * Retrieves the time spent in the operation since the last reset.
+     *
+     * @return The total latency in microseconds.
+     */
+    double getTotalMicros();
+
+    /**
+     * Retrieves the mean latency of the operation.
+     *
+     * @return The mean latency in microseconds, or 0 if the operation has not been called.
+     */
+    double getMeanMicros();
+
+    /**
+     * Retrieves the longest latency of the operation.
+     *
+     * @return The longest latency in microseconds.
+     */
+    double getMaxMicros();
+
+    /**
+     * Retrieves the median latency of the operation.
+     *
+     * @return The upper bound of the median latency in microseconds.
+     */
+    double getP50Micros();
+
+    /**
+     * Retrieves the 99th percentile latency of the operation.
+     *
+     * @return The upper bound of the 99th percentile latency in microseconds.
+     */
+    double getP99Micros();
+
+    /**
+     * Retrieves the 99.9th percentile latency of the operation.
+     *
+     * @return The upper bound of the 99.9th percentile latency in microseconds.
+     */
+    double getP999Micros();
+
+    /**
+     * Retrieves the latency histogram. Bucket {@code b} counts the latencies of at least {@code 2^(b-1)} and less
+     * than {@code 2^b} nanoseconds; bucket 0 counts latencies below one nanosecond.
+     *
+     * @return The count of every bucket.
+     */
+    long[] getHistogram();
+
+    /**
+     * Clears the counters and histogram.
+     */
+    void reset();
+}
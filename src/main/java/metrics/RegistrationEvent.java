@@ -0,0 +1,42 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a class registration action of the desk application, from the click to the outcome
+ * being shown, split into the validation of the form and the call to the engine.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@Name("studiomanager.Registration")
+@Label("Registration")
+@Category("Studio Manager")
+@Description("A member or guest registered for or removed from a class at the desk")
+public class RegistrationEvent extends Event {
+    /** The action: register, unregister, registerGuest or unregisterGuest. */
+    @Label("Action")
+    public String action;
+
+    /** Whether the form was valid, so the engine was called. */
+    @Label("Valid Input")
+    public boolean valid;
+
+    /** The time spent validating the form. */
+    @Label("Validation")
+    @Timespan
+    public long validationNanos;
+
+    /** The time spent in the engine, including the wait for its lock. */
+    @Label("Engine")
+    @Timespan
+    public long engineNanos;
+
+    /** The outcome shown to the user. */
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,41 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for sorting the member list or building a report of the members or the schedule.
+ *
+ * @author Sasanka Paththameistreege
+ */
+@Name("studiomanager.Report")
+@Label("Report")
+@Category("Studio Manager")
+@Description("A member list or schedule sorted and printed")
+public class ReportEvent extends Event {
+    /** The report built. */
+    @Label("Report")
+    public String report;
+
+    /** The number of members or classes in the report. */
+    @Label("Rows")
+    public int rows;
+
+    /**
+     * Creates the event of a report and starts timing it.
+     *
+     * @param report The name of the report.
+     * @param rows   The number of members or classes in the report.
+     * @return The event, to commit when the report is built.
+     */
+    public static ReportEvent start(String report, int rows) {
+        ReportEvent event = new ReportEvent();
+        event.report = report;
+        event.rows = rows;
+        event.begin();
+        return event;
+    }
+}
@@ -7,22 +7,24 @@
  * <p>Use this module to leverage the specific functionalities provided by the CS 213 Project III,
  * ensuring that the encapsulation and module path mechanisms are properly utilized for
  * enhanced modularity and maintainability of the application.</p>
+ *
+ * <p>Only the JavaFX modules the application uses, the JDK HTTP server of the kiosk mode, and the JMX and
+ * flight recorder support of the operation metrics are required at run time. The test frameworks, and the per-thread
+ * allocation counters of the allocation tests, are needed to compile the tests kept in this module, so they are
+ * required statically and are not resolved when the application starts.</p>
  */
 module org.example.cs_213_project_iii {
     requires javafx.controls;
     requires javafx.fxml;
-    requires javafx.web;
+    requires jdk.httpserver;
+    requires java.management;
+    requires jdk.jfr;
 
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires eu.hansolo.tilesfx;
-    requires com.almasb.fxgl.all;
-    requires org.testng;
-    requires junit;
+    requires static org.testng;
+    requires static junit;
+    requires static jdk.management;
 
     opens studiomanagerFX to javafx.fxml;
     exports studiomanagerFX;
-}
\ No newline at end of file
+    exports metrics;
+}
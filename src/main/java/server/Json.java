@@ -0,0 +1,212 @@
+package server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the kiosk server. Requests are flat objects whose values are strings, numbers,
+ * booleans or null, which is all the kiosk endpoints accept, and responses are written with
+ * {@link StringBuilder} using {@link #quote(String)} for every string value.
+ *
+ * @author Sasanka Paththameistreege
+ */
+public final class Json {
+    /**
+     * Not instantiable.
+     */
+    private Json() {
+    }
+
+    /**
+     * Parses a flat JSON object. Nested objects and arrays are rejected.
+     *
+     * @param text The JSON text.
+     * @return The members of the object, in order, with every value as its text; null values are absent.
+     * @throws IllegalArgumentException if the text is not a flat JSON object.
+     */
+    public static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> members = new LinkedHashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                String value = parser.value();
+                if (value != null) {
+                    members.put(name, value);
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        return members;
+    }
+
+    /**
+     * Formats a string as a JSON string literal.
+     *
+     * @param value The string, or null.
+     * @return The quoted and escaped string, or {@code null}.
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A cursor over JSON text.
+     */
+    private static final class Parser {
+        /** The text being parsed. */
+        private final String text;
+
+        /** The position of the next character. */
+        private int pos;
+
+        /**
+         * Constructs a parser at the start of the text.
+         *
+         * @param text The JSON text.
+         */
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Skips whitespace and consumes a character if it is next.
+         *
+         * @param c The character.
+         * @return true if the character was consumed.
+         */
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips whitespace and consumes a character that must be next.
+         *
+         * @param c The character.
+         */
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("'" + c + "' expected");
+            }
+        }
+
+        /**
+         * Checks that only whitespace is left.
+         */
+        private void end() {
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error("end of object expected");
+            }
+        }
+
+        /**
+         * Parses a string, number, boolean or null value.
+         *
+         * @return The text of the value, or null for a JSON null.
+         */
+        private String value() {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                return string();
+            }
+            int start = pos;
+            while (pos < text.length() && "-+.0123456789eEtruefalsn".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("value expected");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        /**
+         * Parses a string literal.
+         *
+         * @return The unescaped string.
+         */
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw error("bad unicode escape");
+                        }
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        /**
+         * Skips whitespace.
+         */
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        /**
+         * Creates the exception for malformed JSON at the current position.
+         *
+         * @param problem What was wrong.
+         * @return The exception.
+         */
+        private IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException("Invalid JSON at " + pos + ": " + problem);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package server;
+
+import data.Date;
+import data.Premium;
+import data.Profile;
+import enums.Instructor;
+import enums.Location;
+import enums.Offer;
+import enums.Time;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Load test of the kiosk server on localhost. It starts a {@link KioskServer} over a generated member list,
+ * with every Premium member at one studio and one unlimited class for every class and instructor there, then
+ * checks every member in to one class through {@code POST /classes/register}, with a fixed number of requests
+ * in flight, each sent from its own virtual thread. It reports the check-in rate and latency percentiles, and
+ * verifies that every check-in was recorded.
+ *
+ * <p>Usage: {@code KioskLoadTest [members] [concurrency]}, 20000 members and 200 concurrent requests by
+ * default.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class KioskLoadTest {
+    /**
+     * Number of members checked in when none is given
+     **/
+    private static final int DEFAULT_MEMBERS = 20000;
+
+    /**
+     * Number of requests in flight when none is given
+     **/
+    private static final int DEFAULT_CONCURRENCY = 200;
+
+    /**
+     * Number of member lookups sent before the measurement, so the server and client code are compiled
+     **/
+    private static final int WARMUP_REQUESTS = 2000;
+
+    /**
+     * The studio of every generated member and class
+     **/
+    private static final Location STUDIO = Location.BRIDGEWATER;
+
+    /**
+     * Runs the load test and prints the results.
+     *
+     * @param args The number of members, then the number of concurrent requests, optionally.
+     * @throws Exception if the server cannot start or a request fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+        System.setProperty("http.maxConnections", Integer.toString(concurrency));
+        if (System.getProperty(KioskServer.NODELAY_PROPERTY) == null) {
+            System.setProperty(KioskServer.NODELAY_PROPERTY, "true");
+        }
+
+        MemberList memberList = new MemberList();
+        for (int i = 0; i < members; i++) {
+            memberList.add(new Premium(profile(i), new Date("12/31/2099"), STUDIO));
+        }
+        Schedule schedule = new Schedule();
+        List<FitnessClass> classes = new ArrayList<>();
+        Time[] times = Time.values();
+        for (Offer offer : Offer.values()) {
+            for (Instructor instructor : Instructor.values()) {
+                FitnessClass fitnessClass = new FitnessClass(offer, instructor, STUDIO, times[classes.size() % times.length],
+                        FitnessClass.UNLIMITED_CAPACITY);
+                classes.add(fitnessClass);
+                schedule.add(fitnessClass);
+            }
+        }
+
+        KioskServer server = new KioskServer(new StudioManager(memberList, schedule), 0);
+        server.start();
+        String base = "http://localhost:" + server.getPort();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(clients, concurrency, WARMUP_REQUESTS, i -> {
+                Profile profile = profile(i % members);
+                return get(base + "/members?fname=" + profile.getFname() + "&lname=" + profile.getLname() + "&dob=" + profile.getDob());
+            });
+
+            long start = System.nanoTime();
+            long[] latencies = run(clients, concurrency, members, i -> {
+                FitnessClass fitnessClass = classes.get(i % classes.size());
+                Profile profile = profile(i);
+                return post(base + "/classes/register", "{\"class\":" + Json.quote(fitnessClass.getClassInfo().getClassName()) +
+                        ",\"instructor\":" + Json.quote(fitnessClass.getInstructor().getName()) +
+                        ",\"studio\":" + Json.quote(STUDIO.name()) +
+                        ",\"fname\":" + Json.quote(profile.getFname()) +
+                        ",\"lname\":" + Json.quote(profile.getLname()) +
+                        ",\"dob\":" + Json.quote(profile.getDob().toString()) + "}");
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int recorded = 0;
+            for (FitnessClass fitnessClass : classes) {
+                recorded += fitnessClass.getMembers().getSize();
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%d check-ins, %d concurrent: %.3f s, %.0f check-ins/s%n", members, concurrency, seconds, members / seconds);
+            System.out.printf("latency p50=%.2f ms p99=%.2f ms max=%.2f ms%n", percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6);
+            System.out.println("recorded " + recorded + " of " + members + " check-ins");
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * A request of the load test.
+     */
+    @FunctionalInterface
+    private interface Request {
+        /**
+         * Sends request number {@code i}.
+         *
+         * @param i The request number.
+         * @return The HTTP status.
+         * @throws IOException if the request fails.
+         */
+        int send(int i) throws IOException;
+    }
+
+    /**
+     * Sends requests, each on its own virtual thread, with at most the given number in flight.
+     *
+     * @param clients     The executor of the client threads.
+     * @param concurrency The number of requests in flight.
+     * @param count       The number of requests.
+     * @param request     Sends one request.
+     * @return The latency of every request in nanoseconds.
+     * @throws Exception if a request fails or does not succeed.
+     */
+    private static long[] run(ExecutorService clients, int concurrency, int count, Request request) throws Exception {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[count];
+        List<Future<?>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = i;
+            inFlight.acquire();
+            results.add(clients.submit(() -> {
+                try {
+                    long start = System.nanoTime();
+                    int status = request.send(n);
+                    latencies[n] = System.nanoTime() - start;
+                    if (status != HttpURLConnection.HTTP_OK) {
+                        throw new IOException("Request " + n + " returned HTTP " + status);
+                    }
+                    return null;
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        return latencies;
+    }
+
+    /**
+     * Sends a GET request and reads the response.
+     *
+     * @param url The URL.
+     * @return The HTTP status.
+     * @throws IOException if the request fails.
+     */
+    private static int get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        return finish(connection);
+    }
+
+    /**
+     * Sends a POST request with a JSON body and reads the response.
+     *
+     * @param url  The URL.
+     * @param json The request body.
+     * @return The HTTP status.
+     * @throws IOException if the request fails.
+     */
+    private static int post(String url, String json) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return finish(connection);
+    }
+
+    /**
+     * Reads the whole response, so the connection can be reused.
+     *
+     * @param connection The connection.
+     * @return The HTTP status.
+     * @throws IOException if the response cannot be read.
+     */
+    private static int finish(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        try (InputStream in = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                in.readAllBytes();
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Creates the profile of generated member number {@code i}.
+     *
+     * @param i The member number.
+     * @return The profile.
+     */
+    private static Profile profile(int i) {
+        return new Profile("Kiosk", "Member" + i, new Date("1/1/1990"));
+    }
+
+    /**
+     * Finds a percentile of sorted values.
+     *
+     * @param sorted   The values in ascending order.
+     * @param fraction The percentile as a fraction, such as 0.99.
+     * @return The value at the percentile.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (fraction * sorted.length))];
+    }
+}
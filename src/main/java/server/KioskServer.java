@@ -0,0 +1,377 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import data.*;
+import impl.CheckInResult;
+import impl.Command;
+import impl.FitnessClass;
+import impl.MemberList;
+import impl.Schedule;
+import impl.StudioManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An HTTP server for self-service check-in kiosks, serving JSON over the member list and schedule of a
+ * {@link StudioManager}. The server listens on the loopback interface only and runs every request on its own
+ * virtual thread; the engine's lock keeps requests consistent with each other and with the desk application
+ * when the server is embedded in it.
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *     <li>{@code GET /members?fname=&lname=&dob=} - the member with the profile, or 404.</li>
+ *     <li>{@code GET /schedule} - every class with its attendance and its index, the position of the class in the
+ *     schedule.</li>
+ *     <li>{@code POST /checkin} - a JSON object with the fields {@code member}, a member ID, and {@code class}, a
+ *     class index; the response holds the {@link CheckInResult}. This is the path of a card scan at the door.</li>
+ *     <li>{@code POST /classes/register}, {@code /classes/unregister}, {@code /classes/register-guest} and
+ *     {@code /classes/unregister-guest} - a JSON object with the fields {@code class}, {@code instructor},
+ *     {@code studio}, {@code fname}, {@code lname} and {@code dob}; the response holds the message the desk
+ *     application would show.</li>
+ * </ul>
+ *
+ * <p>Kiosks keep their connections alive, so the server should run with the system property
+ * {@value #NODELAY_PROPERTY} set to true; the launchers in this project set it in their {@code main} methods.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class KioskServer {
+    /**
+     * System property turning on TCP_NODELAY for the JDK HTTP server. Responses are written as headers and body
+     * separately; without it a keep-alive client waits for the delayed acknowledgement of the headers, about 40 ms
+     * per request. The JDK reads it once, when its first server is created, so launchers set it at startup.
+     **/
+    public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    /**
+     * Number of connections the operating system queues before the server accepts them
+     **/
+    private static final int BACKLOG = 4096;
+
+    /**
+     * The class commands, by the path of their endpoint
+     **/
+    private static final Map<String, Command.Type> CLASS_COMMANDS = Map.of(
+            "/classes/register", Command.Type.REGISTER,
+            "/classes/unregister", Command.Type.UNREGISTER,
+            "/classes/register-guest", Command.Type.REGISTER_GUEST,
+            "/classes/unregister-guest", Command.Type.UNREGISTER_GUEST);
+
+    /**
+     * The engine the requests are applied to
+     **/
+    private final StudioManager studioManager;
+
+    /**
+     * The HTTP server
+     **/
+    private final HttpServer server;
+
+    /**
+     * Runs each request on a new virtual thread
+     **/
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates a server for the engine on a loopback port. The server does not accept requests until started.
+     *
+     * @param studioManager The engine to serve.
+     * @param port          The port, or 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public KioskServer(StudioManager studioManager, int port) throws IOException {
+        this.studioManager = studioManager;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/members", this::handleMember);
+        server.createContext("/schedule", this::handleSchedule);
+        server.createContext("/classes/", this::handleClassCommand);
+        server.createContext("/checkin", this::handleCheckIn);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to a second for the requests in progress.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Handles a member lookup by profile.
+     *
+     * @param exchange The request and response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleMember(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            send(exchange, 405, error("Use GET."));
+            return;
+        }
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        Date dob = parseDate(query.get("dob"));
+        if (query.get("fname") == null || query.get("lname") == null || dob == null) {
+            send(exchange, 400, error("fname, lname and dob (mm/dd/yyyy) are required."));
+            return;
+        }
+        Profile profile = new Profile(query.get("fname"), query.get("lname"), dob);
+        String json = studioManager.read(() -> {
+            Member member = studioManager.getMemberList().retrieveMember(profile);
+            return member == null ? null : memberJson(member);
+        });
+        if (json == null) {
+            send(exchange, 404, error(profile.getFname() + " " + profile.getLname() + " " + dob + " is not in the member database."));
+        } else {
+            send(exchange, 200, json);
+        }
+    }
+
+    /**
+     * Handles a schedule query.
+     *
+     * @param exchange The request and response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleSchedule(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            send(exchange, 405, error("Use GET."));
+            return;
+        }
+        send(exchange, 200, studioManager.read(() -> scheduleJson(studioManager.getSchedule())));
+    }
+
+    /**
+     * Handles a class registration or unregistration of a member or guest.
+     *
+     * @param exchange The request and response.
+     * @throws IOException if the request cannot be read or the response cannot be sent.
+     */
+    private void handleClassCommand(HttpExchange exchange) throws IOException {
+        Command.Type type = CLASS_COMMANDS.get(exchange.getRequestURI().getPath());
+        if (type == null) {
+            send(exchange, 404, error("Unknown endpoint."));
+            return;
+        }
+        if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 405, error("Use POST."));
+            return;
+        }
+        Map<String, String> fields;
+        try {
+            fields = Json.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+            return;
+        }
+        Command command = Command.classCommand(type, fields.get("class"), fields.get("instructor"), fields.get("studio"),
+                fields.get("fname"), fields.get("lname"), fields.get("dob"));
+        if (command.getType() == Command.Type.INVALID) {
+            send(exchange, 400, error(command.getError()));
+            return;
+        }
+        send(exchange, 200, "{\"message\":" + Json.quote(studioManager.apply(command)) + "}");
+    }
+
+    /**
+     * Handles a check-in by member ID and class index.
+     *
+     * @param exchange The request and response.
+     * @throws IOException if the request cannot be read or the response cannot be sent.
+     */
+    private void handleCheckIn(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 405, error("Use POST."));
+            return;
+        }
+        int memberId;
+        int classIndex;
+        try {
+            Map<String, String> fields = Json.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            memberId = Integer.parseInt(fields.getOrDefault("member", ""));
+            classIndex = Integer.parseInt(fields.getOrDefault("class", ""));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error("member and class must be numbers."));
+            return;
+        }
+        CheckInResult result = studioManager.checkIn(memberId, classIndex);
+        int status = result == CheckInResult.MEMBER_NOT_FOUND || result == CheckInResult.CLASS_NOT_FOUND ? 404 : 200;
+        send(exchange, status, "{\"result\":" + Json.quote(result.name()) + "}");
+    }
+
+    /**
+     * Formats a member as JSON.
+     *
+     * @param member The member.
+     * @return The JSON object.
+     */
+    private static String memberJson(Member member) {
+        Profile profile = member.getProfile();
+        int guestPasses = 0;
+        if (member instanceof Premium premium) {
+            guestPasses = premium.getGuestPass();
+        } else if (member instanceof Family family) {
+            guestPasses = family.hasGuestPass() ? 1 : 0;
+        }
+        return "{\"id\":" + member.getId() +
+                ",\"fname\":" + Json.quote(profile.getFname()) +
+                ",\"lname\":" + Json.quote(profile.getLname()) +
+                ",\"dob\":" + Json.quote(profile.getDob().toString()) +
+                ",\"membership\":" + Json.quote(member.getMembershipType()) +
+                ",\"homeStudio\":" + Json.quote(member.getHomeStudio().name()) +
+                ",\"expires\":" + Json.quote(member.getExpire().toString()) +
+                ",\"expired\":" + member.isMembershipExpired() +
+                ",\"guestPasses\":" + guestPasses +
+                ",\"classes\":" + member.getRegisteredClassCount() + "}";
+    }
+
+    /**
+     * Formats the classes of a schedule as a JSON array.
+     *
+     * @param schedule The schedule.
+     * @return The JSON array.
+     */
+    private static String scheduleJson(Schedule schedule) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < schedule.getNumClasses(); i++) {
+            FitnessClass fitnessClass = schedule.getClassAt(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            int capacity = fitnessClass.getCapacity();
+            sb.append("{\"index\":").append(i)
+                    .append(",\"class\":").append(Json.quote(fitnessClass.getClassInfo().getClassName()))
+                    .append(",\"instructor\":").append(Json.quote(fitnessClass.getInstructor().getName()))
+                    .append(",\"time\":").append(Json.quote(fitnessClass.getTime().name()))
+                    .append(",\"studio\":").append(Json.quote(fitnessClass.getStudio().name()))
+                    .append(",\"members\":").append(fitnessClass.getMembers().getSize())
+                    .append(",\"guests\":").append(fitnessClass.getGuests().getSize())
+                    .append(",\"capacity\":").append(capacity == FitnessClass.UNLIMITED_CAPACITY ? "null" : capacity)
+                    .append(",\"waitlist\":").append(fitnessClass.getWaitlistSize())
+                    .append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Formats an error response.
+     *
+     * @param message The error message.
+     * @return The JSON object.
+     */
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    /**
+     * Parses a date in the format mm/dd/yyyy.
+     *
+     * @param text The date, or null.
+     * @return The date, or null if the text is missing or malformed.
+     */
+    private static Date parseDate(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] parts = text.split("/");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Date(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a URL query string.
+     *
+     * @param rawQuery The encoded query, or null.
+     * @return The decoded parameters; the last value wins for a repeated name.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Sends a JSON response and closes the exchange.
+     *
+     * @param exchange The request and response.
+     * @param status   The HTTP status code.
+     * @param json     The response body.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Runs the kiosk server on its own over a member list and schedule loaded from files.
+     *
+     * @param args The port, then optionally the member list file and the schedule file.
+     * @throws IOException if a file cannot be read or the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        if (args.length < 1) {
+            System.err.println("Usage: KioskServer <port> [memberFile] [scheduleFile]");
+            return;
+        }
+        MemberList memberList = new MemberList();
+        Schedule schedule = new Schedule();
+        if (args.length > 1) {
+            memberList.load(new File(args[1]));
+        }
+        if (args.length > 2) {
+            schedule.load(new File(args[2]));
+        }
+        KioskServer server = new KioskServer(new StudioManager(memberList, schedule), Integer.parseInt(args[0]));
+        server.start();
+        System.err.println("Kiosk server listening on http://localhost:" + server.getPort() + "/");
+    }
+}
@@ -0,0 +1,225 @@
+package studiomanagerFX;
+
+import data.Member;
+import impl.MemberList;
+import impl.StudioManager;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A read-only observable view of a {@link MemberList} for the member table. The view stores only the member IDs
+ * of its rows and resolves each row through the ID directory of the member list when the table asks for it, so the
+ * table renders the visible rows without the members being copied into a separate list.
+ *
+ * <p>Sorting the view reorders its ID array in place and reports the move to the table as a permutation; the member
+ * list itself is never copied or re-sorted. The view reads the member list under the read lock of the engine, so it
+ * can be used while the kiosk server or background tasks change the list. The view is not updated automatically:
+ * call {@link #refresh()} after members are added or removed.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class MemberTableModel extends ObservableListBase<Member> {
+    /**
+     * The engine whose read lock guards the member list
+     **/
+    private final StudioManager studioManager;
+
+    /**
+     * The member list the view reads from
+     **/
+    private final MemberList memberList;
+
+    /**
+     * The member IDs of the rows, in display order
+     **/
+    private int[] ids;
+
+    /**
+     * The order the rows are sorted in, or null for the order of the member list
+     **/
+    private Comparator<? super Member> comparator;
+
+    /**
+     * The row index each ID had before the sort in progress, in step with {@link #ids}
+     **/
+    private int[] rows = new int[0];
+
+    /**
+     * Merge buffer of the sort, holding the IDs in its first half and their row indexes in its second half
+     **/
+    private int[] scratch = new int[0];
+
+    /**
+     * Constructs a view of the member list of an engine.
+     *
+     * @param studioManager The engine whose member list is displayed.
+     */
+    public MemberTableModel(StudioManager studioManager) {
+        this.studioManager = studioManager;
+        this.memberList = studioManager.getMemberList();
+        this.ids = studioManager.read(memberList::getIds);
+    }
+
+    /**
+     * Retrieves the member shown in a row.
+     *
+     * @param index The row index.
+     * @return The member in the row, or null if the member was removed since the last refresh.
+     */
+    @Override
+    public Member get(int index) {
+        if (index < 0 || index >= ids.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int id = ids[index];
+        return studioManager.read(() -> memberList.getById(id));
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of members as of the last refresh.
+     */
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Reloads the rows from the member list after members were added or removed, keeping the current sort order.
+     */
+    public void refresh() {
+        List<Member> removed = new ArrayList<>(ids.length);
+        studioManager.read(() -> {
+            for (int id : ids) {
+                removed.add(memberList.getById(id));
+            }
+            ids = memberList.getIds();
+            if (comparator != null) {
+                sortIds(comparator, null);
+            }
+            return null;
+        });
+        beginChange();
+        nextRemove(0, removed);
+        nextAdd(0, ids.length);
+        endChange();
+    }
+
+    /**
+     * Sorts the rows and notifies the table of the new order as a permutation.
+     *
+     * @param comparator The order of the rows, or null to show the members in the order of the member list.
+     */
+    @Override
+    public void sort(Comparator<? super Member> comparator) {
+        this.comparator = comparator;
+        int[] permutation = new int[ids.length];
+        boolean reordered = studioManager.read(() -> {
+            if (comparator != null) {
+                sortIds(comparator, permutation);
+                return true;
+            }
+            int[] listOrder = memberList.getIds();
+            if (listOrder.length != ids.length) {
+                return false;
+            }
+            int[] positionById = new int[maxId(listOrder) + 1];
+            for (int i = 0; i < listOrder.length; i++) {
+                positionById[listOrder[i]] = i;
+            }
+            for (int i = 0; i < ids.length; i++) {
+                permutation[i] = positionById[ids[i]];
+            }
+            ids = listOrder;
+            return true;
+        });
+        if (!reordered) {
+            refresh();
+            return;
+        }
+        beginChange();
+        nextPermutation(0, permutation.length, permutation);
+        endChange();
+    }
+
+    /**
+     * Sorts the row IDs in place by the comparator, resolving each ID through the directory of the member list.
+     * The sort is a stable merge sort over the primitive ID array; its buffers are kept between sorts. The caller
+     * holds the read lock of the engine.
+     *
+     * @param comparator  The order of the rows.
+     * @param permutation If not null, receives the new index of every current row.
+     */
+    private void sortIds(Comparator<? super Member> comparator, int[] permutation) {
+        int n = ids.length;
+        if (rows.length < n) {
+            rows = new int[n];
+            scratch = new int[2 * n];
+        }
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        mergeSort(comparator, 0, n);
+        if (permutation != null) {
+            for (int i = 0; i < n; i++) {
+                permutation[rows[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of the row IDs, moving their row indexes with them.
+     *
+     * @param comparator The order of the rows.
+     * @param from       The first index of the range.
+     * @param to         The index after the last of the range.
+     */
+    private void mergeSort(Comparator<? super Member> comparator, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(comparator, from, mid);
+        mergeSort(comparator, mid, to);
+        if (comparator.compare(memberList.getById(ids[mid - 1]), memberList.getById(ids[mid])) <= 0) {
+            return;
+        }
+        int half = rows.length;
+        System.arraycopy(ids, from, scratch, from, mid - from);
+        System.arraycopy(rows, from, scratch, half + from, mid - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            if (comparator.compare(memberList.getById(ids[j]), memberList.getById(scratch[i])) < 0) {
+                ids[k] = ids[j];
+                rows[k++] = rows[j++];
+            } else {
+                ids[k] = scratch[i];
+                rows[k++] = scratch[half + i++];
+            }
+        }
+        while (i < mid) {
+            ids[k] = scratch[i];
+            rows[k++] = scratch[half + i++];
+        }
+    }
+
+    /**
+     * Finds the largest member ID in an array of IDs.
+     *
+     * @param ids The IDs to search.
+     * @return The largest ID, or -1 if the array is empty.
+     */
+    private static int maxId(int[] ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+}
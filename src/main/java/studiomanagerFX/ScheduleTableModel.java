@@ -0,0 +1,209 @@
+package studiomanagerFX;
+
+import impl.FitnessClass;
+import impl.Schedule;
+import impl.ScheduleEvent;
+import impl.ScheduleListener;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An observable view of a {@link Schedule} for the class schedule table, kept up to date by the events of the
+ * schedule. A class added to the schedule becomes a new row, reported to the table as a single addition, and a
+ * change to the roster of a class only updates the attendance property of its row, so the table never rebuilds.
+ *
+ * <p>Each row creates its cell properties once. Schedule events may arrive on any thread; they are handed to the
+ * given executor, normally the JavaFX application thread, before the view changes.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class ScheduleTableModel extends ObservableListBase<ScheduleTableModel.Row> implements ScheduleListener {
+    /**
+     * The rows of the table, in schedule order
+     **/
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Runs the view updates, on the thread that owns the table
+     **/
+    private final Executor uiExecutor;
+
+    /**
+     * Constructs a view of the schedule showing the classes already in it, and starts listening for changes.
+     * The view listens before it reads the classes, so a class added meanwhile is either in the snapshot or reported
+     * by a later event; an event for a class the snapshot already shows does not add it again.
+     *
+     * @param schedule   The schedule to display.
+     * @param uiExecutor Runs view updates on the thread that owns the table, such as {@code Platform::runLater}.
+     */
+    public ScheduleTableModel(Schedule schedule, Executor uiExecutor) {
+        this.uiExecutor = uiExecutor;
+        schedule.addListener(this);
+        for (FitnessClass fitnessClass : schedule.getClasses()) {
+            rows.add(new Row(fitnessClass, fitnessClass.getMembers().getSize() + fitnessClass.getGuests().getSize()));
+        }
+    }
+
+    /**
+     * Retrieves a row of the table.
+     *
+     * @param index The row index.
+     * @return The row.
+     */
+    @Override
+    public Row get(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of classes shown.
+     */
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Applies a schedule change to the view on the thread that owns the table.
+     *
+     * @param event The change.
+     */
+    @Override
+    public void scheduleChanged(ScheduleEvent event) {
+        uiExecutor.execute(() -> apply(event));
+    }
+
+    /**
+     * Applies a schedule change to the view: a new class adds a row, unless the row was already read when the view
+     * was constructed, and any other change updates the attendance of a row.
+     *
+     * @param event The change.
+     */
+    private void apply(ScheduleEvent event) {
+        if (event.getType() == ScheduleEvent.Type.CLASS_ADDED) {
+            if (event.getIndex() < rows.size()) {
+                return;
+            }
+            int index = rows.size();
+            rows.add(index, new Row(event.getFitnessClass(), event.getAttendance()));
+            beginChange();
+            nextAdd(index, index + 1);
+            endChange();
+        } else if (event.getIndex() < rows.size()) {
+            rows.get(event.getIndex()).setAttendance(event.getAttendance());
+        }
+    }
+
+    /**
+     * A row of the schedule table. The class details never change, and the attendance is updated in place.
+     */
+    public static class Row {
+        /** The class shown in the row. */
+        private final FitnessClass fitnessClass;
+
+        /** The time of the class. */
+        private final ReadOnlyStringWrapper time;
+
+        /** The name of the class. */
+        private final ReadOnlyStringWrapper className;
+
+        /** The instructor of the class. */
+        private final ReadOnlyStringWrapper instructor;
+
+        /** The studio of the class. */
+        private final ReadOnlyStringWrapper studio;
+
+        /** The number of attendees of the class, with the capacity if it is limited. */
+        private final ReadOnlyStringWrapper attendance;
+
+        /**
+         * Constructs a row for a class.
+         *
+         * @param fitnessClass The class.
+         * @param attendance   The number of members and guests attending the class.
+         */
+        private Row(FitnessClass fitnessClass, int attendance) {
+            this.fitnessClass = fitnessClass;
+            this.time = new ReadOnlyStringWrapper(fitnessClass.getTime().toString());
+            this.className = new ReadOnlyStringWrapper(fitnessClass.getClassInfo().toString());
+            this.instructor = new ReadOnlyStringWrapper(fitnessClass.getInstructor().toString());
+            this.studio = new ReadOnlyStringWrapper(fitnessClass.getStudio().toString());
+            this.attendance = new ReadOnlyStringWrapper();
+            setAttendance(attendance);
+        }
+
+        /**
+         * Updates the attendance shown in the row.
+         *
+         * @param count The number of members and guests attending the class.
+         */
+        private void setAttendance(int count) {
+            if (fitnessClass.getCapacity() == FitnessClass.UNLIMITED_CAPACITY) {
+                attendance.set(Integer.toString(count));
+            } else {
+                attendance.set(count + " / " + fitnessClass.getCapacity());
+            }
+        }
+
+        /**
+         * Retrieves the class shown in the row.
+         *
+         * @return The fitness class.
+         */
+        public FitnessClass getFitnessClass() {
+            return fitnessClass;
+        }
+
+        /**
+         * The time of the class.
+         *
+         * @return A read-only property holding the time.
+         */
+        public ReadOnlyStringProperty timeProperty() {
+            return time.getReadOnlyProperty();
+        }
+
+        /**
+         * The name of the class.
+         *
+         * @return A read-only property holding the class name.
+         */
+        public ReadOnlyStringProperty classNameProperty() {
+            return className.getReadOnlyProperty();
+        }
+
+        /**
+         * The instructor of the class.
+         *
+         * @return A read-only property holding the instructor.
+         */
+        public ReadOnlyStringProperty instructorProperty() {
+            return instructor.getReadOnlyProperty();
+        }
+
+        /**
+         * The studio of the class.
+         *
+         * @return A read-only property holding the studio.
+         */
+        public ReadOnlyStringProperty studioProperty() {
+            return studio.getReadOnlyProperty();
+        }
+
+        /**
+         * The attendance of the class, updated live as members and guests register and leave.
+         *
+         * @return A read-only property holding the attendance.
+         */
+        public ReadOnlyStringProperty attendanceProperty() {
+            return attendance.getReadOnlyProperty();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package studiomanagerFX;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time to first frame of the Studio Manager application in the default mode and in fast-start
+ * mode. Each measurement starts a new JVM with the class path, module path and Java runtime of this one, runs
+ * the application with the startup probe of {@link StudioManagerMain}, and reads the time it prints. Both
+ * modes are run alternately, so a warm file cache favours neither, and the minimum and median of each are
+ * reported.
+ *
+ * <p>Usage: {@code StartupHarness [runs]}, 5 runs per mode by default. A display is required.</p>
+ *
+ * @author Sasanka Paththameistreege
+ */
+public class StartupHarness {
+    /**
+     * Number of runs per mode when none is given
+     **/
+    private static final int DEFAULT_RUNS = 5;
+
+    /**
+     * Measures both startup modes and prints the results.
+     *
+     * @param args The number of runs per mode, optionally.
+     * @throws IOException          if a child JVM cannot be started.
+     * @throws InterruptedException if interrupted while waiting for a child JVM.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        long[] eager = new long[runs];
+        long[] fast = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            eager[i] = measure(false);
+            fast[i] = measure(true);
+        }
+        report("eager", eager);
+        report("fast-start", fast);
+    }
+
+    /**
+     * Runs the application once in a new JVM and reads its time to first frame.
+     *
+     * @param fastStart True to run in fast-start mode.
+     * @return The time to first frame in milliseconds.
+     * @throws IOException          if the JVM cannot be started or does not report a time.
+     * @throws InterruptedException if interrupted while waiting for the JVM.
+     */
+    private static long measure(boolean fastStart) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command(fastStart)).redirectErrorStream(true).start();
+        long millis = -1;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(StudioManagerMain.STARTUP_PROBE_PREFIX)) {
+                    String value = line.substring(StudioManagerMain.STARTUP_PROBE_PREFIX.length()).split("\\s+")[0];
+                    millis = Long.parseLong(value);
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (millis < 0) {
+            throw new IOException("The application exited with code " + exitCode + " without reporting a startup time");
+        }
+        return millis;
+    }
+
+    /**
+     * Builds the command line of a child JVM running the application with the startup probe.
+     *
+     * @param fastStart True to run in fast-start mode.
+     * @return The command line.
+     */
+    private static List<String> command(boolean fastStart) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Dstudiomanager.startupProbe=true");
+        String modulePath = System.getProperty("jdk.module.path");
+        String module = StartupHarness.class.getModule().getName();
+        if (modulePath != null && module != null) {
+            command.add("--module-path");
+            command.add(modulePath);
+            command.add("--module");
+            command.add(module + "/" + StudioManagerMain.class.getName());
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(StudioManagerMain.class.getName());
+        }
+        if (fastStart) {
+            command.add(StudioManagerMain.FAST_START_FLAG);
+        }
+        return command;
+    }
+
+    /**
+     * Prints the minimum and median of the times measured for a mode.
+     *
+     * @param mode  The name of the mode.
+     * @param times The times to first frame in milliseconds.
+     */
+    private static void report(String mode, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-10s runs=%d min=%d ms median=%d ms%n", mode, sorted.length, sorted[0], sorted[sorted.length / 2]);
+    }
+}
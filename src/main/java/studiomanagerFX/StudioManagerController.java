@@ -7,20 +7,42 @@ import enums.Offer;
 import impl.FitnessClass;
 import impl.MemberList;
 import impl.Schedule;
+import impl.StudioManager;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import metrics.LoadEvent;
+import metrics.Metrics;
+import metrics.Operation;
+import metrics.RegistrationEvent;
 
 
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 
 /**
@@ -52,6 +74,88 @@ public class StudioManagerController {
      */
     private final Schedule schedule;
 
+    /**
+     * The command engine applying membership and class attendance operations to the member list and schedule.
+     */
+    private final StudioManager studioManager;
+
+    /**
+     * Number of file lines read between two progress updates of a background load
+     */
+    private static final int PROGRESS_INTERVAL = 256;
+
+    /**
+     * The single background thread running file loads and reports, so that at most one of them
+     * touches the member list and schedule at a time.
+     */
+    private final ExecutorService taskExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "studio-task");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The background task currently running, or null if there is none.
+     */
+    private Task<?> currentTask;
+
+    /**
+     * Delay after the last keystroke in the class attendance name fields before members are searched, longer than
+     * the pause between keystrokes while typing so that a word typed quickly starts a single search
+     */
+    private static final int SEARCH_DEBOUNCE_MILLIS = 150;
+
+    /**
+     * Maximum number of members suggested by the member search
+     */
+    private static final int SUGGESTION_LIMIT = 10;
+
+    /**
+     * Latencies of the report actions, from the click to the report being ready, including the wait for the
+     * engine lock. The other actions are timed by the operations of {@link StudioManager} they call.
+     */
+    private static final Operation PRINT_BY_PROFILE = Metrics.operation("Controller", "printByProfile"),
+            PRINT_BY_COUNTY = Metrics.operation("Controller", "printByCounty"),
+            PRINT_WITH_NEXT_DUES = Metrics.operation("Controller", "printWithNextDues"),
+            SHOW_SCHEDULE = Metrics.operation("Controller", "showSchedule"),
+            SHOW_ATTENDEES = Metrics.operation("Controller", "showAttendees");
+
+    /**
+     * The background thread running member searches, separate from file loads and reports so a search
+     * never waits for them.
+     */
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts a member search once typing in the class attendance name fields pauses.
+     */
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(SEARCH_DEBOUNCE_MILLIS));
+
+    /**
+     * Dropdown listing the members matching the class attendance name fields.
+     */
+    private final ContextMenu memberSuggestions = new ContextMenu();
+
+    /**
+     * Number of the latest member search. A search whose number is no longer the latest is stale,
+     * and its results are dropped.
+     */
+    private volatile long searchGeneration;
+
+    /**
+     * The member search submitted last, cancelled when a newer search starts.
+     */
+    private Future<?> pendingSearch;
+
+    /**
+     * Set while a suggestion fills in the name fields, so that filling them does not start another search.
+     */
+    private boolean fillingSuggestion;
+
     /**
      * Constructs a new StudioManager instance, initializing the member list and class schedule to their default states.
      * It also triggers the loading of initial data into these structures, preparing the studio for operation.
@@ -59,6 +163,18 @@ public class StudioManagerController {
     public StudioManagerController() {
         memberList = new MemberList();
         schedule = new Schedule();
+        studioManager = new StudioManager(memberList, schedule);
+        memberTableModel = new MemberTableModel(studioManager);
+        scheduleTableModel = new ScheduleTableModel(schedule, Platform::runLater);
+    }
+
+    /**
+     * Retrieves the command engine of the application, shared with the kiosk server when it is embedded.
+     *
+     * @return The engine over the member list and schedule shown by the application.
+     */
+    public StudioManager getStudioManager() {
+        return studioManager;
     }
 
     /**
@@ -200,14 +316,67 @@ public class StudioManagerController {
      * TableView for displaying the schedule of fitness classes.
      */
     @FXML
-    private TableView<FitnessClass> class_schedule_table;
+    private TableView<ScheduleTableModel.Row> class_schedule_table;
 
     /**
      * {Class Schedule Tab}
-     * TableColumns for displaying the time, class name, instructor, and location of fitness classes.
+     * TableColumns for displaying the time, class name, instructor, location, and attendance of fitness classes.
+     */
+    @FXML
+    private TableColumn<ScheduleTableModel.Row, String> col_time, col_class_name, col_instructor, col_studio_location, col_attendance;
+
+    /**
+     * {Member List Tab}
+     * TableView listing the members, backed by the member list through {@link MemberTableModel}.
+     */
+    @FXML
+    private TableView<Member> member_table;
+
+    /**
+     * {Member List Tab}
+     * TableColumns for displaying the name, membership plan, and home studio of members.
      */
     @FXML
-    private TableColumn<FitnessClass, String> col_time, col_class_name, col_instructor, col_studio_location;
+    private TableColumn<Member, String> col_member_name, col_member_plan, col_member_studio;
+
+    /**
+     * {Member List Tab}
+     * TableColumns for displaying the date of birth and membership expiration date of members.
+     */
+    @FXML
+    private TableColumn<Member, Date> col_member_dob, col_member_expire;
+
+    /**
+     * {Member List Tab}
+     * TableColumn for displaying the next due payment of members.
+     */
+    @FXML
+    private TableColumn<Member, Double> col_member_due;
+
+    /**
+     * The rows of the member table, a sortable view of the member list.
+     */
+    private final MemberTableModel memberTableModel;
+
+    /**
+     * The class schedule table view of the schedule
+     **/
+    private final ScheduleTableModel scheduleTableModel;
+
+    /**
+     * Directory of the snapshot restored and saved in fast-start mode
+     **/
+    private static final File SNAPSHOT_DIRECTORY = new File(System.getProperty("user.home"), ".studiomanager");
+
+    /**
+     * Snapshot file of the member list
+     **/
+    private static final File MEMBER_SNAPSHOT = new File(SNAPSHOT_DIRECTORY, "members.txt");
+
+    /**
+     * Snapshot file of the class schedule
+     **/
+    private static final File SCHEDULE_SNAPSHOT = new File(SNAPSHOT_DIRECTORY, "schedule.txt");
 
     /**
      * Common TextArea for displaying output messages, including validation, success, or error messages,
@@ -216,18 +385,89 @@ public class StudioManagerController {
     @FXML
     private TextArea outputArea;
 
+    /**
+     * The tabs holding every action that reads or changes the member list and schedule. They are
+     * disabled while a background task runs, so the data is never changed by two threads at once.
+     */
+    @FXML
+    private TabPane mainTabs;
+
+    /**
+     * Progress of the background task currently running.
+     */
+    @FXML
+    private ProgressBar taskProgress;
+
+    /**
+     * Status message of the background task currently running.
+     */
+    @FXML
+    private Label taskStatus;
+
+    /**
+     * Button cancelling the background task currently running.
+     */
+    @FXML
+    private Button cancelTaskButton;
+
+    /**
+     * Builds the content of the tabs and prepares the application for use. In the default mode every tab is
+     * built at once. In fast-start mode only the selected tab is built, every other tab is built the first time
+     * it is selected, and the member list and schedule saved by {@link #saveSnapshot()} on the previous exit
+     * are restored in the background.
+     *
+     * @param fastStart True to build tabs on first selection and restore the last snapshot.
+     */
+    public void start(boolean fastStart) {
+        if (!fastStart) {
+            for (Tab tab : mainTabs.getTabs()) {
+                loadTabContent(tab);
+            }
+            return;
+        }
+        loadTabContent(mainTabs.getSelectionModel().getSelectedItem());
+        mainTabs.getSelectionModel().selectedItemProperty().addListener((observable, oldTab, newTab) -> {
+            if (newTab != null) {
+                loadTabContent(newTab);
+            }
+        });
+        restoreSnapshot();
+    }
 
     /**
-     * Initializes the controller class. This method orchestrates the setup process by calling
-     * individual setup methods for different sections of the UI. It ensures that UI components
-     * are correctly initialized and ready for user interaction once the application starts.
+     * Builds the content of a tab from the FXML file named by the user data of the tab, with this controller,
+     * and sets up the controls of that tab. A tab that already has content is left unchanged.
+     *
+     * @param tab The tab to build.
      */
-    public void initialize() {
-        setupMembershipOptions();
-        setupClassAttendanceOptions();
-        disableDatePickersEditing();
-        populateGuestPassComboBox();
-        initializeStudioLocationTable();
+    private void loadTabContent(Tab tab) {
+        if (tab.getContent() != null || !(tab.getUserData() instanceof String view)) {
+            return;
+        }
+        FXMLLoader loader = new FXMLLoader(StudioManagerController.class.getResource(view));
+        loader.setController(this);
+        try {
+            tab.setContent(loader.load());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load " + view, e);
+        }
+        switch (view) {
+            case "membershipTab.fxml" -> {
+                setupMembershipOptions();
+                populateGuestPassComboBox();
+                dateOfBirth.getEditor().setDisable(true);
+            }
+            case "classAttendanceTab.fxml" -> {
+                setupClassAttendanceOptions();
+                classAttendanceDob.getEditor().setDisable(true);
+                setupMemberSearch();
+            }
+            case "classScheduleTab.fxml" -> initializeScheduleTable();
+            case "memberListTab.fxml" -> initializeMemberTable();
+            case "studioLocationTab.fxml" -> initializeStudioLocationTable();
+            default -> {
+            }
+        }
     }
 
     /**
@@ -276,16 +516,6 @@ public class StudioManagerController {
         classSomervilleToggle.setToggleGroup(classAttendanceGroupLocation);
     }
 
-    /**
-     * Disables the text editing feature in the DatePicker controls to prevent users from typing dates
-     * directly. This method ensures that dates are only selected through the DatePicker's calendar UI,
-     * promoting consistency and reducing input errors.
-     */
-    private void disableDatePickersEditing() {
-        classAttendanceDob.getEditor().setDisable(true);
-        dateOfBirth.getEditor().setDisable(true);
-    }
-
     /**
      * Populates the ComboBox used for selecting the number of guest passes a member has available. This
      * method fills the ComboBox with values and sets a default selection, ensuring the UI is correctly
@@ -313,6 +543,159 @@ public class StudioManagerController {
         studio_location_table.setItems(locations);
     }
 
+    /**
+     * {Member List Tab}
+     * Initializes the member table over a {@link MemberTableModel}. The table only creates cells for the
+     * visible rows, and sorting by a column reorders the rows of the model instead of the member list.
+     */
+    private void initializeMemberTable() {
+        col_member_name.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(
+                cellData.getValue().getProfile().getLname() + ", " + cellData.getValue().getProfile().getFname()));
+        col_member_dob.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getProfile().getDob()));
+        col_member_plan.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getMembershipType()));
+        col_member_studio.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getHomeStudio().getCityUpperCase()));
+        col_member_expire.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getExpire()));
+        col_member_due.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().bill()));
+        col_member_due.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double due, boolean empty) {
+                super.updateItem(due, empty);
+                setText(empty || due == null ? null : String.format("$%.2f", due));
+            }
+        });
+
+        member_table.setItems(memberTableModel);
+        member_table.setSortPolicy(table -> {
+            memberTableModel.sort(table.getComparator());
+            return true;
+        });
+    }
+
+    /**
+     * {Class Schedule Tab}
+     * Initializes the class schedule table over a {@link ScheduleTableModel}, which adds a row for every class
+     * loaded and updates the attendance of a row when members or guests register or leave the class.
+     */
+    private void initializeScheduleTable() {
+        col_time.setCellValueFactory(cellData -> cellData.getValue().timeProperty());
+        col_class_name.setCellValueFactory(cellData -> cellData.getValue().classNameProperty());
+        col_instructor.setCellValueFactory(cellData -> cellData.getValue().instructorProperty());
+        col_studio_location.setCellValueFactory(cellData -> cellData.getValue().studioProperty());
+        col_attendance.setCellValueFactory(cellData -> cellData.getValue().attendanceProperty());
+        class_schedule_table.setItems(scheduleTableModel);
+    }
+
+    /**
+     * {Class Attendance Tab}
+     * Sets up the search-as-you-type dropdown of the class attendance name fields. Every keystroke restarts a
+     * debounce timer and marks earlier searches as stale; when typing pauses, the members are searched on a
+     * background thread and the matches are shown below the field being typed in. A search scanning 100,000
+     * members without a match takes about 2 ms (see {@code MemberListBenchmark.searchMissing}), so the suggestions
+     * appear well within 20 ms of the end of the pause.
+     */
+    private void setupMemberSearch() {
+        searchDebounce.setOnFinished(event -> startMemberSearch());
+        classFirstname.textProperty().addListener((observable, oldValue, newValue) -> onSearchTextChanged());
+        classLastname.textProperty().addListener((observable, oldValue, newValue) -> onSearchTextChanged());
+    }
+
+    /**
+     * Marks running searches as stale and restarts the debounce timer after a name field changed.
+     */
+    private void onSearchTextChanged() {
+        if (fillingSuggestion) {
+            return;
+        }
+        searchGeneration++;
+        searchDebounce.playFromStart();
+    }
+
+    /**
+     * Searches the members matching the class attendance name fields on the search thread under the read lock,
+     * cancelling the previous search. The matches are published on the JavaFX application thread unless a newer search
+     * started in the meantime.
+     */
+    private void startMemberSearch() {
+        String firstPrefix = classFirstname.getText().trim();
+        String lastPrefix = classLastname.getText().trim();
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        if (firstPrefix.isEmpty() && lastPrefix.isEmpty()) {
+            memberSuggestions.hide();
+            return;
+        }
+        long generation = searchGeneration;
+        TextField field = classLastname.isFocused() ? classLastname : classFirstname;
+        pendingSearch = searchExecutor.submit(() -> {
+            if (generation != searchGeneration) {
+                return;
+            }
+            Member[] matches = studioManager.read(() -> memberList.search(firstPrefix, lastPrefix, SUGGESTION_LIMIT));
+            Platform.runLater(() -> {
+                if (generation == searchGeneration) {
+                    showMemberSuggestions(matches, field);
+                }
+            });
+        });
+    }
+
+    /**
+     * Shows the members found by a search in the dropdown below a name field. A unique match fills in
+     * the date of birth; choosing a suggestion fills in the names and the date of birth of the member.
+     *
+     * @param matches The members found.
+     * @param field   The name field the dropdown is shown under.
+     */
+    private void showMemberSuggestions(Member[] matches, TextField field) {
+        if (matches.length == 0) {
+            memberSuggestions.hide();
+            return;
+        }
+        if (matches.length == 1) {
+            classAttendanceDob.setValue(toLocalDate(matches[0].getProfile().getDob()));
+        }
+        List<MenuItem> items = new ArrayList<>(matches.length);
+        for (Member member : matches) {
+            Profile profile = member.getProfile();
+            MenuItem item = new MenuItem(profile.getFname() + " " + profile.getLname() + "  " + profile.getDob() +
+                    "  [" + member.getMembershipType().toUpperCase() + "] " + member.getHomeStudio().getCityUpperCase());
+            item.setOnAction(event -> fillFromSuggestion(member));
+            items.add(item);
+        }
+        memberSuggestions.getItems().setAll(items);
+        if (!memberSuggestions.isShowing()) {
+            memberSuggestions.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Fills the class attendance name fields and date of birth with a suggested member.
+     *
+     * @param member The member chosen from the dropdown.
+     */
+    private void fillFromSuggestion(Member member) {
+        fillingSuggestion = true;
+        try {
+            classFirstname.setText(member.getProfile().getFname());
+            classLastname.setText(member.getProfile().getLname());
+        } finally {
+            fillingSuggestion = false;
+        }
+        searchGeneration++;
+        classAttendanceDob.setValue(toLocalDate(member.getProfile().getDob()));
+    }
+
+    /**
+     * Converts a custom {@link Date} to a {@link LocalDate}.
+     *
+     * @param date The date to convert.
+     * @return The same date as a LocalDate.
+     */
+    private static LocalDate toLocalDate(Date date) {
+        return LocalDate.of(date.getYear(), date.getMonth(), date.getDay());
+    }
+
     /**
      * Validates the user input for the membership form in the Membership Tab. This method checks
      * if the first name, last name, date of birth, membership type, and home studio fields have
@@ -368,16 +751,9 @@ public class StudioManagerController {
             outputArea.setText("Invalid date format: " + dobLocalDate);
             return null;
         }
-        if (dob.isFutureDate()) {
-            outputArea.setText("DOB " + dobLocalDate + ": cannot be today or a future date!");
-            return null;
-        }
-        if (!dob.isValid()) {
-            outputArea.setText("DOB " + dobLocalDate + ": invalid calendar date!");
-            return null;
-        }
-        if (!dob.isEligible()) {
-            outputArea.setText("DOB " + dobLocalDate + ": must be 18 or older to join!");
+        String error = StudioManager.validateDob(dob, dobLocalDate.toString());
+        if (error != null) {
+            outputArea.setText(error);
             return null;
         }
         return dob;
@@ -437,97 +813,18 @@ public class StudioManagerController {
     }
 
     /**
-     * Processes the addition of a new member to the database. This method is responsible for
-     * creating a new member object based on the member type, date of birth, and location.
-     * It handles the specific requirements and validations for each membership type (Basic,
-     * Family, Premium) and updates the database and output area accordingly.
+     * Processes the addition of a new member to the database. The studio manager creates the member of the
+     * selected type, checks the guest passes allowed for that type and for duplicate profiles, and the outcome
+     * is displayed in the output area.
      *
      * @param memberType The type of membership for the new member (Basic, Family, Premium).
      * @param dobCustom  The date of birth of the new member, converted from LocalDate to the custom Date format.
      * @param location   The location selected for the new member's home studio.
      */
     private void processAdd(String memberType, Date dobCustom, Location location) {
-        // Based on the member type, create and add the member
-        switch (memberType) {
-            case "Basic" -> {
-                if (guestPass.getValue() == 0) {
-                    Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
-                    Date expire = Date.getCurrentDate().calculateOneMonthLater();
-                    Basic newMember = new Basic(profile, expire, location);
-                    addBasicMemberToDatabaseForBasic(newMember);
-                } else {
-                    outputArea.setText("Basic Members Do not Offer Guest Passes");
-                }
-            }
-            case "Family" -> {
-                Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
-                Date expire = Date.getCurrentDate().calculateThreeMonthsLater();
-                Family newMember = new Family(profile, expire, location);
-                if (guestPass.getValue() == 0) {
-                    newMember.takeAttendanceOfGuest(); // setting false cause 0 guest
-                    addFamilyMemberToDatabase(newMember);
-                } else if (guestPass.getValue() == 1) {
-                    newMember.removeAttendanceOfGuest(); // setting true cause 1 guest
-                    addFamilyMemberToDatabase(newMember);
-                } else {
-                    outputArea.setText("Family Members can have max 1 Guest Pass");
-                }
-            }
-            case "Premium" -> {
-                Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
-                Date expire = Date.getCurrentDate().calculateTwelveMonthsLater();
-                Premium newMember = new Premium(profile, expire, location);
-                newMember.setGuestPass(guestPass.getValue());
-                addPremiumMemberToDatabase(newMember);
-            }
-        }
-    }
-
-    /**
-     * Adds a Basic member to the studio's member database, performing checks for duplicate profiles. This method
-     * prints feedback indicating whether the addition was successful or if the member already exists in the database.
-     *
-     * @param newMember The new Basic member to be added to the database.
-     */
-    private void addBasicMemberToDatabaseForBasic(Basic newMember) {
-        if (!memberList.add(newMember)) {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() +
-                    " is already in the member database.");
-        } else {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() + " added.");
-        }
-    }
-
-    /**
-     * Adds a Family member to the studio's member database, ensuring unique membership through profile comparison.
-     * If the member already exists in the database, a message indicating duplication is printed. Otherwise,
-     * a confirmation message is printed, indicating the successful addition of the new Family member.
-     *
-     * @param newMember The new Family member to be added to the database.
-     */
-    private void addFamilyMemberToDatabase(Family newMember) {
-        if (!memberList.add(newMember)) {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() +
-                    " is already in the member database.");
-        } else {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() + " added.");
-        }
-    }
-
-    /**
-     * Adds a Premium member (considered here as a Family member for context) to the studio's member database.
-     * It checks for duplicates based on the member's profile and prints a message indicating whether the addition
-     * was successful or if the member already exists in the database.
-     *
-     * @param newMember The new Premium member to be added to the database.
-     */
-    private void addPremiumMemberToDatabase(Premium newMember) {
-        if (!memberList.add(newMember)) {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() +
-                    " is already in the member database.");
-        } else {
-            outputArea.setText(newMember.getProfile().getFname() + " " + newMember.getProfile().getLname() + " added.");
-        }
+        Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
+        outputArea.setText(studioManager.addMember(memberType, profile, location, guestPass.getValue()));
+        memberTableModel.refresh();
     }
 
     /**
@@ -535,7 +832,7 @@ public class StudioManagerController {
      * Handles the action event triggered by clicking the "Cancel Membership" button. This method
      * clears any previous messages in the output area, validates the input fields for membership
      * cancellation, and attempts to remove a member from the studio's membership database based on
-     * the provided profile information. A confirmation message is displayed in the output area if
+     * the provided profile information. The member is also removed from every class they attend or wait for. A confirmation message is displayed in the output area if
      * the member is successfully removed, or an error message if the member cannot be found in the
      * database.
      */
@@ -546,16 +843,12 @@ public class StudioManagerController {
             return; // Stop execution as validation failed
         }
         Date dobCustom = createDateFromLocalDate(dateOfBirth.getValue());
-        Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
-
-        Member member = new Member(profile, null, null);
-        boolean removed = memberList.remove(member);
-
-        if (removed) {
-            outputArea.setText(firstname.getText() + " " + lastname.getText() + " removed.");
-        } else {
-            outputArea.setText(firstname.getText() + " " + lastname.getText() + " is not in the member database.");
+        if (dobCustom == null) {
+            return; // The date of birth failed validation
         }
+        Profile profile = new Profile(firstname.getText(), lastname.getText(), dobCustom);
+        outputArea.setText(studioManager.cancelMembership(profile));
+        memberTableModel.refresh();
     }
 
     /**
@@ -570,12 +863,27 @@ public class StudioManagerController {
     @FXML
     protected void onclickLoadMembers() {
         outputArea.clear();
-        try {
-            memberList.load(new File("src/main/java/test/memberList.txt"));
-            outputArea.setText("Updating member list...\n" + memberList.getMemberListString());
-        } catch (FileNotFoundException e) {
-            outputArea.setText("Error loading initial files: " + e.getMessage());
-        }
+        File file = new File("src/main/java/test/memberList.txt");
+        runInBackground("Loading members", new FileTask<String>() {
+            @Override
+            protected String call() throws IOException {
+                List<Member> loaded = new ArrayList<>();
+                readLines(file, line -> loaded.add(MemberList.parseMember(line)));
+                if (!startCommit()) {
+                    return null;
+                }
+                updateMessage("Adding " + loaded.size() + " members...");
+                return studioManager.write(() -> {
+                    for (Member member : loaded) {
+                        memberList.add(member);
+                    }
+                    return "Updating member list...\n" + memberList.getMemberListString();
+                });
+            }
+        }, report -> {
+            outputArea.setText(report);
+            memberTableModel.refresh();
+        });
     }
 
 
@@ -660,429 +968,152 @@ public class StudioManagerController {
     /**
      * {Class Attendance Tab}
      * Handles the action event triggered by clicking the "Register Member for Class" button. It validates
-     * class attendance input, retrieves the member based on the provided profile, and registers the member
-     * for the selected class if all validations pass and no conflicts exist.
+     * class attendance input and registers the member for the selected class if all validations pass and
+     * no conflicts exist, or puts the member on the waitlist if the class is full.
      */
     @FXML
     protected void onclickRegisterMemberClass() {
-        outputArea.clear();
-        if (!validateClassAttendanceInput()) {
-            return; // Stop processing as validation failed
-        }
-        Date dobCustom = createDateFromLocalDate(classAttendanceDob.getValue());
-        Profile profile = new Profile(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-        Member member = retrieveMember(profile);
-        if (member == null) {
-            printMemberNotFound(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-            return;
-        }
-        if (isMembershipExpired(member)) {
-            return;
-        }
-        if (!isValidHomeStudio(member, getSelectedLocation())) {
-            return;
-        }
-        FitnessClass fitnessClass = findFitnessClass(getSelectedClass(), getSelectedInstructor(), getSelectedLocation());
-        if (fitnessClass == null) {
-            printClassDoesNotExist(getSelectedClass(), getSelectedInstructor(), getSelectedLocation());
-            return;
-        }
-        if (isMemberAlreadyRegistered(fitnessClass, member)) {
-            return;
-        }
-        if (hasTimeConflict(fitnessClass, member)) {
-            return;
-        }
-        recordAttendance(fitnessClass, member);
-    }
-
-    /**
-     * Retrieves a member from the member list based on the provided profile.
-     *
-     * @param profile The profile to search for in the member list.
-     * @return The Member instance if found, null otherwise.
-     */
-    private Member retrieveMember(Profile profile) {
-        return memberList.retrieveMember(profile);
-    }
-
-    /**
-     * Prints a message indicating that the member was not found in the database.
-     *
-     * @param firstName The first name of the member.
-     * @param lastName  The last name of the member.
-     * @param dobString The date of birth of the member.
-     */
-    private void printMemberNotFound(String firstName, String lastName, Date dobString) {
-        outputArea.setText(firstName + " " + lastName + " " + dobString + " is not in the member database.");
-    }
-
-    /**
-     * Checks if the member's membership has expired.
-     *
-     * @param member The member whose membership status is to be checked.
-     * @return true if the membership has expired, false otherwise.
-     */
-    private boolean isMembershipExpired(Member member) {
-        if (member.isMembershipExpired()) {
-            outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() +
-                    " " + member.getProfile().getDob() + " membership expired.");
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Validates if the member's home studio matches the specified studio for attending a class.
-     *
-     * @param member     The member to validate.
-     * @param studioName The name of the studio where the class is held.
-     * @return true if the home studio matches or the condition is not applicable, false otherwise.
-     */
-    private boolean isValidHomeStudio(Member member, String studioName) {
-        Location homeStudio = member.getHomeStudio();
-        if (member instanceof Basic && !studioName.equalsIgnoreCase(homeStudio.name())) {
-            outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() +
-                    " is attending a class at " + studioName.toUpperCase() + " - [" + member.getMembershipType() +
-                    "] home studio at " + member.getHomeStudio().getCity().toUpperCase());
-            return false;
-        }
-        return true;
+        runRegistration("register", studioManager::registerMember, true);
     }
 
     /**
-     * Finds a fitness class based on the specified criteria.
-     *
-     * @param className      The name of the class.
-     * @param instructorName The name of the instructor.
-     * @param studioName     The name of the studio.
-     * @return The FitnessClass instance if found, null otherwise.
-     */
-    private FitnessClass findFitnessClass(String className, String instructorName, String studioName) {
-        return schedule.findClassByCriteria(Offer.valueOf(className.toUpperCase()), Instructor.valueOf(instructorName.toUpperCase()), Location.valueOf(studioName.toUpperCase()));
-    }
-
-    /**
-     * Prints a message indicating that the specified fitness class does not exist.
-     *
-     * @param className      The name of the class.
-     * @param instructorName The name of the instructor.
-     * @param studioName     The name of the studio.
+     * {Class Attendance Tab}
+     * Handles the action event triggered by clicking the "Unregister Member from Class" button.
+     * It validates the class attendance input and attempts to unregister the member from the selected
+     * fitness class, or to take them off its waitlist. Feedback on the operation's success or failure
+     * is displayed in the output area.
      */
-    private void printClassDoesNotExist(String className, String instructorName, String studioName) {
-        outputArea.setText(className + " by " + instructorName + " does not exist at " + studioName);
+    @FXML
+    protected void onclickUnregisterMemberClass() {
+        runRegistration("unregister", studioManager::unregisterMember, false);
     }
 
     /**
-     * Checks if a member is already registered in the specified class.
-     *
-     * @param fitnessClass The class to check for member registration.
-     * @param member       The member to check.
-     * @return true if the member is already registered, false otherwise.
+     * {Class Attendance Tab}
+     * Triggered by clicking the "Register Guest for Class" button, this method validates class
+     * attendance input and registers a guest of the member for the selected class based on membership
+     * eligibility, guest pass availability, and class availability. The remaining guest passes of the
+     * member are shown after the operation.
      */
-    private boolean isMemberAlreadyRegistered(FitnessClass fitnessClass, Member member) {
-        if (fitnessClass.isMemberRegistered(member)) {
-            outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() + " is already in the class.");
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Checks for a time conflict between the member's existing class registrations and the new class.
-     *
-     * @param fitnessClass The new class the member wishes to attend.
-     * @param member       The member to check for time conflicts.
-     * @return true if there is a time conflict, false otherwise.
-     */
-    private boolean hasTimeConflict(FitnessClass fitnessClass, Member member) {
-        if (schedule.checkForMemberTimeConflict(member, fitnessClass.getTime())) {
-            String time = fitnessClass.getTime().toString();
-            outputArea.setText("Time conflict - " + member.getProfile().getFname() + " " + member.getProfile().getLname() + " is in another class held at " + formatTime(time) + " - " +
-                    fitnessClass.getInstructor().name() + ", " + formatTime(time) + ", " + fitnessClass.getStudio().getCity().toUpperCase());
-            return true;
-        }
-        return false;
+    @FXML
+    protected void onclickRegisterGuestClass() {
+        runRegistration("registerGuest", studioManager::registerGuest, true);
     }
 
     /**
-     * Utility method to format time for printing. Removes leading zeros and formats time in a human-readable format.
-     *
-     * @param time The time string to format.
-     * @return A formatted time string.
+     * {Class Attendance Tab}
+     * Handles the action event triggered by clicking the "Unregister Guest from Class" button.
+     * This method validates the class attendance input and unregisters a guest associated with
+     * a member from the selected fitness class, returning the guest pass to the member.
+     * Feedback about the operation, whether successful or not, is displayed in the output area.
      */
-    private String formatTime(String time) {
-        if (time.startsWith("0")) {
-            return time.substring(1);
-        }
-        return time;
+    @FXML
+    protected void onclickUnregisterGuestClass() {
+        runRegistration("unregisterGuest", studioManager::unregisterGuest, true);
     }
 
     /**
-     * Records attendance for a member in a fitness class.
-     *
-     * @param fitnessClass The class where the member's attendance is to be recorded.
-     * @param member       The member attending the class.
-     */
-    private void recordAttendance(FitnessClass fitnessClass, Member member) {
-        String zip = fitnessClass.getStudio().getZipCode();
-        String county = fitnessClass.getStudio().getCounty();
-        outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() +
-                " attendance recorded " + fitnessClass.getClassInfo().getClassName().toUpperCase() + " at " + fitnessClass.getStudio().getCity().toUpperCase() + ", " + zip + ", " + county.toUpperCase());
-        if (member instanceof Basic) {
-            ((Basic) member).attendClass();
-            classGuestPasses.setText("0");
-        }
-        if (member instanceof Family) {
-            if (!((Family) member).hasGuestPass()) {
-                classGuestPasses.setText("0");
-            } else {
-                classGuestPasses.setText("1");
-            }
-        }
-        if (member instanceof Premium) {
-            classGuestPasses.setText(Integer.toString(((Premium) member).getGuestPass()));
-        }
-
-        fitnessClass.addMember(member);
-        member.registerClass(fitnessClass);
-
+     * A registration action of the engine for a class and a member.
+     */
+    @FunctionalInterface
+    private interface ClassAction {
+        /**
+         * Applies the action.
+         *
+         * @param offer      The class offered.
+         * @param instructor The instructor of the class.
+         * @param studio     The studio of the class.
+         * @param profile    The profile of the member.
+         * @return The message describing the outcome.
+         */
+        String apply(Offer offer, Instructor instructor, Location studio, Profile profile);
     }
 
-
     /**
      * {Class Attendance Tab}
-     * Handles the action event triggered by clicking the "Unregister Member from Class" button.
-     * It validates the class attendance input, retrieves the member based on the provided profile,
-     * and attempts to unregister the member from the selected fitness class. Feedback on the
-     * operation's success or failure is displayed in the output area.
-     */
-    @FXML
-    protected void onclickUnregisterMemberClass() {
+     * Validates the class attendance input and, if it is valid, applies a registration action to the selected
+     * class and the member entered, and shows the outcome. The action is recorded as a flight recorder
+     * {@link RegistrationEvent}, with the time spent validating the input and in the engine.
+     *
+     * @param action          The name of the action, recorded in the event.
+     * @param engine          The engine operation applying the action.
+     * @param showGuestPasses Whether to show the guest passes left to the member afterwards.
+     */
+    private void runRegistration(String action, ClassAction engine, boolean showGuestPasses) {
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
+        event.action = action;
         outputArea.clear();
-        if (!validateClassAttendanceInput()) {
-            return; // Stop processing as validation failed
-        }
-        Date dobCustom = createDateFromLocalDate(classAttendanceDob.getValue());
-        Profile profile = new Profile(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-
-        Member member = memberList.retrieveMember(profile);
-        if (member == null) {
-            outputArea.setText("Member not found.");
-            return;
-        }
-
-        FitnessClass fitnessClass = schedule.findClassByCriteria(
-                Offer.valueOf(getSelectedClass().toUpperCase()),
-                Instructor.valueOf(getSelectedInstructor().toUpperCase()),
-                Location.valueOf(getSelectedLocation().toUpperCase())
-        );
-
-        if (fitnessClass == null) {
-            outputArea.setText("Class not found.");
-            return;
-        }
-
-        String time = fitnessClass.getTime().toString();
-
-        if (fitnessClass.removeMember(member)) {
-            member.unregisterClass(fitnessClass);
-            outputArea.setText(String.format("%s %s is removed from %s, %s, %s",
-                    classFirstname.getText().trim(), classLastname.getText().trim(), getSelectedInstructor().toUpperCase(),
-                    formatTime(time), fitnessClass.getStudio()));
-        } else {
-            outputArea.setText(String.format("%s %s is not in %s, %s, %s",
-                    classFirstname.getText().trim(), classLastname.getText().trim(), getSelectedInstructor().toUpperCase(),
-                    formatTime(time), fitnessClass.getStudio()));
+        long validationStart = System.nanoTime();
+        // a null profile means the date of birth failed validation
+        Profile profile = validateClassAttendanceInput() ? createClassAttendanceProfile() : null;
+        event.validationNanos = System.nanoTime() - validationStart;
+        event.valid = profile != null;
+        if (profile != null) {
+            long engineStart = System.nanoTime();
+            event.outcome = engine.apply(getSelectedOffer(), getSelectedInstructorEnum(), getSelectedStudio(), profile);
+            event.engineNanos = System.nanoTime() - engineStart;
+            outputArea.setText(event.outcome);
+            if (showGuestPasses) {
+                updateGuestPasses(profile);
+            }
         }
+        event.commit();
     }
 
     /**
-     * {Class Attendance Tab}
-     * Triggered by clicking the "Register Guest for Class" button, this method validates class
-     * attendance input, retrieves the member associated with the guest, and registers the guest
-     * for the selected class based on membership eligibility and class availability. It handles
-     * different scenarios such as membership expiration and location restrictions, providing
-     * appropriate feedback in the output area.
+     * Creates the profile entered in the class attendance tab.
+     *
+     * @return The profile of the member, or null if the date of birth failed validation.
      */
-    @FXML
-    protected void onclickRegisterGuestClass() {
-        outputArea.clear();
-        if (!validateClassAttendanceInput()) {
-            return; // Stop processing as validation failed
-        }
+    private Profile createClassAttendanceProfile() {
         Date dobCustom = createDateFromLocalDate(classAttendanceDob.getValue());
-        Profile profile = new Profile(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-        Member member = retrieveMember(profile);
-        if (member == null) {
-            printMemberNotFound(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-            return;
-        }
-        if (isMembershipExpired(member)) {
-            return;
-        }
-        if (!isValidHomeStudio(member, getSelectedLocation())) {
-            return;
-        }
-        FitnessClass fitnessClass = findFitnessClass(getSelectedClass(), getSelectedInstructor(), getSelectedLocation());
-        if (fitnessClass == null) {
-            printClassDoesNotExist(getSelectedClass(), getSelectedInstructor(), getSelectedLocation());
-            return;
+        if (dobCustom == null) {
+            return null;
         }
-        handleGuestRegistration(member, fitnessClass, getSelectedLocation());
+        return new Profile(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
     }
 
     /**
-     * Handles the registration of a guest in a fitness class, considering membership type and guest pass availability.
-     * It enforces studio policies on guest attendance, including location restrictions and guest pass usage.
+     * Retrieves the selected class type as an {@link Offer}.
      *
-     * @param member       The member who is bringing the guest.
-     * @param fitnessClass The class in which the guest is to be registered.
-     * @param studioName   The name of the studio where the class is held.
+     * @return The selected class offer.
      */
-    private void handleGuestRegistration(Member member, FitnessClass fitnessClass, String studioName) {
-        String zip = fitnessClass.getStudio().getZipCode();
-        String county = fitnessClass.getStudio().getCounty();
-        Location homeStudio = member.getHomeStudio();
-
-        if (member instanceof Basic) {
-            outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() + " [BASIC] - no guest pass.");
-            return;
-        }
-        if (member instanceof Family) {
-            handleFamilyGuest(member, fitnessClass, studioName, homeStudio, zip, county);
-
-        } else if (member instanceof Premium) {
-            handlePremiumGuest(member, fitnessClass, studioName, homeStudio, zip, county);
-        }
+    private Offer getSelectedOffer() {
+        return Offer.valueOf(getSelectedClass().toUpperCase());
     }
 
     /**
-     * Processes the attendance of a family member's guest, including validation of guest passes and
-     * registration in the class. This method updates both the member's and the class's records.
+     * Retrieves the selected instructor as an {@link Instructor}.
      *
-     * @param member       The family member bringing the guest.
-     * @param fitnessClass The fitness class the guest will attend.
-     * @param zip          The zip code of the studio where the class is held.
-     * @param county       The county of the studio.
-     */
-    private void handleFamilyGuest(Member member, FitnessClass fitnessClass, String studioName, Location homeStudio, String zip, String county) {
-        if (studioName.equalsIgnoreCase(homeStudio.name()) && ((Family) member).hasGuestPass()) {
-            processGuestAttendance(fitnessClass, member, zip, county);
-        } else {
-            if (!((Family) member).hasGuestPass()) {
-                outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() + " guest pass not available.");
-                classGuestPasses.setText("0");
-            } else {
-                printGuestHomeStudioMismatch(member, studioName);
-                classGuestPasses.setText("1");
-            }
-        }
+     * @return The selected instructor.
+     */
+    private Instructor getSelectedInstructorEnum() {
+        return Instructor.valueOf(getSelectedInstructor().toUpperCase());
     }
 
     /**
-     * Processes the attendance of a premium member's guest, applying similar validations as for family guests.
-     * Premium membership often includes more flexible guest pass usage.
+     * Retrieves the selected class location as a {@link Location}.
      *
-     * @param member       The premium member bringing the guest.
-     * @param fitnessClass The fitness class the guest will attend.
-     * @param zip          The zip code of the studio.
-     * @param county       The county of the studio.
-     */
-    private void handlePremiumGuest(Member member, FitnessClass fitnessClass, String studioName, Location homeStudio, String zip, String county) {
-        if (studioName.equalsIgnoreCase(homeStudio.name()) && ((Premium) member).hasGuestPass()) {
-            processGuestAttendance(fitnessClass, member, zip, county);
-        } else {
-            if (!((Premium) member).hasGuestPass()) {
-                outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() + " guest pass not available.");
-                classGuestPasses.setText(Integer.toString(((Premium) member).getGuestPass()));
-            } else {
-                printGuestHomeStudioMismatch(member, studioName);
-            }
-        }
+     * @return The selected studio.
+     */
+    private Location getSelectedStudio() {
+        return Location.valueOf(getSelectedLocation().toUpperCase());
     }
 
     /**
-     * Records the attendance of a guest in a class, ensuring the guest pass is properly utilized and marked.
-     * This method updates the fitness class and member records to reflect the guest's attendance.
+     * Displays the guest passes remaining to the member with the given profile, if the member exists.
      *
-     * @param fitnessClass The class where the guest's attendance is recorded.
-     * @param member       The member who is bringing the guest.
-     * @param zip          The zip code of the studio where the class is held.
-     * @param county       The county of the studio.
+     * @param profile The profile of the member.
      */
-    private void processGuestAttendance(FitnessClass fitnessClass, Member member, String zip, String county) {
+    private void updateGuestPasses(Profile profile) {
+        Member member = studioManager.read(() -> memberList.retrieveMember(profile));
         if (member instanceof Family) {
-            ((Family) member).takeAttendanceOfGuest();
-            classGuestPasses.setText("0");
+            classGuestPasses.setText(((Family) member).hasGuestPass() ? "1" : "0");
         } else if (member instanceof Premium) {
-            ((Premium) member).takeAttendanceOfGuest();
             classGuestPasses.setText(Integer.toString(((Premium) member).getGuestPass()));
-        }
-        outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() +
-                " (guest) attendance recorded " + fitnessClass.getClassInfo().getClassName().toUpperCase() + " at " + fitnessClass.getStudio().getCity().toUpperCase() + ", " + zip + ", " + county.toUpperCase());
-        fitnessClass.addGuest(member);
-    }
-
-    /**
-     * Prints a message indicating a mismatch between the guest's intended class location and the member's home studio.
-     * This can occur when studio policies restrict guest attendance based on the member's home studio.
-     *
-     * @param member     The member attempting to bring a guest.
-     * @param studioName The name of the studio where the class is held.
-     */
-    private void printGuestHomeStudioMismatch(Member member, String studioName) {
-        outputArea.setText(member.getProfile().getFname() + " " + member.getProfile().getLname() +
-                " (guest) is attending a class at " + studioName.toUpperCase() +
-                " - home studio at " + member.getHomeStudio().getCity().toUpperCase());
-    }
-
-    /**
-     * {Class Attendance Tab}
-     * Handles the action event triggered by clicking the "Unregister Guest from Class" button.
-     * This method validates the class attendance input and proceeds to unregister a guest
-     * associated with a member from a selected fitness class. It ensures that the guest is
-     * correctly removed based on the member's profile and updates the guest count accordingly.
-     * Feedback about the operation, whether successful or not, is displayed in the output area.
-     * Specific actions are taken based on the member type (Family or Premium) to correctly
-     * manage guest passes.
-     */
-    @FXML
-    protected void onclickUnregisterGuestClass() {
-        outputArea.clear();
-        if (!validateClassAttendanceInput()) {
-            return; // Stop processing as validation failed
-        }
-        Date dobCustom = createDateFromLocalDate(classAttendanceDob.getValue());
-        Profile profile = new Profile(classFirstname.getText().trim(), classLastname.getText().trim(), dobCustom);
-        Member member = memberList.retrieveMember(profile);
-        if (member == null) {
-            outputArea.setText("Member not found.");
-            return;
-        }
-
-        FitnessClass fitnessClass = schedule.findClassByCriteria(Offer.valueOf(getSelectedClass().toUpperCase()),
-                Instructor.valueOf(getSelectedInstructor().toUpperCase()), Location.valueOf(getSelectedLocation().toUpperCase())
-        );
-
-        if (fitnessClass == null) {
-            outputArea.setText("Class not found.");
-            return;
-        }
-        String time = fitnessClass.getTime().toString();
-        if (fitnessClass.removeGuest(member)) {
-            member.unregisterClass(fitnessClass);
-            if (member instanceof Family) {
-                ((Family) member).removeAttendanceOfGuest();
-                outputArea.setText(firstname.getText().trim() + " " + lastname.getText().trim() + " (guest) is removed from " + getSelectedInstructor().toUpperCase() + ", " + formatTime(time) + ", " + fitnessClass.getStudio());
-                classGuestPasses.setText("1");
-            } else if (member instanceof Premium) {
-                ((Premium) member).removeGuest();
-                outputArea.setText(firstname.getText().trim() + " " + lastname.getText().trim() + " (guest) is removed from " + getSelectedInstructor().toUpperCase() + ", " + formatTime(time) + ", " + fitnessClass.getStudio());
-                classGuestPasses.setText(Integer.toString(((Premium) member).getGuestPass()));
-            }
-        } else {
-            outputArea.setText(firstname.getText().trim() + " " + lastname.getText().trim() + " (guest) is not in " + getSelectedInstructor().toUpperCase() + ", " + formatTime(time) + ", " + fitnessClass.getStudio());
+        } else if (member instanceof Basic) {
+            classGuestPasses.setText("0");
         }
     }
 
@@ -1108,54 +1139,46 @@ public class StudioManagerController {
     protected void onclickLoadSchedule() {
         File file = chooseFile(); // Implement a method to choose a file
         if (file != null) {
-            try {
-                loadFitnessClassesFromFile(file);
-            } catch (FileNotFoundException e) {
-                outputArea.setText("Error loading schedule file: " + e.getMessage());
-            }
+            loadFitnessClassesFromFile(file);
         }
     }
 
     /**
-     * Loads fitness classes from the specified file into the application. Updates the class schedule table
-     * with the loaded data and handles file not found exceptions by displaying an error message.
+     * Loads fitness classes from the specified file into the application in the background. The classes are
+     * read into a temporary list first, so that a file without any class schedule, a cancelled load, or an
+     * unreadable file leaves the schedule unchanged. The class schedule table shows the new classes as the
+     * schedule reports them.
      *
      * @param file The {@link File} from which to load the fitness classes.
-     * @throws FileNotFoundException if the specified file does not exist.
      */
-    private void loadFitnessClassesFromFile(File file) throws FileNotFoundException {
-        // Create a temporary schedule object to check if the file contains any classes
-        Schedule tempSchedule = new Schedule();
-        tempSchedule.load(file);
-
-        if (tempSchedule.getNumClasses() == 0) {
-            outputArea.setText("The file does not contain any class schedule.");
-            return; // Exit the method since there are no classes to load
-        }
-
-        // If the file contains classes, proceed with loading them into the application
-        schedule.load(file);
-
-        // Clear existing items in the table
-        class_schedule_table.getItems().clear();
-
-        // Get the existing items in the table
-        ObservableList<FitnessClass> items = FXCollections.observableArrayList();
-        class_schedule_table.setItems(items);
-        // Add the new items from the loaded schedule
-        items.addAll(schedule.getClasses());
-        col_class_name.setCellValueFactory(new PropertyValueFactory<>("classInfo"));
-        col_instructor.setCellValueFactory(new PropertyValueFactory<>("instructor"));
-        col_time.setCellValueFactory(new PropertyValueFactory<>("time"));
-        col_studio_location.setCellValueFactory(new PropertyValueFactory<>("studio"));
-
-        col_class_name.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getClassInfo().toString()));
-        col_instructor.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getInstructor().toString()));
-        col_time.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTime().toString()));
-        col_studio_location.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStudio().toString()));
+    private void loadFitnessClassesFromFile(File file) {
+        runInBackground("Loading schedule", new FileTask<List<FitnessClass>>() {
+            @Override
+            protected List<FitnessClass> call() throws IOException {
+                List<FitnessClass> loaded = new ArrayList<>();
+                readLines(file, line -> {
+                    FitnessClass fitnessClass = Schedule.parseClass(line);
+                    if (fitnessClass != null) {
+                        loaded.add(fitnessClass);
+                    }
+                });
+                if (!startCommit()) {
+                    return loaded;
+                }
+                return studioManager.write(() -> {
+                    for (FitnessClass fitnessClass : loaded) {
+                        schedule.add(fitnessClass);
+                    }
+                    return loaded;
+                });
+            }
+        }, classes -> {
+            if (classes.isEmpty()) {
+                outputArea.setText("The file does not contain any class schedule.");
+            }
+        });
     }
 
-
     /**
      * Triggered by clicking a button to print the member list sorted by profile information.
      * Clears the output area and displays the sorted member list.
@@ -1163,7 +1186,7 @@ public class StudioManagerController {
     @FXML
     protected void onclickPrintByProfile() {
         outputArea.clear();
-        outputArea.setText(memberList.printByMember());
+        runReport("Generating report", PRINT_BY_PROFILE, studioManager::printByMember);
     }
 
     /**
@@ -1173,7 +1196,7 @@ public class StudioManagerController {
     @FXML
     protected void onclickPrintByCounty() {
         outputArea.clear();
-        outputArea.setText(memberList.printByCounty());
+        runReport("Generating report", PRINT_BY_COUNTY, studioManager::printByCounty);
     }
 
     /**
@@ -1183,7 +1206,7 @@ public class StudioManagerController {
     @FXML
     protected void onclickPrintWithNextDues() {
         outputArea.clear();
-        outputArea.setText(memberList.printFees());
+        runReport("Generating report", PRINT_WITH_NEXT_DUES, () -> studioManager.read(memberList::printFees));
     }
 
     /**
@@ -1193,7 +1216,9 @@ public class StudioManagerController {
     @FXML
     protected void onclickShowSchedule() {
         outputArea.clear();
-        outputArea.setText(schedule.getScheduleString());
+        long start = SHOW_SCHEDULE.start();
+        outputArea.setText(studioManager.read(schedule::getScheduleString));
+        SHOW_SCHEDULE.record(start);
 
     }
 
@@ -1204,7 +1229,7 @@ public class StudioManagerController {
     @FXML
     protected void onclickShowAttendees() {
         outputArea.clear();
-        outputArea.setText(schedule.printClassWithAttendees());
+        runReport("Listing attendees", SHOW_ATTENDEES, () -> studioManager.read(() -> schedule.printClassWithAttendees(memberList)));
     }
 
     /**
@@ -1221,6 +1246,241 @@ public class StudioManagerController {
         outputArea.setText(stringBuilder.toString());
     }
 
+    /**
+     * Runs a report over the member list and schedule in the background and displays it in the output area.
+     * Cancelling the report stops its sort early and discards the result. The report takes the lock of the engine
+     * it needs itself; sorted reports sort a copy of the member list outside the lock, so kiosk check-ins are not
+     * held up by them.
+     *
+     * @param title     The status message shown while the report runs.
+     * @param operation The operation timing the report.
+     * @param report    Generates the report text.
+     */
+    private void runReport(String title, Operation operation, Supplier<String> report) {
+        long start = operation.start();
+        runInBackground(title, new Task<String>() {
+            @Override
+            protected String call() {
+                updateMessage(title + "...");
+                updateProgress(-1, 1);
+                try {
+                    return report.get();
+                } finally {
+                    operation.record(start);
+                }
+            }
+        }, outputArea::setText);
+    }
+
+    /**
+     * Runs a task on the background executor, showing its progress and status below the tabs. The tabs are
+     * disabled until the background thread has returned from the task, even if the task was cancelled before,
+     * so no other action reads or changes the member list and schedule while the task uses them. The result
+     * is published on the JavaFX application thread; a failure or cancellation is reported in the output area
+     * instead.
+     *
+     * @param title     The status message shown while the task runs.
+     * @param task      The task to run.
+     * @param onSuccess Receives the result of the task if it completes.
+     * @param <T>       The result type of the task.
+     */
+    private <T> void runInBackground(String title, Task<T> task, Consumer<T> onSuccess) {
+        if (currentTask != null) {
+            outputArea.setText("Please wait for the current task to finish.");
+            return;
+        }
+        currentTask = task;
+        mainTabs.setDisable(true);
+        cancelTaskButton.setDisable(false);
+        taskProgress.progressProperty().bind(task.progressProperty());
+        taskStatus.textProperty().bind(task.messageProperty());
+        taskExecutor.submit(() -> {
+            try {
+                task.run();
+            } finally {
+                Platform.runLater(() -> finishTask(title, task, onSuccess));
+            }
+        });
+    }
+
+    /**
+     * Resets the status bar and enables the tabs again after the background thread returns from a task, then
+     * publishes the result of the task, or reports its failure or cancellation. The task posts its final state
+     * to the JavaFX application thread before returning, so the state is settled by the time this runs.
+     *
+     * @param title     The status message shown while the task ran.
+     * @param task      The task that ran.
+     * @param onSuccess Receives the result of the task if it completed.
+     * @param <T>       The result type of the task.
+     */
+    private <T> void finishTask(String title, Task<T> task, Consumer<T> onSuccess) {
+        currentTask = null;
+        taskProgress.progressProperty().unbind();
+        taskStatus.textProperty().unbind();
+        taskProgress.setProgress(0);
+        taskStatus.setText("");
+        cancelTaskButton.setDisable(true);
+        mainTabs.setDisable(false);
+        switch (task.getState()) {
+            case SUCCEEDED -> onSuccess.accept(task.getValue());
+            case CANCELLED -> outputArea.setText(title + " cancelled.");
+            default -> outputArea.setText(title + " failed: " + task.getException().getMessage());
+        }
+    }
+
+    /**
+     * Triggered by the "Cancel" button below the tabs. Cancels the background task currently running.
+     */
+    @FXML
+    protected void onclickCancelTask() {
+        if (currentTask != null) {
+            currentTask.cancel(true);
+        }
+    }
+
+    /**
+     * A background task reading a file, which reports its progress by the share of characters read
+     * and stops reading early when cancelled. Once it starts adding what it read, it can no longer be cancelled.
+     *
+     * @param <T> The result type of the task.
+     */
+    private abstract static class FileTask<T> extends Task<T> {
+        /**
+         * True once the task has started adding what it read to the member list or schedule
+         **/
+        private boolean committing;
+
+        /**
+         * Starts adding what the task read to the member list or schedule, unless the task was cancelled.
+         * From then on the task can no longer be cancelled, so a load is either added in full or not at all.
+         *
+         * @return true if the task may add what it read, false if it was cancelled.
+         */
+        protected synchronized boolean startCommit() {
+            if (isCancelled()) {
+                return false;
+            }
+            committing = true;
+            return true;
+        }
+
+        /**
+         * Cancels the task, unless it has started adding what it read.
+         *
+         * @param mayInterruptIfRunning true if the thread running the task may be interrupted.
+         * @return true if the task was cancelled.
+         */
+        @Override
+        public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+            return !committing && super.cancel(mayInterruptIfRunning);
+        }
+
+        /**
+         * Reads a file line by line, skipping blank lines. The read is recorded as a flight recorder
+         * {@link LoadEvent}.
+         *
+         * @param file   The file to read.
+         * @param action The action applied to every non-blank line.
+         * @throws IOException if the file cannot be read.
+         */
+        protected void readLines(File file, Consumer<String> action) throws IOException {
+            updateMessage("Reading " + file.getName() + "...");
+            long total = Math.max(1, file.length());
+            long read = 0;
+            int lines = 0;
+            LoadEvent event = LoadEvent.start("StudioManagerController", file.getPath());
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = reader.readLine()) != null && !isCancelled()) {
+                    read += line.length() + 1;
+                    if (!line.isBlank()) {
+                        action.accept(line.trim());
+                    }
+                    if (++lines % PROGRESS_INTERVAL == 0) {
+                        updateProgress(read, total);
+                    }
+                }
+            } finally {
+                event.rows = lines;
+                event.bytes = read;
+                event.commit();
+            }
+            updateProgress(total, total);
+        }
+    }
+
+    /**
+     * Restores the member list and schedule from the snapshot in the background, if a snapshot was saved.
+     * The snapshot holds the members and classes only, so class rosters and used guest passes start empty.
+     */
+    private void restoreSnapshot() {
+        if (!MEMBER_SNAPSHOT.isFile() && !SCHEDULE_SNAPSHOT.isFile()) {
+            return;
+        }
+        runInBackground("Restoring snapshot", new FileTask<String>() {
+            @Override
+            protected String call() throws IOException {
+                List<Member> members = new ArrayList<>();
+                List<FitnessClass> classes = new ArrayList<>();
+                if (MEMBER_SNAPSHOT.isFile()) {
+                    readLines(MEMBER_SNAPSHOT, line -> members.add(MemberList.parseMember(line)));
+                }
+                if (SCHEDULE_SNAPSHOT.isFile() && !isCancelled()) {
+                    readLines(SCHEDULE_SNAPSHOT, line -> {
+                        FitnessClass fitnessClass = Schedule.parseClass(line);
+                        if (fitnessClass != null) {
+                            classes.add(fitnessClass);
+                        }
+                    });
+                }
+                if (!startCommit()) {
+                    return null;
+                }
+                studioManager.write(() -> {
+                    for (Member member : members) {
+                        memberList.add(member);
+                    }
+                    for (FitnessClass fitnessClass : classes) {
+                        schedule.add(fitnessClass);
+                    }
+                    return null;
+                });
+                return "Restored " + members.size() + " members and " + classes.size() + " classes.";
+            }
+        }, report -> {
+            outputArea.setText(report);
+            memberTableModel.refresh();
+        });
+    }
+
+    /**
+     * Saves the member list and schedule to the snapshot restored by the next fast start.
+     * If a background task is still running, it is cancelled and the previous snapshot is kept,
+     * so a partly loaded state never replaces it.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void saveSnapshot() throws IOException {
+        if (currentTask != null) {
+            currentTask.cancel(true);
+            return;
+        }
+        Files.createDirectories(SNAPSHOT_DIRECTORY.toPath());
+        StringWriter members = new StringWriter();
+        StringWriter classes = new StringWriter();
+        studioManager.read(() -> {
+            try {
+                memberList.save(members);
+                schedule.save(classes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+        Files.writeString(MEMBER_SNAPSHOT.toPath(), members.toString());
+        Files.writeString(SCHEDULE_SNAPSHOT.toPath(), classes.toString());
+    }
+
     /**
      * Clears the content of the text area used for displaying messages, feedback, and outputs to the user.
      * This method ensures the output area is ready for new messages after clearing previous content.
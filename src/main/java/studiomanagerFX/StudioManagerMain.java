@@ -1,11 +1,18 @@
 package studiomanagerFX;
 
+import impl.AttendanceLog;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import metrics.FlightRecording;
+import server.KioskServer;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 
 /**
  * The {@code StudioManagerMain} class serves as the entry point for the Studio Manager application.
@@ -15,8 +22,58 @@ import java.io.IOException;
  *
  * <p>Within this class, the {@code start} method is overridden to set up the primary stage (window) of the application,
  * load the main FXML layout, and display the GUI to the user.</p>
+ *
+ * <p>The application starts in fast-start mode when run with {@code --fast-start} or with the system property
+ * {@code studiomanager.fastStart} set to true: the tabs are built on first selection and the member list and
+ * schedule of the previous run are restored in the background. With the system property
+ * {@code studiomanager.startupProbe} set, the application prints the time from process start to its first
+ * rendered frame and exits, which is how {@link StartupHarness} measures startup.</p>
+ *
+ * <p>With {@code --kiosk-port=<port>}, the application also runs a {@link KioskServer} on that loopback port,
+ * serving the same member list and schedule as the desk.</p>
+ *
+ * <p>With the system property {@code studiomanager.jfr} set to a file, the application records a
+ * {@link FlightRecording} with the Studio Manager events into that file, written when it exits.</p>
+ *
+ * <p>With the system property {@code studiomanager.attendanceLog} set to a file, every registration and removal
+ * of a member or guest is appended to an {@link AttendanceLog} in that file, kept across runs.</p>
  */
 public class StudioManagerMain extends Application {
+    /**
+     * Command line flag enabling fast-start mode
+     **/
+    public static final String FAST_START_FLAG = "--fast-start";
+
+    /**
+     * Line prefix of the startup time printed by the startup probe
+     **/
+    public static final String STARTUP_PROBE_PREFIX = "time-to-first-frame-ms=";
+
+    /**
+     * Command line option starting the embedded kiosk server on a port
+     **/
+    public static final String KIOSK_PORT_OPTION = "--kiosk-port=";
+
+    /**
+     * The embedded kiosk server, or null if it is not running
+     **/
+    private KioskServer kioskServer;
+
+    /**
+     * The log of attendance changes, or null if none is kept
+     **/
+    private AttendanceLog attendanceLog;
+
+    /**
+     * The controller of the main view
+     **/
+    private StudioManagerController controller;
+
+    /**
+     * True if the application runs in fast-start mode
+     **/
+    private boolean fastStart;
+
     /**
      * Starts the application and sets up the primary stage with a scene loaded from an FXML file.
      * This method is called after the application has been initialized.
@@ -27,21 +84,83 @@ public class StudioManagerMain extends Application {
      */
     @Override
     public void start(Stage stage) throws IOException {
+        fastStart = getParameters().getRaw().contains(FAST_START_FLAG) || Boolean.getBoolean("studiomanager.fastStart");
         FXMLLoader fxmlLoader = new FXMLLoader(StudioManagerMain.class.getResource("studioManagerView.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 800, 700);
+        controller = fxmlLoader.getController();
+        controller.start(fastStart);
+        String logFile = System.getProperty("studiomanager.attendanceLog");
+        if (logFile != null) {
+            attendanceLog = AttendanceLog.open(Path.of(logFile), controller.getStudioManager().getMemberList());
+            controller.getStudioManager().getSchedule().addListener(attendanceLog);
+        }
+        for (String arg : getParameters().getRaw()) {
+            if (arg.startsWith(KIOSK_PORT_OPTION)) {
+                kioskServer = new KioskServer(controller.getStudioManager(), Integer.parseInt(arg.substring(KIOSK_PORT_OPTION.length())));
+                kioskServer.start();
+            }
+        }
+        if (System.getProperty("studiomanager.startupProbe") != null) {
+            addStartupProbe(scene);
+        }
         stage.setTitle("Welcome to Studio Manager Application!");
         stage.setScene(scene);
         stage.show();
     }
 
+    /**
+     * Stops the embedded kiosk server, closes the attendance log, and saves the snapshot restored by the next
+     * fast start when the application exits in fast-start mode.
+     *
+     * @throws IOException If the attendance log or the snapshot cannot be written.
+     */
+    @Override
+    public void stop() throws IOException {
+        if (kioskServer != null) {
+            kioskServer.stop();
+        }
+        if (attendanceLog != null) {
+            attendanceLog.close();
+        }
+        if (fastStart && controller != null) {
+            controller.saveSnapshot();
+        }
+    }
+
+    /**
+     * Prints the time from the start of the process to the first frame laid out for the scene, then exits.
+     *
+     * @param scene The scene of the primary stage.
+     */
+    private void addStartupProbe(Scene scene) {
+        Instant processStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                long millis = Duration.between(processStart, Instant.now()).toMillis();
+                System.out.println(STARTUP_PROBE_PREFIX + millis + " mode=" + (fastStart ? "fast" : "eager"));
+                Platform.exit();
+            }
+        });
+    }
+
     /**
      * The main entry point for all JavaFX applications.
      * The start method is called after the init method has returned, and after the system is ready for the application to begin running.
      *
      * @param args the command line arguments passed to the application.
      *             An application may get these parameters using the getParameters() method.
+     * @throws Exception if the flight recording cannot be started.
      */
-    public static void main(String[] args) {
-        launch();
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty(KioskServer.NODELAY_PROPERTY) == null) {
+            System.setProperty(KioskServer.NODELAY_PROPERTY, "true");
+        }
+        String recording = System.getProperty("studiomanager.jfr");
+        if (recording != null) {
+            FlightRecording.start(Path.of(recording));
+        }
+        launch(args);
     }
-}
\ No newline at end of file
+}